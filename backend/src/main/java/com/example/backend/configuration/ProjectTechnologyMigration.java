@@ -0,0 +1,66 @@
+package com.example.backend.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves project technologies from the old free-text
+ * {@code project_technologies} collection table onto skill definitions in
+ * {@code project_technology_definitions}. Names with no definition yet get
+ * one. The old table is renamed afterwards, so the copy runs once; runs
+ * before the application is ready, so the indexes load migrated data.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectTechnologyMigration implements CommandLineRunner {
+
+    static final String LEGACY_TABLE = "project_technologies";
+    static final String MIGRATED_TABLE = "project_technologies_migrated";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        if (!legacyTableExists()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int definitions = jdbcTemplate.update("""
+                    INSERT INTO skill_definitions (name, normalized_name, created_at)
+                    SELECT MIN(TRIM(t.technology)), LOWER(TRIM(t.technology)), CURRENT_TIMESTAMP
+                    FROM project_technologies t
+                    WHERE t.technology IS NOT NULL AND TRIM(t.technology) <> ''
+                      AND NOT EXISTS (SELECT 1 FROM skill_definitions d
+                                      WHERE d.normalized_name = LOWER(TRIM(t.technology)))
+                    GROUP BY LOWER(TRIM(t.technology))
+                    """);
+            int links = jdbcTemplate.update("""
+                    INSERT INTO project_technology_definitions (project_id, skill_definition_id)
+                    SELECT DISTINCT t.project_id, d.id
+                    FROM project_technologies t
+                    JOIN skill_definitions d ON d.normalized_name = LOWER(TRIM(t.technology))
+                    WHERE NOT EXISTS (SELECT 1 FROM project_technology_definitions l
+                                      WHERE l.project_id = t.project_id AND l.skill_definition_id = d.id)
+                    """);
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " RENAME TO " + MIGRATED_TABLE);
+            log.info("Migrated {} project technologies ({} new skill definitions); old table kept as {}",
+                    links, definitions, MIGRATED_TABLE);
+        });
+    }
+
+    private boolean legacyTableExists() {
+        try {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + LEGACY_TABLE, Long.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
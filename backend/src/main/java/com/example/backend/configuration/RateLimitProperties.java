@@ -0,0 +1,37 @@
+package com.example.backend.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on live buckets across all policies and callers
+    private int maxBuckets = 100_000;
+
+    // Buckets untouched for this long are dropped, once they have refilled to full
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private List<Policy> policies = new ArrayList<>();
+
+    @Data
+    public static class Policy {
+        private String name;
+        // Ant-style path pattern, e.g. /api/projects/*/messages
+        private String pattern;
+        // HTTP method to limit; all methods when empty
+        private String method;
+        private int capacity;
+        private int refillTokens;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.configuration;
 import com.example.backend.exceptions.CustomAccessDeniedHandler;
 import com.example.backend.exceptions.CustomAuthenticationEntryPoint;
 import com.example.backend.security.JwtAuthenticationFilter;
+import com.example.backend.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomAuthenticationEntryPoint customEntryPoint;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
@@ -33,11 +35,13 @@ public class SecurityConfig {
 
     public SecurityConfig(
             JwtAuthenticationFilter jwtAuthenticationFilter,
+            RateLimitFilter rateLimitFilter,
             CustomAuthenticationEntryPoint customEntryPoint,
             CustomAccessDeniedHandler customAccessDeniedHandler,
             @Value("${app.jwt.enabled:true}") boolean jwtEnabled,
             @Value("#{'${app.cors.allowed-origins}'.split(',')}") List<String> allowedOrigins) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.customEntryPoint = customEntryPoint;
         this.customAccessDeniedHandler = customAccessDeniedHandler;
         this.jwtEnabled = jwtEnabled;
@@ -75,6 +79,10 @@ public class SecurityConfig {
 
         if (jwtEnabled) {
             http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            // Runs after authentication so callers can be limited per user
+            http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
+        } else {
+            http.addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
         }
 
         return http.build();
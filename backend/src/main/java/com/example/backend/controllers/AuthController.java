@@ -1,31 +1,33 @@
 package com.example.backend.controllers;
 
 import com.example.backend.dto.*;
+import com.example.backend.mappers.UserMapper;
 import com.example.backend.models.User;
 
+import com.example.backend.services.PasswordHashingService;
 import com.example.backend.services.PasswordService;
-import com.example.backend.services.ProfileService;
+import com.example.backend.services.RefreshTokenService;
+import com.example.backend.services.TokenRevocationService;
 import com.example.backend.services.UserService;
 import com.example.backend.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import java.util.Objects;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -35,79 +37,108 @@ import java.util.Optional;
 public class AuthController {
 
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
-    private final ProfileService profileService;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtils jwtUtils;
 
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
     private final PasswordService passwordService;
-    private final ModelMapper modelMapper;
 
     @Value("${app.jwt.expiration}")
     private long jwtExpirationMs;
     private static final String MESSAGE_KEY = "message";
+    private static final String ACCESS_COOKIE = "jwt";
+    private static final String REFRESH_COOKIE = "refresh_token";
+    // Refresh tokens are only ever sent back to the auth endpoints
+    private static final String REFRESH_COOKIE_PATH = "/api/auth";
 
-    @Transactional
     @PostMapping("/register")
     @Operation(summary = "Register User", description = "Registers a new user and sends OTP for email verification")
-    public ResponseEntity<Map<String, String>> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> register(
+            @Valid @RequestBody RegisterRequest registerRequest) {
         if (userService.findUserByUsername(registerRequest.getUsername()).isPresent())
-            return ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, "Username already exists"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, "Username already exists")));
 
         if (userService.findUserByEmail(registerRequest.getEmail()).isPresent())
-            return ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, "Email already exists"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, "Email already exists")));
 
         log.info("Registering user: {}", registerRequest.getUsername());
-        // Encode password and saveProfile user
-        registerRequest.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-        User savedUser = userService.saveUser(registerRequest);
-        // Generate email verification OTP
-        passwordService.generateEmailVerificationOtp(Objects.requireNonNull(registerRequest.getEmail()));
-
-        // Create and saveProfile empty profile for the user
-        profileService.saveProfile(profileService.createEmptyProfile(savedUser));
-        log.info("User registered successfully: {}", savedUser.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(MESSAGE_KEY, "Registration successful"));
+        // Hash off the servlet thread, then save user, profile and OTP in one transaction
+        return passwordHashingService.encode(registerRequest.getPassword())
+                .thenApply(encodedPassword -> {
+                    registerRequest.setPassword(encodedPassword);
+                    User savedUser = userService.registerUser(registerRequest);
+                    log.info("User registered successfully: {}", savedUser.getId());
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(Map.of(MESSAGE_KEY, "Registration successful"));
+                });
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request,
-            HttpServletResponse response) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
         log.info("Attempting login for user: {}", loginRequest.getUsername());
         Optional<User> userOpt = userService.findUserByUsername(loginRequest.getUsername());
-        if (userOpt.isEmpty() || !passwordEncoder.matches(loginRequest.getPassword(), userOpt.get().getPassword())) {
+        if (userOpt.isEmpty()) {
             log.warn("Invalid credentials for user: {}", loginRequest.getUsername());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Invalid credentials"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Invalid credentials")));
         }
         User user = userOpt.get();
-        if (!user.isVerified()) {
-            log.warn("Email not verified for user: {}", loginRequest.getUsername());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Email not verified"));
-        }
-
-        String jwtToken = jwtUtils.generateJwtToken(user);
         // create cookie — set SameSite=None for cross-site usage, secure based on
         // env/request
         boolean secure = request.isSecure(); // or read property
-        ResponseCookie cookie = ResponseCookie.from("jwt", jwtToken)
-                .httpOnly(true)
-                .secure(secure) // true on HTTPS, false on local dev
-                .path("/")
-                .maxAge(jwtExpirationMs / 1000) // expiration in seconds
-                .sameSite(secure ? "None" : "Lax") // allow cross-site cookie if secure, otherwise Lax for local
-                .build();
-        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
-        log.info("Login successful for user: {}", loginRequest.getUsername());
-        UserDto dto = convertToDto(user);
 
-        return ResponseEntity.ok(Map.of("user", dto));
+        return passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        log.warn("Invalid credentials for user: {}", loginRequest.getUsername());
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                .body(Map.of(MESSAGE_KEY, "Invalid credentials"));
+                    }
+                    if (!user.isVerified()) {
+                        log.warn("Email not verified for user: {}", loginRequest.getUsername());
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                .body(Map.of(MESSAGE_KEY, "Email not verified"));
+                    }
+                    passwordHashingService.rehashIfNeeded(user, loginRequest.getPassword());
+
+                    String jwtToken = jwtUtils.generateJwtToken(user);
+                    String refreshToken = refreshTokenService.issue(user);
+                    log.info("Login successful for user: {}", loginRequest.getUsername());
+                    UserDto dto = convertToDto(user);
+
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.SET_COOKIE, accessCookie(jwtToken, secure).toString())
+                            .header(HttpHeaders.SET_COOKIE, refreshCookie(refreshToken, secure).toString())
+                            .body(Map.of("user", dto));
+                });
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh Tokens", description = "Exchanges the refresh token cookie for a new access token and a new refresh token")
+    public ResponseEntity<Map<String, String>> refresh(HttpServletRequest request) {
+        String refreshToken = readCookie(request, REFRESH_COOKIE);
+        if (refreshToken == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Missing refresh token"));
+        }
+        RefreshTokenService.TokenPair tokens = refreshTokenService.rotate(refreshToken);
+        boolean secure = request.isSecure();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, accessCookie(tokens.accessToken(), secure).toString())
+                .header(HttpHeaders.SET_COOKIE, refreshCookie(tokens.refreshToken(), secure).toString())
+                .body(Map.of(MESSAGE_KEY, "Token refreshed"));
     }
 
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
         String jwt = parseJwt(request);
-        if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-            String username = jwtUtils.getUserNameFromJwtToken(jwt);
-            Optional<User> userOpt = userService.findUserByUsername(username);
+        Optional<Claims> claims = jwt != null ? jwtUtils.verifyJwtToken(jwt) : Optional.empty();
+        if (claims.isPresent()) {
+            Optional<User> userOpt = userService.findUserByUsername(claims.get().getSubject());
             if (userOpt.isPresent()) {
                 return ResponseEntity.ok(Map.of("user", convertToDto(userOpt.get())));
             }
@@ -120,9 +151,14 @@ public class AuthController {
 
         if (org.springframework.util.StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
             return headerAuth.substring(7);
-        } else if (request.getCookies() != null) {
+        }
+        return readCookie(request, ACCESS_COOKIE);
+    }
+
+    private String readCookie(HttpServletRequest request, String name) {
+        if (request.getCookies() != null) {
             for (jakarta.servlet.http.Cookie cookie : request.getCookies()) {
-                if ("jwt".equals(cookie.getName())) {
+                if (name.equals(cookie.getName())) {
                     return cookie.getValue();
                 }
             }
@@ -130,44 +166,45 @@ public class AuthController {
         return null;
     }
 
-    private UserDto convertToDto(User user) {
-        UserDto dto = modelMapper.map(user, UserDto.class);
-        if (user.getProfile() != null) {
-            dto.setFirstname(user.getProfile().getFirstname());
-            dto.setLastname(user.getProfile().getLastname());
-
-            // Transform internal file path to public URL
-            String path = user.getProfile().getProfilePictureUrl();
-            if (path != null && !path.isEmpty()) {
-                if (!path.startsWith("http") && path.contains("profile-pictures/")) {
-                    String filename = path.substring(path.lastIndexOf("/") + 1);
-                    dto.setProfilePictureUrl("/api/profile/picture/" + filename);
-                } else {
-                    dto.setProfilePictureUrl(path);
-                }
-            } else {
-                dto.setProfilePictureUrl(null);
-            }
+    // SameSite=None for cross-site usage when served over HTTPS, Lax for local dev
+    private ResponseCookie buildCookie(String name, String value, String path, long maxAgeSeconds, boolean secure) {
+        return ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(secure)
+                .path(path)
+                .maxAge(maxAgeSeconds)
+                .sameSite(secure ? "None" : "Lax")
+                .build();
+    }
 
-            dto.setProfileComplete(user.getProfile().isProfileComplete());
-        }
-        if (user.getRole() != null) {
-            dto.setRole(user.getRole().getRoleName());
-        }
-        return dto;
+    private ResponseCookie accessCookie(String token, boolean secure) {
+        return buildCookie(ACCESS_COOKIE, token, "/", jwtExpirationMs / 1000, secure);
+    }
+
+    private ResponseCookie refreshCookie(String token, boolean secure) {
+        return buildCookie(REFRESH_COOKIE, token, REFRESH_COOKIE_PATH,
+                refreshTokenService.getRefreshExpirationMs() / 1000, secure);
+    }
+
+    private UserDto convertToDto(User user) {
+        return UserMapper.toDto(user);
     }
 
     @PostMapping("/logout")
     public ResponseEntity<Map<String, String>> logout(HttpServletRequest request, HttpServletResponse response) {
+        String jwt = parseJwt(request);
+        if (jwt != null) {
+            jwtUtils.verifyJwtToken(jwt).ifPresent(tokenRevocationService::revokeAccessToken);
+        }
+        String refreshToken = readCookie(request, REFRESH_COOKIE);
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+
         boolean secure = request.isSecure();
-        ResponseCookie jwtCookie = ResponseCookie.from("jwt", "")
-                .httpOnly(true)
-                .secure(secure)
-                .path("/")
-                .maxAge(0)
-                .sameSite(secure ? "None" : "Lax")
-                .build();
-        response.setHeader(HttpHeaders.SET_COOKIE, jwtCookie.toString());
+        response.addHeader(HttpHeaders.SET_COOKIE, buildCookie(ACCESS_COOKIE, "", "/", 0, secure).toString());
+        response.addHeader(HttpHeaders.SET_COOKIE,
+                buildCookie(REFRESH_COOKIE, "", REFRESH_COOKIE_PATH, 0, secure).toString());
         return ResponseEntity.ok(Map.of(MESSAGE_KEY, "Logout successful"));
     }
 
@@ -1,7 +1,10 @@
 package com.example.backend.controllers;
 
+import com.example.backend.dto.MatchDto;
+import com.example.backend.dto.MatchPageDto;
 import com.example.backend.dto.ProfileDto;
 import com.example.backend.dto.ProfileSearchCriteria;
+import com.example.backend.dto.ProjectMatchDto;
 import com.example.backend.services.MatchingService;
 import com.example.backend.services.ProfileService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,9 +16,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -28,21 +31,37 @@ public class MatchingController {
     private final ProfileService profileService;
 
     @GetMapping("/similar")
-    @Operation(summary = "Get similar profiles", description = "Returns a list of similar profiles based on the current user's skills")
-    public ResponseEntity<List<ProfileDto>> getSimilarProfiles() {
+    @Operation(summary = "Get similar profiles", description = "Returns profiles sharing skills with the current user, highest overlap first, one cursor page at a time")
+    public ResponseEntity<MatchPageDto<MatchDto>> getSimilarProfiles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         UUID currentProfileId = profileService.getCurrentUserProfile().getId();
-        return ResponseEntity.ok(matchingService.findSimilarProfiles(Objects.requireNonNull(currentProfileId)));
+        return ResponseEntity.ok(
+                matchingService.findSimilarProfiles(Objects.requireNonNull(currentProfileId), cursor, size));
     }
 
     @GetMapping("/complementary")
-    @Operation(summary = "Get complementary profiles", description = "Returns a list of complementary profiles based on the current user's skills")
-    public ResponseEntity<List<ProfileDto>> getComplementaryProfiles() {
+    @Operation(summary = "Get complementary profiles", description = "Returns profiles bringing skills the current user lacks, most new skills first, one cursor page at a time")
+    public ResponseEntity<MatchPageDto<MatchDto>> getComplementaryProfiles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         UUID currentProfileId = profileService.getCurrentUserProfile().getId();
-        return ResponseEntity.ok(matchingService.findComplementaryProfiles(Objects.requireNonNull(currentProfileId)));
+        return ResponseEntity.ok(
+                matchingService.findComplementaryProfiles(Objects.requireNonNull(currentProfileId), cursor, size));
+    }
+
+    @GetMapping("/projects-for-me")
+    @Operation(summary = "Get recommended projects", description = "Returns active projects whose technologies best match the current user's skills, filtered by their project interests, one cursor page at a time")
+    public ResponseEntity<MatchPageDto<ProjectMatchDto>> getProjectsForMe(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        UUID currentProfileId = profileService.getCurrentUserProfile().getId();
+        return ResponseEntity.ok(
+                matchingService.findProjectsForProfile(Objects.requireNonNull(currentProfileId), cursor, size));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search for profiles", description = "Searches for profiles based on the provided criteria like location, education")
+    @Operation(summary = "Search for profiles", description = "Searches for profiles by free text, skills, location and education, most relevant first")
     public ResponseEntity<Page<ProfileDto>> searchProfiles(
             @ModelAttribute ProfileSearchCriteria criteria,
             Pageable pageable) {
@@ -76,9 +76,9 @@ public class ProfileController {
     @Operation(summary = "Export current user profile to PDF", description = "Exports the current user's profile to a PDF file")
     public ResponseEntity<Resource> exportProfile() {
         try {
-            if (!profileService.getCurrentUserProfile().isProfileComplete())
-                throw new UserNotFoundException("Profile not found");
             Profile profile = profileService.getCurrentUserProfile();
+            if (!profile.isProfileComplete())
+                throw new UserNotFoundException("Profile not found");
             byte[] pdfBytes = profileService.exportToPdf(profile);
 
             ByteArrayResource resource = new ByteArrayResource(pdfBytes);
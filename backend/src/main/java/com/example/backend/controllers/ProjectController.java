@@ -1,7 +1,12 @@
 package com.example.backend.controllers;
 
+import com.example.backend.dto.FacetedPage;
+import com.example.backend.dto.MatchDto;
+import com.example.backend.dto.MatchPageDto;
 import com.example.backend.dto.ProjectDto;
 import com.example.backend.dto.TaskDto;
+import com.example.backend.services.MatchingService;
+import com.example.backend.services.ProfileService;
 import com.example.backend.services.ProjectService;
 import com.example.backend.services.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import com.example.backend.services.RequestService;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -26,14 +32,20 @@ public class ProjectController {
     private final ProjectService projectService;
     private final RequestService requestService;
     private final TaskService taskService;
+    private final MatchingService matchingService;
+    private final ProfileService profileService;
 
     @GetMapping
-    @Operation(summary = "Get all projects", description = "Retrieve a paginated list of all projects with optional filtering")
+    @Operation(summary = "Get all projects", description = "Retrieve a paginated list of all projects with optional filtering; "
+            + "facets=true adds per-value counts for level, category, technology, remote and open source")
     public Page<ProjectDto> getAllProjects(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) com.example.backend.enums.ProjectLevel level,
             @RequestParam(required = false) String technology,
             @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean remote,
+            @RequestParam(required = false) Boolean openSource,
+            @RequestParam(defaultValue = "false") boolean facets,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
@@ -44,7 +56,13 @@ public class ProjectController {
         Sort.Direction direction = sortDirection.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
         
-        return projectService.getAllProjects(search, level, technology, category, pageable);
+        Page<ProjectDto> projects = projectService.getAllProjects(search, level, technology, category, remote,
+                openSource, pageable);
+        if (!facets) {
+            return projects;
+        }
+        return new FacetedPage<>(projects,
+                projectService.getProjectFacets(search, level, technology, category, remote, openSource));
     }
 
     @GetMapping("/{id}")
@@ -103,4 +121,15 @@ public class ProjectController {
     public ResponseEntity<List<com.example.backend.dto.ProfileDto>> getProjectTeam(@PathVariable UUID id) {
         return ResponseEntity.ok(projectService.getProjectTeam(id));
     }
+
+    @GetMapping("/{id}/candidates")
+    @Operation(summary = "Get project candidates", description = "Owner only: profiles open for team invites whose skills best cover the project's technologies, one cursor page at a time")
+    public ResponseEntity<MatchPageDto<MatchDto>> getProjectCandidates(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        UUID currentProfileId = profileService.getCurrentUserProfile().getId();
+        return ResponseEntity.ok(matchingService.findProjectCandidates(Objects.requireNonNull(id),
+                Objects.requireNonNull(currentProfileId), cursor, size));
+    }
 }
@@ -78,7 +78,7 @@ public class RequestController {
     @GetMapping("/{requestId}")
     @Operation(summary = "Get a specific request by ID", description = "Get a specific request by ID")
     public ResponseEntity<Map<String, Object>> getRequestById(@PathVariable Long requestId) {
-        CollaborationRequest request = requestService.getRequestById(requestId);
+        CollaborationRequestDTO request = requestService.getRequestById(requestId);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -1,6 +1,7 @@
 package com.example.backend.controllers;
 
 import com.example.backend.dto.SkillDto;
+import com.example.backend.dto.SkillSetUpdateDto;
 import com.example.backend.dto.SkillUpdateDto;
 import com.example.backend.services.SkillService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +36,13 @@ public class SkillController {
                 .body(skillService.addSkill(skillDto));
     }
 
+    @PutMapping
+    @Operation(summary = "Replace all skills", description = "Replaces the current user's whole skill set in one go")
+    public ResponseEntity<List<SkillDto>> replaceSkills(@Valid @RequestBody SkillSetUpdateDto skillSetDto) {
+        log.info("Replacing skills with {} entries", skillSetDto.getSkills().size());
+        return ResponseEntity.ok(skillService.replaceSkills(skillSetDto.getSkills()));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a skill", description = "Updates a skill in the current user's profile")
     public ResponseEntity<SkillDto> updateSkill(
@@ -53,8 +61,9 @@ public class SkillController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search for skills", description = "Searches for skills based on the provided query")
-    public ResponseEntity<List<String>> searchSkills(@RequestParam String query) {
-        return ResponseEntity.ok(skillService.searchSkills(query));
+    @Operation(summary = "Search for skills", description = "Suggests skill names starting with or containing the query, most used first")
+    public ResponseEntity<List<String>> searchSkills(@RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(skillService.searchSkills(query, limit));
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.backend.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * A page serialized like any other, plus a {@code facets} property; lets the
+ * listing endpoint add facet counts without changing its response shape.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final ProjectFacetsDto facets;
+
+    public FacetedPage(Page<T> page, ProjectFacetsDto facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+
+    public ProjectFacetsDto getFacets() {
+        return facets;
+    }
+}
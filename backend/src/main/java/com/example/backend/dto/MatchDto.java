@@ -0,0 +1,25 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MatchDto {
+    private UUID id;
+    private String username;
+    private String firstname;
+    private String lastname;
+    private String location;
+    private String profilePictureUrl;
+
+    private double score;
+    private List<String> matchedSkills;
+}
@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MatchPageDto<T> {
+    private List<T> items;
+    // Opaque; pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+}
@@ -6,9 +6,10 @@ import java.util.List;
 
 @Data
 public class ProfileSearchCriteria {
+    private String query; // Free text over bio, education, location and skills, ranked by relevance
     private List<String> skills; // Filter by skills (e.g., ["Java", "React"])
     private String education; // Filter by education (e.g., "MIT")
     private String location; // Filter by location (e.g., "New York")
     private Proficiency minProficiency; // Minimum skill level (e.g., Proficiency.INTERMEDIATE)
-    private Integer minSharedSkills; // Minimum shared skills (e.g., 3)
+    private Integer minSharedSkills; // Minimum number of the listed skills a profile must have (e.g., 3)
 }
\ No newline at end of file
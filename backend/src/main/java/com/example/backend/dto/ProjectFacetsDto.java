@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+import com.example.backend.enums.ProjectLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of projects per facet value. Each facet is counted under every
+ * active filter but its own; categories and technologies list the most
+ * frequent values first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectFacetsDto {
+    private Map<ProjectLevel, Long> levels;
+    private Map<String, Long> categories;
+    private Map<String, Long> technologies;
+    private Map<Boolean, Long> remote;
+    private Map<Boolean, Long> openSource;
+}
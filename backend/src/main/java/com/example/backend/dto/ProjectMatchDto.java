@@ -0,0 +1,25 @@
+package com.example.backend.dto;
+
+import com.example.backend.enums.ProjectLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectMatchDto {
+    private UUID id;
+    private String title;
+    private String category;
+    private ProjectLevel level;
+    private int teamSize;
+
+    private double score;
+    private List<String> matchedTechnologies;
+}
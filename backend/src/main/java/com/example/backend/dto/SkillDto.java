@@ -16,4 +16,10 @@ public class SkillDto {
     private UUID id;
     private String name;
     private Proficiency proficiency;
+    // An existing skill name the entered one is probably a misspelling of; null when there is none
+    private String suggestedName;
+
+    public SkillDto(UUID id, String name, Proficiency proficiency) {
+        this(id, name, proficiency, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SkillSetUpdateDto {
+    @NotNull(message = "Skills are required")
+    @Size(max = 100, message = "A profile cannot have more than 100 skills")
+    private List<@Valid @NotNull SkillUpdateDto> skills;
+}
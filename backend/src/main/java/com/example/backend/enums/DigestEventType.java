@@ -0,0 +1,19 @@
+package com.example.backend.enums;
+
+public enum DigestEventType {
+    JOIN_REQUEST("New join requests"),
+    REQUEST_APPROVED("Approved requests"),
+    REQUEST_REJECTED("Declined requests"),
+    TASK_ASSIGNED("Tasks assigned to you"),
+    CHAT_ACTIVITY("Project chat");
+
+    private final String displayName;
+
+    DigestEventType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
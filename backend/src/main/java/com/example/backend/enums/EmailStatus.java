@@ -0,0 +1,7 @@
+package com.example.backend.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,8 @@
+package com.example.backend.enums;
+
+public enum MatchingMode {
+    // Score every profile sharing enough skills
+    EXACT,
+    // Score only profiles colliding in a MinHash LSH band
+    APPROXIMATE
+}
@@ -1,18 +1,25 @@
 package com.example.backend.enums;
 
 public enum Proficiency {
-    BEGINNER("Beginner"),
-    INTERMEDIATE("Intermediate"),
-    ADVANCED("Advanced"),
-    EXPERT("Expert");
+    BEGINNER("Beginner", 0.25f),
+    INTERMEDIATE("Intermediate", 0.5f),
+    ADVANCED("Advanced", 0.75f),
+    EXPERT("Expert", 1.0f);
 
     private final String displayName;
+    // Weight of the skill in similarity scoring
+    private final float weight;
 
-    Proficiency(String displayName) {
+    Proficiency(String displayName, float weight) {
         this.displayName = displayName;
+        this.weight = weight;
     }
 
     public String getDisplayName() {
         return displayName;
     }
+
+    public float getWeight() {
+        return weight;
+    }
 }
\ No newline at end of file
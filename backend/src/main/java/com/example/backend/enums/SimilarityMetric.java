@@ -0,0 +1,10 @@
+package com.example.backend.enums;
+
+public enum SimilarityMetric {
+    // Number of shared skills, ignoring proficiency and rarity
+    OVERLAP,
+    // Cosine of the proficiency x IDF weighted skill vectors
+    COSINE,
+    // Weighted Jaccard: sum of minimum over sum of maximum weights
+    JACCARD
+}
@@ -0,0 +1,69 @@
+package com.example.backend.mappers;
+
+import com.example.backend.dto.ProfileDto;
+import com.example.backend.models.Profile;
+import com.example.backend.models.User;
+
+import java.util.ArrayList;
+
+/**
+ * Hand-written {@link Profile} to {@link ProfileDto} mapping. Reads exactly
+ * the fields the DTO exposes, so only the skill and social link collections
+ * it returns are initialized; posts, teams and the rest stay untouched.
+ */
+public final class ProfileMapper {
+
+    private static final String PICTURE_DIRECTORY = "profile-pictures/";
+    private static final String PICTURE_ENDPOINT = "/api/profile/picture/";
+
+    private ProfileMapper() {
+    }
+
+    public static ProfileDto toDto(Profile profile) {
+        User user = profile.getUser();
+        return ProfileDto.builder()
+                .id(profile.getId())
+                .username(user != null ? user.getUsername() : null)
+                .email(user != null ? user.getEmail() : null)
+                .firstname(profile.getFirstname())
+                .lastname(profile.getLastname())
+                .bio(profile.getBio())
+                .education(profile.getEducation())
+                .location(profile.getLocation())
+                .phone(profile.getPhone())
+                .profilePictureUrl(pictureUrl(profile.getProfilePictureUrl()))
+                .notificationsEnabled(profile.isNotificationsEnabled())
+                .emailNotifications(profile.isEmailNotifications())
+                .projectNotifications(profile.isProjectNotifications())
+                .openForTeamInvites(profile.isOpenForTeamInvites())
+                .preferredTeamSize(profile.getPreferredTeamSize())
+                .projectInterests(profile.getProjectInterests() != null
+                        ? new ArrayList<>(profile.getProjectInterests())
+                        : new ArrayList<>())
+                .isProfileComplete(profile.isProfileComplete())
+                .completionPercentage(profile.getCompletionPercentage())
+                .skills(profile.getSkills() != null
+                        ? profile.getSkills().stream().map(SkillMapper::toDto).toList()
+                        : null)
+                .socialLinks(profile.getSocialLinks() != null
+                        ? profile.getSocialLinks().stream().map(SocialLinkMapper::toDto).toList()
+                        : null)
+                .createdAt(profile.getCreatedAt())
+                .updatedAt(profile.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Public URL for a stored picture path: uploaded files are served by the
+     * picture endpoint, anything else (e.g. an external http link) is kept.
+     */
+    public static String pictureUrl(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        if (!path.startsWith("http") && path.contains(PICTURE_DIRECTORY)) {
+            return PICTURE_ENDPOINT + path.substring(path.lastIndexOf("/") + 1);
+        }
+        return path;
+    }
+}
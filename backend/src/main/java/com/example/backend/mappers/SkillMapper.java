@@ -0,0 +1,18 @@
+package com.example.backend.mappers;
+
+import com.example.backend.dto.SkillDto;
+import com.example.backend.models.Skill;
+
+public final class SkillMapper {
+
+    private SkillMapper() {
+    }
+
+    public static SkillDto toDto(Skill skill) {
+        return SkillDto.builder()
+                .id(skill.getId())
+                .name(skill.getName())
+                .proficiency(skill.getProficiency())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.mappers;
+
+import com.example.backend.dto.SocialLinkDto;
+import com.example.backend.models.SocialLink;
+
+public final class SocialLinkMapper {
+
+    private SocialLinkMapper() {
+    }
+
+    public static SocialLinkDto toDto(SocialLink socialLink) {
+        SocialLinkDto dto = new SocialLinkDto();
+        dto.setPlatform(socialLink.getPlatform());
+        dto.setUrl(socialLink.getUrl());
+        return dto;
+    }
+}
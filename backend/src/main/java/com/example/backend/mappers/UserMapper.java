@@ -0,0 +1,41 @@
+package com.example.backend.mappers;
+
+import com.example.backend.dto.RegisterRequest;
+import com.example.backend.dto.UserDto;
+import com.example.backend.models.Profile;
+import com.example.backend.models.User;
+
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    /** The signed-in user with the profile fields the client shows in its header. */
+    public static UserDto toDto(User user) {
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setVerified(user.isVerified());
+        if (user.getRole() != null) {
+            dto.setRole(user.getRole().getRoleName());
+        }
+        Profile profile = user.getProfile();
+        if (profile != null) {
+            dto.setFirstname(profile.getFirstname());
+            dto.setLastname(profile.getLastname());
+            dto.setProfilePictureUrl(ProfileMapper.pictureUrl(profile.getProfilePictureUrl()));
+            dto.setProfileComplete(profile.isProfileComplete());
+        }
+        return dto;
+    }
+
+    /** A new, unverified user; the password on the request must already be encoded. */
+    public static User toEntity(RegisterRequest request) {
+        return User.builder()
+                .username(request.getUsername())
+                .email(request.getEmail())
+                .password(request.getPassword())
+                .build();
+    }
+}
@@ -15,6 +15,17 @@ import java.time.LocalDateTime;
 import static com.example.backend.enums.RequestStatus.PENDING;
 
 @Entity
+// Request listings: the project title and the requester card (user, skill names) in one query
+@NamedEntityGraph(name = "CollaborationRequest.withRequester", attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode(value = "requester", subgraph = "requester")
+}, subgraphs = {
+        @NamedSubgraph(name = "requester", attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "skills", subgraph = "skills")
+        }),
+        @NamedSubgraph(name = "skills", attributeNodes = @NamedAttributeNode("definition"))
+})
 @Table(name = "requests")
 @Data
 @NoArgsConstructor
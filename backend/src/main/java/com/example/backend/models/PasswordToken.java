@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_tokens")
+@Table(name = "password_tokens", indexes = {
+        @Index(name = "idx_password_token_lookup", columnList = "email, token_type, used"),
+        @Index(name = "idx_password_token_expiry", columnList = "expiry_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,13 +27,17 @@ public class PasswordToken {
     @Column(nullable = false)
     private String otp;
 
-    @Column(nullable = false)
+    @Column(name = "expiry_time", nullable = false)
     private LocalDateTime expiryTime;
 
     private boolean used = false;
 
-    @Enumerated(EnumType.STRING)
+    // Wrong guesses against this email's codes, carried over to a replacing code; none match once the limit is hit
     @Column(nullable = false)
+    private int attempts = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "token_type", nullable = false)
     private TokenType tokenType;
 }
 
@@ -7,6 +7,7 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,7 +15,12 @@ import java.util.Map;
 import java.util.UUID;
 
 @Entity
-@Table(name = "profiles")
+// Profile search pages: user and role come with the page query, collections batch-load per page
+@NamedEntityGraph(name = "Profile.withUser", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"),
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("role")))
+@Table(name = "profiles", indexes = {
+        @Index(name = "idx_profiles_recommendations_computed", columnList = "recommendations_computed_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -91,6 +97,14 @@ public class Profile {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Bumped on every skill write so the materialization job knows what to recompute
+    @Column(name = "skills_changed_at")
+    private Instant skillsChangedAt;
+
+    // Written only by RecommendationMaterializer's bulk update, never by entity saves
+    @Column(name = "recommendations_computed_at", insertable = false, updatable = false)
+    private Instant recommendationsComputedAt;
+
     @Column(name = "is_profile_complete", nullable = false)
     @Builder.Default
     private boolean isProfileComplete = false;
@@ -0,0 +1,43 @@
+package com.example.backend.models;
+
+import com.example.backend.enums.RecommendationKind;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "profile_recommendations", indexes = {
+        @Index(name = "idx_profile_recommendations_owner", columnList = "profile_id, kind, match_rank")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProfileRecommendation {
+    // Assigned in memory rather than by an identity column, so Hibernate can batch the inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Plain ids rather than associations: rows are read as a ranked list and never navigated
+    @Column(name = "profile_id", nullable = false)
+    private UUID profileId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecommendationKind kind;
+
+    @Column(name = "match_rank", nullable = false)
+    private int rank;
+
+    @Column(name = "candidate_id", nullable = false)
+    private UUID candidateId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+}
@@ -11,7 +11,9 @@ import lombok.EqualsAndHashCode;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -28,10 +30,16 @@ public class Project {
 
     private String description;
 
-    @ElementCollection
-    @CollectionTable(name = "project_technologies", joinColumns = @JoinColumn(name = "project_id"))
-    @Column(name = "technology")
-    private List<String> technologies;
+    // Technologies share the skill dictionary, so projects and profiles join on definition ids
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToMany
+    @JoinTable(name = "project_technology_definitions",
+            joinColumns = @JoinColumn(name = "project_id"),
+            inverseJoinColumns = @JoinColumn(name = "skill_definition_id"),
+            indexes = @Index(name = "idx_project_tech_definition", columnList = "skill_definition_id"))
+    @OrderBy("name ASC")
+    private Set<SkillDefinition> technologies = new LinkedHashSet<>();
 
     @Enumerated(EnumType.STRING)
     @Column(name = "level")
@@ -65,19 +73,19 @@ public class Project {
 
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = true)
     private Post post;
 
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_id", nullable = false)
     private Profile createdBy;
 
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", nullable = true)
     private Team team;
 
@@ -0,0 +1,34 @@
+package com.example.backend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_token_expires", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "jti:<token id>" for a single access token, "user:<username>" for every token of a user
+    @Column(nullable = false)
+    private String tokenKey;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    // After this instant every access token the entry covers has expired on its own
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
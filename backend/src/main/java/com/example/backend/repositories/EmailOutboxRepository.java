@@ -0,0 +1,35 @@
+package com.example.backend.repositories;
+
+import com.example.backend.enums.EmailStatus;
+import com.example.backend.models.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // SKIP LOCKED (timeout -2) lets several workers claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<EmailOutbox> findDueForUpdate(@Param("status") EmailStatus status, @Param("now") Instant now,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.example.backend.enums.EmailStatus.SENT, e.sentAt = :now, "
+            + "e.attempts = e.attempts + 1, e.lastError = null WHERE e.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("now") Instant now);
+
+    long countByStatus(EmailStatus status);
+}
@@ -2,14 +2,41 @@ package com.example.backend.repositories;
 
 import com.example.backend.enums.TokenType;
 import com.example.backend.models.PasswordToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PasswordTokenRepository extends JpaRepository<PasswordToken, Long> {
-    Optional<PasswordToken> findByEmailAndOtpAndUsedFalse(String email, String otp);
-    Optional<PasswordToken> findByEmailAndOtpAndUsedFalseAndTokenType(String email, String otp, TokenType tokenType);
-}
+    Optional<PasswordToken> findFirstByEmailAndTokenTypeAndUsedFalseOrderByIdDesc(String email, TokenType tokenType);
+
+    Optional<PasswordToken> findFirstByEmailAndTokenTypeOrderByIdDesc(String email, TokenType tokenType);
+
+    @Modifying
+    @Query("UPDATE PasswordToken t SET t.used = true WHERE t.email = :email AND t.tokenType = :tokenType AND t.used = false")
+    int invalidateActive(@Param("email") String email, @Param("tokenType") TokenType tokenType);
+
+    // A consumed code also clears the attempt count the next code would inherit
+    @Modifying
+    @Query("UPDATE PasswordToken t SET t.used = true, t.attempts = 0 WHERE t.id = :id AND t.used = false")
+    int markUsed(@Param("id") Long id);
 
+    // Conditional, so concurrent guesses cannot all pass the limit on the same stale count
+    @Modifying
+    @Query("UPDATE PasswordToken t SET t.attempts = t.attempts + 1 WHERE t.id = :id AND t.attempts < :max")
+    int takeAttempt(@Param("id") Long id, @Param("max") int max);
+
+    @Modifying
+    @Query("UPDATE PasswordToken t SET t.attempts = t.attempts - 1 WHERE t.id = :id AND t.attempts > 0")
+    int refundAttempt(@Param("id") Long id);
+
+    @Query("SELECT t.id FROM PasswordToken t WHERE t.used = true OR t.expiryTime < :now")
+    List<Long> findPurgeableIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.example.backend.repositories;
+
+import com.example.backend.enums.RecommendationKind;
+import com.example.backend.models.ProfileRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProfileRecommendationRepository extends JpaRepository<ProfileRecommendation, UUID> {
+
+    List<ProfileRecommendation> findByProfileIdAndKindOrderByRankAsc(UUID profileId, RecommendationKind kind);
+
+    @Modifying
+    @Query("DELETE FROM ProfileRecommendation r WHERE r.profileId IN :profileIds")
+    int deleteByProfileIds(@Param("profileIds") Collection<UUID> profileIds);
+}
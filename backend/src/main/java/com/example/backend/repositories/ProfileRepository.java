@@ -2,50 +2,112 @@ package com.example.backend.repositories;
 
 import com.example.backend.models.Profile;
 import com.example.backend.models.User;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.lang.NonNull;
-import org.springframework.lang.Nullable;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, UUID>, JpaSpecificationExecutor<Profile> {
   Optional<Profile> findByUser(User user);
 
-  // Find users with similar skills (minimum 3 matches)
+  // Loads the profile together with its user and role in one round trip
   @Query("""
           SELECT p FROM Profile p
-          JOIN p.skills s
-          WHERE s.definition.name IN :skillNames
-            AND p.id <> :excludeProfileId
-          GROUP BY p
-          HAVING COUNT(s) >= 3
+          JOIN FETCH p.user u
+          LEFT JOIN FETCH u.role
+          WHERE u.username = :username
       """)
-  List<Profile> findProfilesWithMatchingSkills(
-      @Param("skillNames") List<String> skillNames,
-      @Param("excludeProfileId") UUID excludeProfileId);
+  Optional<Profile> findByUsernameWithUserAndRole(@Param("username") String username);
 
-  // Find users with complementary skills (not already in the current user's skill
-  // set)
+  // (profile id, open for invites, interest) rows, one per project interest
+  @Query("SELECT p.id, p.openForTeamInvites, i FROM Profile p LEFT JOIN p.projectInterests i")
+  Stream<Object[]> streamMatchPreferences();
+
+  interface MatchSummary {
+    UUID getId();
+
+    String getUsername();
+
+    String getFirstname();
+
+    String getLastname();
+
+    String getLocation();
+
+    String getProfilePictureUrl();
+  }
+
+  // Card fields for one page of match results, without loading skills or links
+  @Query("""
+          SELECT p.id AS id, u.username AS username, p.firstname AS firstname, p.lastname AS lastname,
+                 p.location AS location, p.profilePictureUrl AS profilePictureUrl
+          FROM Profile p
+          JOIN p.user u
+          WHERE p.id IN :ids
+      """)
+  List<MatchSummary> findMatchSummaries(@Param("ids") Collection<UUID> ids);
+
+  interface DigestRecipient {
+    UUID getId();
+
+    String getEmail();
+
+    String getFirstname();
+  }
+
+  // Only profiles that still want email, looked up in one query per digest window
+  @Query("""
+          SELECT p.id AS id, u.email AS email, p.firstname AS firstname
+          FROM Profile p
+          JOIN p.user u
+          WHERE p.id IN :ids
+            AND p.emailNotifications = true
+      """)
+  List<DigestRecipient> findDigestRecipients(@Param("ids") Collection<UUID> ids);
+
+  // Never materialized, skills changed since the last run, or simply too old
   @Query("""
-          SELECT DISTINCT p FROM Profile p
-          JOIN p.skills s
-          WHERE s.definition.name NOT IN :userSkillNames
-            AND p.id <> :userId
+          SELECT p.id FROM Profile p
+          WHERE p.recommendationsComputedAt IS NULL
+             OR p.recommendationsComputedAt < p.skillsChangedAt
+             OR p.recommendationsComputedAt < :staleBefore
       """)
-  List<Profile> findProfilesWithComplementarySkills(
-      @Param("userSkillNames") List<String> userSkillNames,
-      @Param("userId") UUID userId);
+  List<UUID> findIdsNeedingRecommendations(@Param("staleBefore") Instant staleBefore, Pageable pageable);
+
+  @Query("SELECT p.recommendationsComputedAt FROM Profile p WHERE p.id = :id")
+  Optional<Instant> findRecommendationsComputedAt(@Param("id") UUID id);
+
+  @Modifying
+  @Query("UPDATE Profile p SET p.recommendationsComputedAt = :computedAt WHERE p.id IN :ids")
+  int markRecommendationsComputed(@Param("ids") Collection<UUID> ids, @Param("computedAt") Instant computedAt);
+
+  // (profile id, bio, education, location, definition id, normalized name, definition name, proficiency) rows
+  // of every profile, one per skill, for the search index
+  @Query("""
+          SELECT p.id, p.bio, p.education, p.location, d.id, d.normalizedName, d.name, s.proficiency
+          FROM Profile p LEFT JOIN p.skills s LEFT JOIN s.definition d
+          """)
+  Stream<Object[]> streamSearchDocuments();
+
+  @Query("""
+          SELECT p.id, p.bio, p.education, p.location, d.id, d.normalizedName, d.name, s.proficiency
+          FROM Profile p LEFT JOIN p.skills s LEFT JOIN s.definition d WHERE p.id = :id
+          """)
+  List<Object[]> findSearchDocument(@Param("id") UUID id);
 
-  @NonNull
-  Page<Profile> findAll(@Nullable Specification<Profile> specification, @NonNull Pageable pageable);
+  // Profile search result pages; see the Profile.withUser graph
+  @EntityGraph("Profile.withUser")
+  List<Profile> findByIdIn(Collection<UUID> ids);
 }
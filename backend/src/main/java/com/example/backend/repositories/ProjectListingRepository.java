@@ -0,0 +1,32 @@
+package com.example.backend.repositories;
+
+import com.example.backend.enums.ProjectLevel;
+import com.example.backend.enums.ProjectStatus;
+import com.example.backend.models.Project;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Project listings as flat rows: the project's own columns plus its
+ * creator's username, email and picture, selected in one query without
+ * loading any entity. Technologies are not included; callers load them for
+ * the whole page at once.
+ */
+public interface ProjectListingRepository {
+
+    record ProjectListing(UUID id, String title, String description, ProjectLevel level, String duration,
+            int teamSize, String category, String budget, boolean remote, boolean openSource, String contactMethod,
+            String additionalInfo, ProjectStatus status, LocalDateTime createdAt, UUID creatorId,
+            String creatorUsername, String creatorEmail, String creatorPictureUrl) {
+    }
+
+    Page<ProjectListing> findListings(Specification<Project> spec, Pageable pageable);
+
+    List<ProjectListing> findListings(Specification<Project> spec, Sort sort);
+}
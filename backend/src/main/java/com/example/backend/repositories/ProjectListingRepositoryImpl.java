@@ -0,0 +1,76 @@
+package com.example.backend.repositories;
+
+import com.example.backend.models.Profile;
+import com.example.backend.models.Project;
+import com.example.backend.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class ProjectListingRepositoryImpl implements ProjectListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProjectListing> findListings(Specification<Project> spec, Pageable pageable) {
+        TypedQuery<ProjectListing> query = listingQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<ProjectListing> findListings(Specification<Project> spec, Sort sort) {
+        return listingQuery(spec, sort).getResultList();
+    }
+
+    private TypedQuery<ProjectListing> listingQuery(Specification<Project> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjectListing> query = cb.createQuery(ProjectListing.class);
+        Root<Project> project = query.from(Project.class);
+        Join<Project, Profile> creator = project.join("createdBy");
+        Join<Profile, User> user = creator.join("user");
+        query.select(cb.construct(ProjectListing.class,
+                project.get("id"), project.get("title"), project.get("description"), project.get("level"),
+                project.get("duration"), project.get("teamSize"), project.get("category"), project.get("budget"),
+                project.get("isRemote"), project.get("isOpenSource"), project.get("contactMethod"),
+                project.get("additionalInfo"), project.get("status"), project.get("createdAt"),
+                creator.get("id"), user.get("username"), user.get("email"), creator.get("profilePictureUrl")));
+        Predicate predicate = spec.toPredicate(project, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, project, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Project> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Project> project = query.from(Project.class);
+        query.select(cb.count(project));
+        Predicate predicate = spec.toPredicate(project, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
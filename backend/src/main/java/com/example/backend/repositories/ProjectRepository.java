@@ -1,14 +1,79 @@
 package com.example.backend.repositories;
 
+import com.example.backend.enums.ProjectLevel;
 import com.example.backend.models.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project> {
-    java.util.List<Project> findByCreatedBy_Id(UUID id);
-    java.util.List<Project> findByTeam_Members_Id(UUID profileId);
+public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project>,
+        ProjectListingRepository {
+
+    // (project id, technology name) rows for a page of listings, names in the same order as Project.technologies
+    @Query("SELECT p.id, d.name FROM Project p JOIN p.technologies d WHERE p.id IN :ids ORDER BY d.name")
+    java.util.List<Object[]> findTechnologyNames(@Param("ids") Collection<UUID> ids);
+
+    // (project id, owner profile id) pairs
+    @Query("SELECT p.id, p.createdBy.id FROM Project p WHERE p.id IN :ids")
+    java.util.List<Object[]> findOwnerIds(@Param("ids") Collection<UUID> ids);
+
+    // (project id, owner profile id, category, definition id, definition name) rows of every active project,
+    // one per technology
+    @Query("""
+            SELECT p.id, p.createdBy.id, p.category, d.id, d.name FROM Project p LEFT JOIN p.technologies d
+            WHERE p.status = com.example.backend.enums.ProjectStatus.ACTIVE
+            """)
+    Stream<Object[]> streamActiveProjectTechnologies();
+
+    @Query("""
+            SELECT p.id, p.createdBy.id, p.category, d.id, d.name FROM Project p LEFT JOIN p.technologies d
+            WHERE p.id = :id AND p.status = com.example.backend.enums.ProjectStatus.ACTIVE
+            """)
+    java.util.List<Object[]> findActiveProjectTechnologies(@Param("id") UUID id);
+
+    // (project id, title, description, category, level, remote, open source, definition id, definition name)
+    // rows of every project, one per technology, for the search index
+    @Query("""
+            SELECT p.id, p.title, p.description, p.category, p.level, p.isRemote, p.isOpenSource, d.id, d.name
+            FROM Project p LEFT JOIN p.technologies d
+            """)
+    Stream<Object[]> streamSearchDocuments();
+
+    @Query("""
+            SELECT p.id, p.title, p.description, p.category, p.level, p.isRemote, p.isOpenSource, d.id, d.name
+            FROM Project p LEFT JOIN p.technologies d WHERE p.id = :id
+            """)
+    java.util.List<Object[]> findSearchDocument(@Param("id") UUID id);
+
+    @Query("SELECT p.id FROM Project p JOIN p.team t JOIN t.members m WHERE m.id = :profileId")
+    java.util.List<UUID> findProjectIdsByMember(@Param("profileId") UUID profileId);
+
+    interface ProjectMatchSummary {
+        UUID getId();
+
+        String getTitle();
+
+        String getCategory();
+
+        ProjectLevel getLevel();
+
+        int getTeamSize();
+    }
+
+    @Query("""
+            SELECT p.id AS id, p.title AS title, p.category AS category, p.level AS level, p.teamSize AS teamSize
+            FROM Project p WHERE p.id IN :ids
+            """)
+    java.util.List<ProjectMatchSummary> findMatchSummaries(@Param("ids") Collection<UUID> ids);
+
+    // (project id, member profile id) pairs
+    @Query("SELECT p.id, m.id FROM Project p JOIN p.team t JOIN t.members m WHERE p.id IN :ids")
+    java.util.List<Object[]> findTeamMemberIds(@Param("ids") Collection<UUID> ids);
 }
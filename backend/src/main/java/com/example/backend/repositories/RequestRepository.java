@@ -4,6 +4,7 @@ import com.example.backend.enums.RequestStatus;
 import com.example.backend.models.CollaborationRequest;
 import com.example.backend.models.Profile;
 import com.example.backend.models.Project;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,18 +19,22 @@ public interface RequestRepository extends JpaRepository<CollaborationRequest, L
     
     List<CollaborationRequest> findByProject(Project project);
     
+    @EntityGraph("CollaborationRequest.withRequester")
     List<CollaborationRequest> findByRequester(Profile requester);
     
     List<CollaborationRequest> findByProjectAndStatus(Project project, RequestStatus status);
     
+    @EntityGraph("CollaborationRequest.withRequester")
     List<CollaborationRequest> findByRequesterAndStatus(Profile requester, RequestStatus status);
 
     
     // Get all requests for projects owned by a specific profile
+    @EntityGraph("CollaborationRequest.withRequester")
     @Query("SELECT r FROM CollaborationRequest r WHERE r.project.createdBy = :owner")
     List<CollaborationRequest> findByProjectOwner(@Param("owner") Profile owner);
     
     // Get all requests for projects owned by a specific profile with status filter
+    @EntityGraph("CollaborationRequest.withRequester")
     @Query("SELECT r FROM CollaborationRequest r WHERE r.project.createdBy = :owner AND r.status = :status")
     List<CollaborationRequest> findByProjectOwnerAndStatus(@Param("owner") Profile owner, @Param("status") RequestStatus status);
     
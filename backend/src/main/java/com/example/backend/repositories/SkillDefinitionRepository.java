@@ -2,12 +2,22 @@ package com.example.backend.repositories;
 
 import com.example.backend.models.SkillDefinition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface SkillDefinitionRepository extends JpaRepository<SkillDefinition, UUID> {
+public interface SkillDefinitionRepository extends JpaRepository<SkillDefinition, Long> {
     Optional<SkillDefinition> findByNormalizedName(String normalizedName);
+
+    List<SkillDefinition> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    // (id, name, number of skills using it) for every definition, streamed to build the autocomplete index
+    @Query("SELECT d.id, d.name, (SELECT COUNT(s) FROM Skill s WHERE s.definition = d) FROM SkillDefinition d")
+    Stream<Object[]> streamUsageCounts();
 }
@@ -2,6 +2,7 @@ package com.example.backend.repositories;
 
 import com.example.backend.models.Profile;
 import com.example.backend.models.Skill;
+import com.example.backend.models.SkillDefinition;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, UUID> {
@@ -17,6 +19,11 @@ public interface SkillRepository extends JpaRepository<Skill, UUID> {
 
     List<Skill> findByProfile(Profile profile);
 
-    @Query("SELECT DISTINCT d.name FROM Skill s JOIN s.definition d WHERE d.name LIKE %:query%")
-    List<String> findSkillNamesContaining(@Param("query") String query);
+    boolean existsByProfileAndDefinition(Profile profile, SkillDefinition definition);
+
+    boolean existsByProfileAndDefinitionAndIdNot(Profile profile, SkillDefinition definition, UUID skillId);
+
+    // (profile id, definition id, proficiency) for every skill, streamed to build the in-memory skill index
+    @Query("SELECT s.profile.id, s.definition.id, s.proficiency FROM Skill s")
+    Stream<Object[]> streamSkillFeatures();
 }
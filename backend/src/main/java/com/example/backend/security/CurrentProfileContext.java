@@ -0,0 +1,67 @@
+package com.example.backend.security;
+
+import com.example.backend.exceptions.UnauthorizedException;
+import com.example.backend.exceptions.UserNotFoundException;
+import com.example.backend.models.Profile;
+import com.example.backend.models.User;
+import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Holds the authenticated user's profile for the lifetime of one HTTP request.
+ * The user, profile and role are loaded with a single fetch-joined query the
+ * first time they are needed and reused by every service afterwards. The user
+ * alone can be resolved without a profile, for accounts that do not have one.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentProfileContext {
+
+    private final ProfileRepository profileRepository;
+    private final UserRepository userRepository;
+
+    private Profile profile;
+    private User user;
+
+    public Profile getProfile() {
+        if (profile == null) {
+            String username = currentUsername();
+            profile = profileRepository.findByUsernameWithUserAndRole(username)
+                    .orElseThrow(() -> new UserNotFoundException("Profile not found for user: " + username));
+        }
+        return profile;
+    }
+
+    public User getUser() {
+        if (user == null) {
+            if (profile != null) {
+                user = profile.getUser();
+            } else {
+                user = userRepository.findByUsername(currentUsername())
+                        .orElseThrow(() -> new UnauthorizedException("User not found"));
+            }
+        }
+        return user;
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UserDetails user) {
+            return user.getUsername();
+        }
+        return principal.toString();
+    }
+}
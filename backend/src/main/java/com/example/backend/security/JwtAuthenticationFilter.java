@@ -1,21 +1,24 @@
 package com.example.backend.security;
 
 import com.example.backend.services.CustomUserDetailsService;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.lang.NonNull;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.example.backend.utils.JwtUtils;
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 @AllArgsConstructor
@@ -23,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -30,7 +34,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
         String jwt = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
@@ -44,24 +47,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
-        if (jwt != null) {
-            try {
-                username = jwtUtil.getUserNameFromJwtToken(jwt);
-            } catch (ExpiredJwtException | MalformedJwtException e) {
-                logger.warn("Invalid or expired JWT: {}");
-            }
+        Claims claims = jwt != null ? jwtUtil.verifyJwtToken(jwt).orElse(null) : null;
+        if (jwt != null && claims == null) {
+            logger.warn("Invalid or expired JWT");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = claims.getSubject();
             try {
-                var userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                if (jwt != null && jwtUtil.validateJwtToken(jwt)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                UserDetails userDetails = resolvePrincipal(claims);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             } catch (org.springframework.security.core.userdetails.UsernameNotFoundException e) {
                 // User from token not found (likely DB reset), ignore and allow request to
                 // proceed unauthenticated
@@ -70,4 +68,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+        // Tokens carrying a signed role claim need no user lookup at all
+        String role = claims.get(JwtUtils.ROLE_CLAIM, String.class);
+        if (role != null) {
+            return new User(username, "", Collections.singleton(new SimpleGrantedAuthority(role)));
+        }
+        return principalCache.get(username, userDetailsService::loadUserByUsername);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example.backend.security;
+
+import com.example.backend.utils.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by username.
+ * Lets {@link JwtAuthenticationFilter} skip the user lookup for repeat requests.
+ */
+@Component
+public class PrincipalCache {
+
+    private final BoundedCache<String, CachedPrincipal> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final long ttlMs;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${app.security.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.entries = new BoundedCache<>(maxSize, entry -> entry.expiresAt() <= System.currentTimeMillis());
+        this.ttlMs = ttlMs;
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = entries.get(username);
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.userDetails();
+        }
+
+        misses.increment();
+        UserDetails userDetails = loader.apply(username);
+        entries.put(username, new CachedPrincipal(userDetails, now + ttlMs));
+        return userDetails;
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record CachedPrincipal(UserDetails userDetails, long expiresAt) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.security;
+
+import com.example.backend.configuration.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-route token-bucket policies from {@link RateLimitProperties}.
+ * Authenticated callers are limited per user, anonymous callers per client IP.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimitProperties.Policy policy = properties.isEnabled() ? findPolicy(request) : null;
+        if (policy != null) {
+            long waitNanos = rateLimiter.tryAcquire(policy, callerKey(request));
+            if (waitNanos > 0) {
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                response.setContentType("application/json");
+                response.getWriter().write("{\"message\": \"Too many requests, please retry later\"}");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.Policy findPolicy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            boolean methodMatches = policy.getMethod() == null || policy.getMethod().isEmpty()
+                    || policy.getMethod().equalsIgnoreCase(request.getMethod());
+            if (methodMatches && pathMatcher.match(policy.getPattern(), path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        // Keyed by username rather than profile id: the principal is already in the
+        // security context, so no lookup is needed here
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
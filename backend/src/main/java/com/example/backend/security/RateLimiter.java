@@ -0,0 +1,42 @@
+package com.example.backend.security;
+
+import com.example.backend.configuration.RateLimitProperties;
+import com.example.backend.utils.BoundedCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets keyed by policy and caller in a {@link BoundedCache}, so total
+ * memory stays bounded: idle buckets are dropped as new callers arrive once
+ * they have refilled to full, and the least recently used one when the cache
+ * is full. Dropping a full bucket never resets a caller's limit, whatever the
+ * idle timeout and refill periods are.
+ */
+@Component
+public class RateLimiter {
+
+    private final BoundedCache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties) {
+        long idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.buckets = new BoundedCache<>(properties.getMaxBuckets(),
+                bucket -> {
+                    long now = System.nanoTime();
+                    return now - bucket.lastAccessNanos() > idleTimeoutNanos && bucket.isFull(now);
+                });
+    }
+
+    /**
+     * @return 0 if the call is allowed, otherwise the nanos until it would be
+     */
+    public long tryAcquire(RateLimitProperties.Policy policy, String callerKey) {
+        long now = System.nanoTime();
+        String key = policy.getName() + ':' + callerKey;
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(policy.getCapacity(),
+                policy.getRefillTokens(), policy.getRefillPeriod().toNanos(), now));
+        return bucket.tryConsume(now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. Refill and consume happen in one CAS on an
+ * immutable state snapshot, so concurrent requests never block each other.
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastAccessNanos;
+
+    TokenBucket(long capacity, long refillTokens, long refillPeriodNanos, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriodNanos;
+        this.state = new AtomicReference<>(new State(capacity, now));
+        this.lastAccessNanos = now;
+    }
+
+    /**
+     * Tries to take one token.
+     *
+     * @return 0 if a token was taken, otherwise the nanos until one is available
+     */
+    long tryConsume(long now) {
+        lastAccessNanos = now;
+        while (true) {
+            State current = state.get();
+            double refilled = Math.min(capacity,
+                    current.tokens() + Math.max(0, now - current.updatedAt()) * tokensPerNano);
+            if (refilled < 1) {
+                return (long) Math.ceil((1 - refilled) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(refilled - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+    long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    /** Whether the bucket has refilled to capacity, making it indistinguishable from a new one. */
+    boolean isFull(long now) {
+        State current = state.get();
+        return current.tokens() + Math.max(0, now - current.updatedAt()) * tokensPerNano >= capacity;
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.backend.security;
+
+import com.example.backend.models.RevokedToken;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory view of the revocation table, checked on every authenticated
+ * request. A Bloom filter answers the common "not revoked" case; only its
+ * rare positives fall through to the exact map. Both live in one immutable
+ * snapshot that is swapped on change, so readers never lock.
+ */
+@Component
+public class TokenRevocationList {
+
+    /** Issue time in milliseconds; iat only has whole seconds, too coarse to order against a revocation. */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private volatile Snapshot snapshot = Snapshot.of(Map.of());
+
+    public boolean isRevoked(Claims claims) {
+        Snapshot current = snapshot;
+        long now = System.currentTimeMillis();
+
+        String jti = claims.getId();
+        if (jti != null && current.matches(jtiKey(jti), now)) {
+            return true;
+        }
+
+        String userKey = userKey(claims.getSubject());
+        if (!current.bloom().mightContain(userKey)) {
+            return false;
+        }
+        Entry entry = current.exact().get(userKey);
+        if (entry == null || entry.expiresAt() <= now) {
+            return false;
+        }
+        Long issuedAt = issuedAtMillis(claims);
+        return issuedAt == null || issuedAt < entry.revokedAt();
+    }
+
+    // Tokens without the millisecond claim read as issued at the start of their second,
+    // so any token from the second of a revocation is rejected rather than let through
+    private static Long issuedAtMillis(Claims claims) {
+        Object millis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        if (millis instanceof Number number) {
+            return number.longValue();
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : null;
+    }
+
+    public void revokeToken(String jti, Instant expiresAt) {
+        add(jtiKey(jti), new Entry(System.currentTimeMillis(), expiresAt.toEpochMilli()));
+    }
+
+    public void revokeUser(String username, Instant revokedAt, Instant expiresAt) {
+        add(userKey(username), new Entry(revokedAt.toEpochMilli(), expiresAt.toEpochMilli()));
+    }
+
+    /**
+     * Replaces the snapshot with the persisted revocations. Entries added locally
+     * and not yet expired are kept, in case they were written after the rows
+     * were read.
+     */
+    public synchronized void rebuild(Collection<RevokedToken> revoked) {
+        long now = System.currentTimeMillis();
+        Map<String, Entry> exact = new HashMap<>();
+        snapshot.exact().forEach((key, entry) -> {
+            if (entry.expiresAt() > now) {
+                exact.put(key, entry);
+            }
+        });
+        for (RevokedToken token : revoked) {
+            exact.merge(token.getTokenKey(),
+                    new Entry(token.getRevokedAt().toEpochMilli(), token.getExpiresAt().toEpochMilli()),
+                    TokenRevocationList::latest);
+        }
+        snapshot = Snapshot.of(exact);
+    }
+
+    public int size() {
+        return snapshot.exact().size();
+    }
+
+    public static String jtiKey(String jti) {
+        return "jti:" + jti;
+    }
+
+    public static String userKey(String username) {
+        return "user:" + username;
+    }
+
+    private synchronized void add(String key, Entry entry) {
+        Map<String, Entry> exact = new HashMap<>(snapshot.exact());
+        exact.merge(key, entry, TokenRevocationList::latest);
+        snapshot = Snapshot.of(exact);
+    }
+
+    private static Entry latest(Entry a, Entry b) {
+        return new Entry(Math.max(a.revokedAt(), b.revokedAt()), Math.max(a.expiresAt(), b.expiresAt()));
+    }
+
+    private record Entry(long revokedAt, long expiresAt) {
+    }
+
+    private record Snapshot(BloomFilter bloom, Map<String, Entry> exact) {
+
+        static Snapshot of(Map<String, Entry> exact) {
+            BloomFilter bloom = new BloomFilter(Math.max(MIN_CAPACITY, exact.size() * 2), FALSE_POSITIVE_RATE);
+            exact.keySet().forEach(bloom::add);
+            return new Snapshot(bloom, Map.copyOf(exact));
+        }
+
+        boolean matches(String key, long now) {
+            if (!bloom.mightContain(key)) {
+                return false;
+            }
+            Entry entry = exact.get(key);
+            return entry != null && entry.expiresAt() > now;
+        }
+    }
+}
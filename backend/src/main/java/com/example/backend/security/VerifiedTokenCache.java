@@ -0,0 +1,72 @@
+package com.example.backend.security;
+
+import com.example.backend.utils.BoundedCache;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Small bounded cache of recently verified tokens, keyed by a SHA-256 digest of
+ * the token so raw credentials are never held in memory. An entry lives no
+ * longer than the token's own expiry.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final BoundedCache<String, VerifiedToken> entries;
+    private final int maxSize;
+
+    public VerifiedTokenCache(@Value("${app.jwt.verified-cache.max-size:4096}") int maxSize) {
+        this.entries = new BoundedCache<>(maxSize, entry -> entry.expiresAt() <= System.currentTimeMillis());
+        this.maxSize = maxSize;
+    }
+
+    public Claims get(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = entries.get(digest);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(digest);
+            return null;
+        }
+        return verified.claims();
+    }
+
+    public void put(String token, Claims claims) {
+        if (maxSize <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        entries.put(digest(token), new VerifiedToken(claims, claims.getExpiration().getTime()));
+    }
+
+    public void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.services;
+
+import java.util.UUID;
+
+/**
+ * One chat message posted to a project. Recipients are resolved when the
+ * digest window closes, so a busy chat costs no lookups per message.
+ */
+public record ChatActivityEvent(UUID projectId, String projectTitle, UUID senderId) {
+}
@@ -8,6 +8,7 @@ import com.example.backend.models.Project;
 import com.example.backend.repositories.ChatMessageRepository;
 import com.example.backend.repositories.ProjectRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,7 @@ public class ChatService {
     private final ChatMessageRepository chatMessageRepository;
     private final ProjectRepository projectRepository;
     private final ProfileService profileService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ChatMessageDto sendMessage(UUID projectId, String content) {
@@ -37,6 +39,7 @@ public class ChatService {
         message.setSender(sender);
         
         ChatMessage savedMessage = chatMessageRepository.save(message);
+        eventPublisher.publishEvent(new ChatActivityEvent(project.getId(), project.getTitle(), sender.getId()));
         return convertToDto(savedMessage);
     }
     
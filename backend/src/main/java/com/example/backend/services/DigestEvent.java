@@ -0,0 +1,22 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.DigestEventType;
+import com.example.backend.models.Profile;
+
+import java.util.UUID;
+
+/**
+ * Something a profile should hear about in their next activity digest. Carries
+ * plain values only, so it can outlive the transaction that published it.
+ */
+public record DigestEvent(UUID recipientId, DigestEventType type, String text) {
+
+    static String nameOf(Profile profile) {
+        String first = profile.getFirstname();
+        String last = profile.getLastname();
+        if (first == null || first.isBlank()) {
+            return profile.getUser() != null ? profile.getUser().getUsername() : "Someone";
+        }
+        return last == null || last.isBlank() ? first : first + " " + last;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.DigestEventType;
+import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.utils.EmailTemplates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collects collaboration and project activity per recipient and sends each
+ * recipient at most one email per window. Events are buffered only after the
+ * publishing transaction commits; profiles with email notifications turned
+ * off are filtered out when the window closes.
+ * <p>
+ * The window lives in this instance's memory only. It assumes a single
+ * application instance: with several, each sends its own digest of the
+ * events it saw, and whatever is buffered is lost on shutdown. A flush that
+ * fails before the emails are queued puts the window back for the next one.
+ */
+@Service
+@Slf4j
+public class DigestService {
+
+    private final ProfileRepository profileRepository;
+    private final ProjectRepository projectRepository;
+    private final EmailService emailService;
+    private final int maxEventsPerRecipient;
+
+    // Writers share the read lock; closing a window takes the write lock to swap it
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Window window = new Window();
+
+    public DigestService(ProfileRepository profileRepository,
+            ProjectRepository projectRepository,
+            EmailService emailService,
+            @Value("${app.digest.max-events-per-recipient:20}") int maxEventsPerRecipient) {
+        this.profileRepository = profileRepository;
+        this.projectRepository = projectRepository;
+        this.emailService = emailService;
+        this.maxEventsPerRecipient = maxEventsPerRecipient;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(DigestEvent event) {
+        lock.readLock().lock();
+        try {
+            RecipientEvents events = window.events.computeIfAbsent(event.recipientId(), id -> new RecipientEvents());
+            if (events.total.incrementAndGet() <= maxEventsPerRecipient) {
+                events.kept.add(event);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatActivity(ChatActivityEvent event) {
+        lock.readLock().lock();
+        try {
+            window.chat.computeIfAbsent(event.projectId(), id -> new ChatActivity(event.projectTitle()))
+                    .bySender.computeIfAbsent(event.senderId(), id -> new LongAdder())
+                    .increment();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.digest.window-ms:900000}",
+            initialDelayString = "${app.digest.window-ms:900000}")
+    public void flush() {
+        Window closed = closeWindow();
+        try {
+            send(closed);
+        } catch (RuntimeException e) {
+            // Emails are queued in a single transaction, so nothing from this window went out
+            restore(closed);
+            log.warn("Digest flush failed; keeping activity for {} recipients and {} projects until the next window",
+                    closed.events.size(), closed.chat.size(), e);
+        }
+    }
+
+    private void send(Window closed) {
+        Map<UUID, RecipientDigest> digests = collect(closed);
+        addChatActivity(closed, digests);
+        if (digests.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, ProfileRepository.DigestRecipient> recipients = profileRepository
+                .findDigestRecipients(digests.keySet()).stream()
+                .collect(Collectors.toMap(ProfileRepository.DigestRecipient::getId, Function.identity()));
+
+        // Rendering is independent per recipient, so spread it over the common pool
+        List<EmailService.OutgoingEmail> emails = digests.entrySet().parallelStream()
+                .filter(entry -> recipients.containsKey(entry.getKey()))
+                .map(entry -> render(recipients.get(entry.getKey()), entry.getValue()))
+                .toList();
+        if (!emails.isEmpty()) {
+            emailService.sendAll(emails);
+            log.info("Queued {} digest emails", emails.size());
+        }
+    }
+
+    Window closeWindow() {
+        lock.writeLock().lock();
+        try {
+            Window closed = window;
+            window = new Window();
+            return closed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Merges a closed window back into the open one, still capping each recipient's events. */
+    private void restore(Window closed) {
+        lock.readLock().lock();
+        try {
+            closed.events.forEach((recipientId, events) -> {
+                RecipientEvents target = window.events.computeIfAbsent(recipientId, id -> new RecipientEvents());
+                for (DigestEvent event : events.kept) {
+                    if (target.total.incrementAndGet() <= maxEventsPerRecipient) {
+                        target.kept.add(event);
+                    }
+                }
+                target.total.addAndGet(events.total.get() - events.kept.size());
+            });
+            closed.chat.forEach((projectId, activity) -> {
+                ChatActivity target = window.chat.computeIfAbsent(projectId,
+                        id -> new ChatActivity(activity.projectTitle));
+                activity.bySender.forEach((senderId, count) -> target.bySender
+                        .computeIfAbsent(senderId, id -> new LongAdder())
+                        .add(count.sum()));
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Map<UUID, RecipientDigest> collect(Window closed) {
+        Map<UUID, RecipientDigest> digests = new HashMap<>();
+        closed.events.forEach((recipientId, events) -> {
+            RecipientDigest digest = digests.computeIfAbsent(recipientId, id -> new RecipientDigest());
+            events.kept.forEach(digest::add);
+            digest.omitted += events.total.get() - events.kept.size();
+        });
+        return digests;
+    }
+
+    private void addChatActivity(Window closed, Map<UUID, RecipientDigest> digests) {
+        if (closed.chat.isEmpty()) {
+            return;
+        }
+        Set<UUID> projectIds = closed.chat.keySet();
+        Map<UUID, Set<UUID>> audience = new HashMap<>();
+        addPairs(audience, projectRepository.findOwnerIds(projectIds));
+        addPairs(audience, projectRepository.findTeamMemberIds(projectIds));
+
+        audience.forEach((projectId, profileIds) -> {
+            ChatActivity activity = closed.chat.get(projectId);
+            long total = activity.bySender.values().stream().mapToLong(LongAdder::sum).sum();
+            for (UUID profileId : profileIds) {
+                // People are not told about their own messages
+                LongAdder own = activity.bySender.get(profileId);
+                long others = total - (own != null ? own.sum() : 0);
+                if (others > 0) {
+                    digests.computeIfAbsent(profileId, id -> new RecipientDigest())
+                            .add(new DigestEvent(profileId, DigestEventType.CHAT_ACTIVITY,
+                                    others + (others == 1 ? " new message in " : " new messages in ")
+                                            + activity.projectTitle));
+                }
+            }
+        });
+    }
+
+    static EmailService.OutgoingEmail render(ProfileRepository.DigestRecipient recipient, RecipientDigest digest) {
+        Map<String, List<String>> sections = new LinkedHashMap<>();
+        digest.byType.forEach((type, texts) -> sections.put(type.getDisplayName(), texts));
+        int updates = digest.size() + digest.omitted;
+        String subject = "Your Collabro digest: " + updates + (updates == 1 ? " update" : " updates");
+        return new EmailService.OutgoingEmail(recipient.getEmail(), subject,
+                EmailTemplates.digestTemplate(recipient.getFirstname(), sections, digest.omitted));
+    }
+
+    private static void addPairs(Map<UUID, Set<UUID>> audience, Collection<Object[]> pairs) {
+        for (Object[] pair : pairs) {
+            audience.computeIfAbsent((UUID) pair[0], id -> new HashSet<>()).add((UUID) pair[1]);
+        }
+    }
+
+    static final class Window {
+        final Map<UUID, RecipientEvents> events = new ConcurrentHashMap<>();
+        final Map<UUID, ChatActivity> chat = new ConcurrentHashMap<>();
+    }
+
+    private static final class RecipientEvents {
+        final Queue<DigestEvent> kept = new ConcurrentLinkedQueue<>();
+        final AtomicInteger total = new AtomicInteger();
+    }
+
+    private static final class ChatActivity {
+        final String projectTitle;
+        final Map<UUID, LongAdder> bySender = new ConcurrentHashMap<>();
+
+        ChatActivity(String projectTitle) {
+            this.projectTitle = projectTitle;
+        }
+    }
+
+    static final class RecipientDigest {
+        // Sections appear in enum order
+        final Map<DigestEventType, List<String>> byType = new EnumMap<>(DigestEventType.class);
+        int omitted;
+
+        void add(DigestEvent event) {
+            byType.computeIfAbsent(event.type(), type -> new ArrayList<>()).add(event.text());
+        }
+
+        int size() {
+            return byType.values().stream().mapToInt(List::size).sum();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.EmailStatus;
+import com.example.backend.models.EmailOutbox;
+import com.example.backend.repositories.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox in the background. Each batch is claimed in a short
+ * transaction, sent over a single SMTP connection with no database connection
+ * held, and the outcome recorded in a second transaction. Failed messages are
+ * retried with exponential backoff and dead-lettered after the last attempt.
+ * A single drain sends at most {@code max-batches-per-drain} batches, so a
+ * large backlog does not keep the scheduler thread busy for long; the rest
+ * is picked up on the next poll.
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerDrain;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public EmailOutboxWorker(EmailOutboxRepository outboxRepository,
+            JavaMailSender mailSender,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.max-batches-per-drain:10}") int maxBatchesPerDrain,
+            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+            @Value("${app.mail.outbox.lease:5m}") Duration lease) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerDrain = maxBatchesPerDrain;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerDrain; i++) {
+            List<EmailOutbox> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            deliver(batch, Instant.now());
+            record(batch);
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<EmailOutbox> due = outboxRepository.findDueForUpdate(EmailStatus.PENDING, now,
+                    PageRequest.ofSize(batchSize));
+            // If this worker dies mid-send the rows become due again once the lease runs out
+            due.forEach(email -> email.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    /**
+     * Sends the batch and updates each row's status, attempts and next attempt
+     * time in memory. Nothing is persisted here.
+     */
+    void deliver(List<EmailOutbox> batch, Instant now) {
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                // A message that cannot even be built will never succeed
+                deadLetter(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = failAll(messages, e);
+            }
+        } catch (MailException e) {
+            failures = failAll(messages, e);
+        }
+
+        for (Map.Entry<MimeMessage, EmailOutbox> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            EmailOutbox email = entry.getValue();
+            if (failure == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+            } else {
+                retryLater(email, failure, now);
+            }
+        }
+    }
+
+    private void record(List<EmailOutbox> batch) {
+        List<Long> sent = new ArrayList<>();
+        List<EmailOutbox> failed = new ArrayList<>();
+        for (EmailOutbox email : batch) {
+            if (email.getStatus() == EmailStatus.SENT) {
+                sent.add(email.getId());
+            } else {
+                failed.add(email);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.markSent(sent, Instant.now());
+            }
+            outboxRepository.saveAll(failed);
+        });
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true); // true = isHtml
+        return message;
+    }
+
+    private void retryLater(EmailOutbox email, Exception failure, Instant now) {
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(truncate(failure.getMessage()));
+        if (email.getAttempts() >= maxAttempts) {
+            deadLetter(email, failure);
+            return;
+        }
+        // 30s, 1m, 2m, ... capped at maxBackoff
+        long factor = 1L << Math.min(email.getAttempts() - 1, 20);
+        Duration backoff = initialBackoff.multipliedBy(factor);
+        email.setNextAttemptAt(now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+    }
+
+    private void deadLetter(EmailOutbox email, Exception failure) {
+        email.setStatus(EmailStatus.DEAD);
+        email.setLastError(truncate(failure.getMessage()));
+        log.atError().setCause(failure).log("Giving up on email {} to {} after {} attempts",
+                email.getId(), email.getRecipient(), email.getAttempts());
+    }
+
+    private static Map<Object, Exception> failAll(Map<MimeMessage, EmailOutbox> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,31 +1,56 @@
 package com.example.backend.services;
 
+import com.example.backend.models.EmailOutbox;
+import com.example.backend.repositories.EmailOutboxRepository;
 import com.example.backend.utils.EmailTemplates;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
+
+    public record OutgoingEmail(String to, String subject, String html) {
+    }
 
+    /**
+     * Queues the email in the outbox. The row joins the caller's transaction, so
+     * it is only sent if that transaction commits; {@link EmailOutboxWorker}
+     * does the actual SMTP delivery.
+     */
     void sendHtmlEmail(@NonNull String to, @NonNull String subject, @NonNull String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true); // true = isHtml
-            mailSender.send(message);
-        } catch (Exception e) {
-            log.atError().setCause(e).log("Error sending email");
-        }
+        Instant now = Instant.now();
+        outboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(htmlContent)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        log.debug("Queued email '{}' to {}", subject, to);
+    }
+
+    /**
+     * Queues several emails in a single transaction.
+     */
+    public void sendAll(@NonNull List<OutgoingEmail> emails) {
+        Instant now = Instant.now();
+        outboxRepository.saveAll(emails.stream()
+                .map(email -> EmailOutbox.builder()
+                        .recipient(email.to())
+                        .subject(email.subject())
+                        .body(email.html())
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build())
+                .toList());
     }
 
     // Welcome Email
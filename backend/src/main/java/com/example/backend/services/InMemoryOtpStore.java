@@ -0,0 +1,100 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.TokenType;
+import com.example.backend.utils.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local OTP store for single-instance deployments. Codes never touch
+ * the database; a timing wheel drops them as they expire.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 1024;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final TimingWheel<Key> wheel;
+    private final long ttlMillis;
+    private final int maxAttempts;
+
+    public InMemoryOtpStore(@Value("${app.otp.ttl:10m}") Duration ttl,
+            @Value("${app.otp.max-attempts:5}") int maxAttempts) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxAttempts = maxAttempts;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @Override
+    public void save(@NonNull String email, @NonNull TokenType type, @NonNull String otp) {
+        Key key = new Key(email, type);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        // Guesses are counted per email: a code replacing one still within its lifetime inherits its count
+        entries.compute(key, (k, previous) -> new Entry(otp, expiresAt,
+                previous != null && previous.expiresAt() > now ? previous.attempts() : 0));
+        wheel.schedule(key, expiresAt);
+    }
+
+    @Override
+    public boolean verify(@NonNull String email, @NonNull TokenType type, @NonNull String otp, boolean consume) {
+        Key key = new Key(email, type);
+        boolean[] matched = new boolean[1];
+        long now = System.currentTimeMillis();
+        entries.computeIfPresent(key, (k, entry) -> {
+            if (entry.expiresAt() <= now || entry.attempts() >= maxAttempts) {
+                return entry;
+            }
+            if (!constantTimeEquals(entry.otp(), otp)) {
+                return entry.withFailedAttempt();
+            }
+            matched[0] = true;
+            // A consumed code is gone for good
+            return consume ? null : entry;
+        });
+        return matched[0];
+    }
+
+    @Override
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void purgeExpired() {
+        purgeExpired(System.currentTimeMillis());
+    }
+
+    void purgeExpired(long now) {
+        // A replaced code leaves a stale timeout behind, so only drop what has really expired
+        wheel.advance(now, key -> entries.computeIfPresent(key,
+                (k, entry) -> entry.expiresAt() <= now ? null : entry));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static boolean constantTimeEquals(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                actual.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Key(String email, TokenType type) {
+    }
+
+    private record Entry(String otp, long expiresAt, int attempts) {
+
+        Entry withFailedAttempt() {
+            return new Entry(otp, expiresAt, attempts + 1);
+        }
+    }
+}
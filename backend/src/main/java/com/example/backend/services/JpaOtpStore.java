@@ -0,0 +1,111 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.TokenType;
+import com.example.backend.models.PasswordToken;
+import com.example.backend.repositories.PasswordTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OTP store backed by the password_tokens table, shared by every instance.
+ * Lookups go through the (email, token_type, used) index and a scheduled job
+ * deletes expired and used rows in batches.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "jpa", matchIfMissing = true)
+@Slf4j
+public class JpaOtpStore implements OtpStore {
+
+    private final PasswordTokenRepository tokenRepo;
+    private final Duration ttl;
+    private final int maxAttempts;
+    private final int purgeBatchSize;
+
+    public JpaOtpStore(PasswordTokenRepository tokenRepo,
+            @Value("${app.otp.ttl:10m}") Duration ttl,
+            @Value("${app.otp.max-attempts:5}") int maxAttempts,
+            @Value("${app.otp.purge-batch-size:500}") int purgeBatchSize) {
+        this.tokenRepo = tokenRepo;
+        this.ttl = ttl;
+        this.maxAttempts = maxAttempts;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    @Transactional
+    public void save(@NonNull String email, @NonNull TokenType type, @NonNull String otp) {
+        LocalDateTime now = LocalDateTime.now();
+        // Guesses are counted per email: a code replacing one still within its lifetime inherits its count
+        int attempts = tokenRepo.findFirstByEmailAndTokenTypeOrderByIdDesc(email, type)
+                .filter(previous -> previous.getExpiryTime().isAfter(now))
+                .map(PasswordToken::getAttempts)
+                .orElse(0);
+        tokenRepo.invalidateActive(email, type);
+        PasswordToken token = new PasswordToken();
+        token.setEmail(email);
+        token.setOtp(otp);
+        token.setExpiryTime(now.plus(ttl));
+        token.setTokenType(type);
+        token.setAttempts(attempts);
+        tokenRepo.save(token);
+    }
+
+    @Override
+    @Transactional
+    public boolean verify(@NonNull String email, @NonNull TokenType type, @NonNull String otp, boolean consume) {
+        Optional<PasswordToken> tokenOpt = tokenRepo.findFirstByEmailAndTokenTypeAndUsedFalseOrderByIdDesc(email, type);
+        if (tokenOpt.isEmpty())
+            return false;
+
+        PasswordToken token = tokenOpt.get();
+        if (token.getExpiryTime().isBefore(LocalDateTime.now()))
+            return false;
+
+        // Every guess takes an attempt before the comparison, so parallel guesses cannot exceed the limit
+        if (tokenRepo.takeAttempt(token.getId(), maxAttempts) != 1)
+            return false;
+
+        if (!MessageDigest.isEqual(token.getOtp().getBytes(StandardCharsets.UTF_8),
+                otp.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        if (!consume) {
+            // A right guess is not a failed attempt
+            tokenRepo.refundAttempt(token.getId());
+            return true;
+        }
+        // Conditional update so two concurrent requests cannot both consume the code
+        return tokenRepo.markUsed(token.getId()) == 1;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.otp.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = 0;
+        List<Long> ids;
+        do {
+            // Each batch is its own short transaction so the table is never locked for long
+            ids = tokenRepo.findPurgeableIds(LocalDateTime.now(), PageRequest.ofSize(purgeBatchSize));
+            if (!ids.isEmpty()) {
+                tokenRepo.deleteAllByIdInBatch(ids);
+                purged += ids.size();
+            }
+        } while (ids.size() == purgeBatchSize);
+        if (purged > 0) {
+            log.debug("Purged {} expired or used password tokens", purged);
+        }
+    }
+}
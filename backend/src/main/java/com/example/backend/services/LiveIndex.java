@@ -0,0 +1,109 @@
+package com.example.backend.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The state of an in-memory index behind a read-write lock, with the
+ * loading machinery every index shares: the state is loaded on first use
+ * if startup has not done so yet, and a rebuild may run while changes keep
+ * arriving, since changes applied during a load are replayed onto the new
+ * state before it is swapped in.
+ */
+final class LiveIndex<S> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadMonitor = new Object();
+    private final Runnable rebuild;
+
+    private S state;
+    // Changes seen while a rebuild is loading, replayed onto the new state
+    private List<Consumer<S>> pending;
+    private volatile boolean ready;
+
+    /**
+     * @param empty   the state served until the first load
+     * @param rebuild reloads the index from its source through {@link #load}
+     */
+    LiveIndex(S empty, Runnable rebuild) {
+        this.state = empty;
+        this.rebuild = rebuild;
+    }
+
+    /** Loads the index on first use if startup has not done so yet. */
+    void ensureReady() {
+        if (!ready) {
+            synchronized (loadMonitor) {
+                if (!ready) {
+                    rebuild.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a new state, replays the changes applied meanwhile and swaps it
+     * in. Loads run one at a time; the built state is returned.
+     */
+    S load(Supplier<S> build) {
+        synchronized (loadMonitor) {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                S loaded = build.get();
+                lock.writeLock().lock();
+                try {
+                    pending.forEach(change -> change.accept(loaded));
+                    state = loaded;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return loaded;
+            } finally {
+                // Also when the build fails: the current state stays in service and
+                // changes must stop piling up for a state that will never be swapped in
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /** Applies a change to the current state, and to the one being loaded if a rebuild is running. */
+    void apply(Consumer<S> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Runs a query against the current state, loading it first if needed. */
+    <T> T read(Function<S, T> query) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            return query.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
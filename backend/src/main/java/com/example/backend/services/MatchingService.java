@@ -1,64 +1,339 @@
 package com.example.backend.services;
 
+import com.example.backend.dto.MatchDto;
+import com.example.backend.dto.MatchPageDto;
 import com.example.backend.dto.ProfileDto;
 import com.example.backend.dto.ProfileSearchCriteria;
+import com.example.backend.dto.ProjectMatchDto;
+import com.example.backend.enums.MatchingMode;
+import com.example.backend.enums.RecommendationKind;
+import com.example.backend.enums.SimilarityMetric;
+import com.example.backend.exceptions.BadRequestException;
+import com.example.backend.exceptions.ForbiddenException;
 import com.example.backend.exceptions.ResourceNotFoundException;
+import com.example.backend.mappers.ProfileMapper;
 import com.example.backend.models.Profile;
-import com.example.backend.models.Skill;
+import com.example.backend.models.ProfileRecommendation;
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.repositories.ProfileRecommendationRepository;
 import com.example.backend.repositories.ProfileRepository;
-import com.example.backend.specifications.ProfileSpecifications;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.repositories.SkillDefinitionRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class MatchingService {
+    static final int MIN_SHARED_SKILLS = 3;
+    static final int MAX_PAGE_SIZE = 50;
+
     private final ProfileRepository profileRepository;
-    private final ModelMapper modelMapper;
+    private final SkillDefinitionRepository skillDefinitionRepository;
+    private final SkillIndex skillIndex;
+    private final SimilarityMetric similarityMetric;
+    private final MatchingMode matchingMode;
+    private final ProfileRecommendationRepository recommendationRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectIndex projectIndex;
+    private final ProfileSearchIndex profileSearchIndex;
+    private final int materializedTopN;
 
-    public List<ProfileDto> findSimilarProfiles(@NonNull UUID profileId) {
-        List<String> userSkills = getSkills(profileId);
+    public MatchingService(ProfileRepository profileRepository,
+            SkillDefinitionRepository skillDefinitionRepository,
+            SkillIndex skillIndex,
+            ProfileRecommendationRepository recommendationRepository,
+            ProjectRepository projectRepository,
+            ProjectIndex projectIndex,
+            ProfileSearchIndex profileSearchIndex,
+            @Value("${app.matching.similarity-metric:COSINE}") SimilarityMetric similarityMetric,
+            @Value("${app.matching.mode:EXACT}") MatchingMode matchingMode,
+            @Value("${app.matching.materialize.top-n:100}") int materializedTopN) {
+        this.profileRepository = profileRepository;
+        this.skillDefinitionRepository = skillDefinitionRepository;
+        this.skillIndex = skillIndex;
+        this.recommendationRepository = recommendationRepository;
+        this.projectRepository = projectRepository;
+        this.projectIndex = projectIndex;
+        this.profileSearchIndex = profileSearchIndex;
+        this.similarityMetric = similarityMetric;
+        this.matchingMode = matchingMode;
+        this.materializedTopN = materializedTopN;
+    }
 
-        return profileRepository.findProfilesWithMatchingSkills(
-                userSkills,
-                profileId).stream()
-                .map(this::convertToDto)
+    public MatchPageDto<MatchDto> findSimilarProfiles(@NonNull UUID profileId, String cursor, int size) {
+        int limit = pageSize(size);
+        SkillIndex.Match after = decodeCursor(cursor);
+        List<SkillIndex.Match> matches = materialized(profileId, RecommendationKind.SIMILAR, limit + 1, after);
+        if (matches == null) {
+            matches = rankSimilar(profileId, limit + 1, after);
+        }
+        return toPage(skillIndex.skillsOf(profileId), matches, limit, MatchingService::shared);
+    }
+
+    public MatchPageDto<MatchDto> findComplementaryProfiles(@NonNull UUID profileId, String cursor, int size) {
+        int limit = pageSize(size);
+        SkillIndex.Match after = decodeCursor(cursor);
+        List<SkillIndex.Match> matches = materialized(profileId, RecommendationKind.COMPLEMENTARY, limit + 1, after);
+        if (matches == null) {
+            matches = rankComplementary(profileId, limit + 1, after);
+        }
+        return toPage(skillIndex.skillsOf(profileId), matches, limit, MatchingService::missing);
+    }
+
+    /** Live similar-profile ranking with the configured metric and mode. */
+    public List<SkillIndex.Match> rankSimilar(UUID profileId, int limit, SkillIndex.Match after) {
+        return matchingMode == MatchingMode.APPROXIMATE
+                ? skillIndex.findSimilarApproximate(profileId, similarityMetric, MIN_SHARED_SKILLS, limit, after)
+                : skillIndex.findSimilar(profileId, similarityMetric, MIN_SHARED_SKILLS, limit, after);
+    }
+
+    public List<SkillIndex.Match> rankComplementary(UUID profileId, int limit, SkillIndex.Match after) {
+        return skillIndex.findComplementary(profileId, 1, limit, after);
+    }
+
+    /**
+     * Reads the page from the materialized ranking, or returns null when the
+     * profile has not been materialized yet or the page runs past the stored
+     * top-N, in which case the caller ranks live.
+     */
+    private List<SkillIndex.Match> materialized(UUID profileId, RecommendationKind kind, int limit,
+            SkillIndex.Match after) {
+        List<ProfileRecommendation> rows = recommendationRepository.findByProfileIdAndKindOrderByRankAsc(profileId,
+                kind);
+        if (rows.isEmpty() && profileRepository.findRecommendationsComputedAt(profileId).isEmpty()) {
+            return null;
+        }
+        List<SkillIndex.Match> page = rows.stream()
+                .map(row -> new SkillIndex.Match(row.getCandidateId(), row.getScore()))
+                .filter(match -> after == null || SkillIndex.RANKING.compare(match, after) > 0)
+                .limit(limit)
                 .toList();
+        return page.size() < limit && rows.size() >= materializedTopN ? null : page;
     }
 
-    public List<ProfileDto> findComplementaryProfiles(@NonNull UUID profileId) {
-        List<String> userSkills = getSkills(profileId);
+    /**
+     * Active projects whose technologies the profile's skills cover best,
+     * excluding its own projects and those it already belongs to.
+     */
+    public MatchPageDto<ProjectMatchDto> findProjectsForProfile(@NonNull UUID profileId, String cursor, int size) {
+        int limit = pageSize(size);
+        SkillIndex.Match cursorMatch = decodeCursor(cursor);
+        ProjectIndex.ProjectMatch after = cursorMatch == null ? null
+                : new ProjectIndex.ProjectMatch(cursorMatch.profileId(), cursorMatch.score());
+        SkillIndex.SkillVector skills = skillIndex.vectorOf(profileId);
+        Set<UUID> joined = new HashSet<>(projectRepository.findProjectIdsByMember(profileId));
+        List<ProjectIndex.ProjectMatch> matches = projectIndex.findProjectsFor(profileId, skills, joined, limit + 1,
+                after);
 
-        return profileRepository.findProfilesWithComplementarySkills(
-                userSkills,
-                profileId).stream()
-                .map(this::convertToDto)
+        boolean hasMore = matches.size() > limit;
+        List<ProjectIndex.ProjectMatch> page = hasMore ? matches.subList(0, limit) : matches;
+        if (page.isEmpty()) {
+            return new MatchPageDto<>(List.of(), null);
+        }
+        Map<UUID, ProjectRepository.ProjectMatchSummary> summaries = projectRepository
+                .findMatchSummaries(page.stream().map(ProjectIndex.ProjectMatch::projectId).toList()).stream()
+                .collect(Collectors.toMap(ProjectRepository.ProjectMatchSummary::getId, s -> s));
+
+        List<ProjectMatchDto> items = page.stream()
+                .filter(match -> summaries.containsKey(match.projectId()))
+                .map(match -> toDto(summaries.get(match.projectId()), match.score(),
+                        matchedTechnologies(projectIndex.projectOf(match.projectId()), skills.ids())))
                 .toList();
+        ProjectIndex.ProjectMatch last = page.get(page.size() - 1);
+        String nextCursor = hasMore ? encodeCursor(new SkillIndex.Match(last.projectId(), last.score())) : null;
+        return new MatchPageDto<>(items, nextCursor);
+    }
+
+    /**
+     * Profiles open for team invites whose skills cover the project's
+     * technologies best, excluding the owner and current team members. Only
+     * the project owner may ask.
+     */
+    public MatchPageDto<MatchDto> findProjectCandidates(@NonNull UUID projectId, @NonNull UUID requesterId,
+            String cursor, int size) {
+        int limit = pageSize(size);
+        SkillIndex.Match after = decodeCursor(cursor);
+        List<Object[]> owners = projectRepository.findOwnerIds(List.of(projectId));
+        if (owners.isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        if (!requesterId.equals(owners.get(0)[1])) {
+            throw new ForbiddenException("Only the project owner can list candidates");
+        }
+        ProjectIndex.ProjectEntry project = projectIndex.projectOf(projectId);
+        if (project == null || project.definitionIds().length == 0) {
+            return new MatchPageDto<>(List.of(), null);
+        }
+
+        Set<UUID> members = projectRepository.findTeamMemberIds(List.of(projectId)).stream()
+                .map(row -> (UUID) row[1])
+                .collect(Collectors.toSet());
+        List<SkillIndex.Match> matches = skillIndex.findCovering(project.definitionIds(), limit + 1, after,
+                candidate -> !candidate.equals(project.ownerId()) && !members.contains(candidate)
+                        && projectIndex.acceptsInvite(candidate, project.category()));
+        return toPage(project.definitionIds(), matches, limit, MatchingService::shared);
+    }
+
+    private static List<String> matchedTechnologies(ProjectIndex.ProjectEntry project, long[] skills) {
+        if (project == null) {
+            return List.of();
+        }
+        List<String> matched = new ArrayList<>();
+        long[] ids = project.definitionIds();
+        for (int i = 0; i < ids.length; i++) {
+            if (Arrays.binarySearch(skills, ids[i]) >= 0) {
+                matched.add(project.technologyNames()[i]);
+            }
+        }
+        matched.sort(String.CASE_INSENSITIVE_ORDER);
+        return matched;
     }
 
     // 3. Filterable search
+    // Served by ProfileSearchIndex: ranked by relevance (or skill coverage), so the pageable's sort is not used
     public Page<ProfileDto> searchProfiles(@NonNull ProfileSearchCriteria criteria, @NonNull Pageable pageable) {
-        Page<Profile> profiles = profileRepository.findAll(ProfileSpecifications.withCriteria(criteria), pageable);
-        return profiles.map(this::convertToDto);
+        ProfileSearchIndex.Query query = new ProfileSearchIndex.Query(criteria.getQuery(), criteria.getSkills(),
+                criteria.getMinProficiency(), criteria.getMinSharedSkills(), criteria.getEducation(),
+                criteria.getLocation());
+        ProfileSearchIndex.SearchPage hits = pageable.isPaged()
+                ? profileSearchIndex.search(query, (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE),
+                        pageable.getPageSize())
+                : profileSearchIndex.search(query, 0, Integer.MAX_VALUE);
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        Map<UUID, Profile> byId = profileRepository.findByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(Profile::getId, profile -> profile));
+        // A profile deleted since it was indexed is simply left out of the page
+        List<ProfileDto> profiles = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDto)
+                .toList();
+        return new PageImpl<>(profiles, pageable, hits.total());
     }
 
-    private List<String> getSkills(@NonNull UUID profileId) {
-        Profile profile = profileRepository.findById(profileId)
-                .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
+    /**
+     * Builds one page from up to {@code limit + 1} ranked matches; the extra
+     * match only signals that another page exists. Two queries load the card
+     * fields and skill names for the page, however large the candidate pool.
+     * {@code own} is the sorted definition ids the matched skills are
+     * derived against.
+     */
+    private MatchPageDto<MatchDto> toPage(long[] own, List<SkillIndex.Match> matches, int limit,
+            BiFunction<long[], long[], long[]> matchedSkills) {
+        boolean hasMore = matches.size() > limit;
+        List<SkillIndex.Match> page = hasMore ? matches.subList(0, limit) : matches;
+        if (page.isEmpty()) {
+            return new MatchPageDto<>(List.of(), null);
+        }
+
+        Map<UUID, long[]> matchedIds = new HashMap<>();
+        Set<Long> definitionIds = new TreeSet<>();
+        for (SkillIndex.Match match : page) {
+            long[] ids = matchedSkills.apply(own, skillIndex.skillsOf(match.profileId()));
+            matchedIds.put(match.profileId(), ids);
+            Arrays.stream(ids).forEach(definitionIds::add);
+        }
 
-        return profile.getSkills().stream()
-                .map(Skill::getName)
+        Map<Long, String> names = skillDefinitionRepository.findAllById(definitionIds).stream()
+                .collect(Collectors.toMap(SkillDefinition::getId, SkillDefinition::getName));
+        Map<UUID, ProfileRepository.MatchSummary> summaries = profileRepository
+                .findMatchSummaries(matchedIds.keySet()).stream()
+                .collect(Collectors.toMap(ProfileRepository.MatchSummary::getId, s -> s));
+
+        List<MatchDto> items = page.stream()
+                .filter(match -> summaries.containsKey(match.profileId()))
+                .map(match -> toDto(summaries.get(match.profileId()), match.score(),
+                        Arrays.stream(matchedIds.get(match.profileId()))
+                                .mapToObj(names::get)
+                                .filter(Objects::nonNull)
+                                .sorted(String.CASE_INSENSITIVE_ORDER)
+                                .toList()))
                 .toList();
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new MatchPageDto<>(items, nextCursor);
+    }
+
+    private static MatchDto toDto(ProfileRepository.MatchSummary summary, double score, List<String> matchedSkills) {
+        return MatchDto.builder()
+                .id(summary.getId())
+                .username(summary.getUsername())
+                .firstname(summary.getFirstname())
+                .lastname(summary.getLastname())
+                .location(summary.getLocation())
+                .profilePictureUrl(summary.getProfilePictureUrl())
+                .score(score)
+                .matchedSkills(matchedSkills)
+                .build();
+    }
+
+    private static ProjectMatchDto toDto(ProjectRepository.ProjectMatchSummary summary, double score,
+            List<String> matchedTechnologies) {
+        return ProjectMatchDto.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .category(summary.getCategory())
+                .level(summary.getLevel())
+                .teamSize(summary.getTeamSize())
+                .score(score)
+                .matchedTechnologies(matchedTechnologies)
+                .build();
+    }
+
+    private static long[] shared(long[] own, long[] theirs) {
+        return Arrays.stream(theirs).filter(id -> Arrays.binarySearch(own, id) >= 0).toArray();
+    }
+
+    private static long[] missing(long[] own, long[] theirs) {
+        return Arrays.stream(theirs).filter(id -> Arrays.binarySearch(own, id) < 0).toArray();
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // The cursor is the last match of the previous page: "<score>:<profileId>", base64url encoded
+    static String encodeCursor(SkillIndex.Match last) {
+        String raw = last.score() + ":" + last.profileId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SkillIndex.Match decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new SkillIndex.Match(UUID.fromString(raw.substring(separator + 1)),
+                    Double.parseDouble(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
     }
 
     private ProfileDto convertToDto(Profile profile) {
-        return modelMapper.map(profile, ProfileDto.class);
+        return ProfileMapper.toDto(profile);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.example.backend.services;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Locality-sensitive hashing over MinHash signatures of skill sets. Each
+ * profile's signature is cut into {@code bands} bands of {@code rows} values;
+ * two profiles become candidates when any band hashes identically, which
+ * happens with probability {@code 1 - (1 - J^rows)^bands} for Jaccard
+ * similarity J. A lookup touches one bucket per band instead of every
+ * profile. Not thread-safe; {@link SkillIndex} guards access.
+ */
+public class MinHashLsh {
+
+    private static final long[] NO_KEYS = new long[0];
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+    private final Map<Long, RoaringBitmap> buckets = new HashMap<>();
+    // Band keys currently held by each ordinal, so an update can leave its old buckets
+    private long[][] keysByOrdinal = new long[1024][];
+
+    public MinHashLsh(int bands, int rows, long seed) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new SplittableRandom(seed).longs(bands * rows).toArray();
+    }
+
+    /** Re-hashes the profile after its skill set changed; an empty set removes it. */
+    public void update(int ordinal, long[] definitionIds) {
+        if (ordinal >= keysByOrdinal.length) {
+            keysByOrdinal = Arrays.copyOf(keysByOrdinal, Math.max(ordinal + 1, keysByOrdinal.length * 2));
+        }
+        for (long key : keysOf(ordinal)) {
+            RoaringBitmap bucket = buckets.get(key);
+            bucket.remove(ordinal);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+        if (definitionIds.length == 0) {
+            keysByOrdinal[ordinal] = null;
+            return;
+        }
+        long[] keys = bandKeys(signature(definitionIds));
+        for (long key : keys) {
+            buckets.computeIfAbsent(key, k -> new RoaringBitmap()).add(ordinal);
+        }
+        keysByOrdinal[ordinal] = keys;
+    }
+
+    /** Ordinals sharing at least one band with the given one, excluding itself. */
+    public RoaringBitmap candidates(int ordinal) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (long key : keysOf(ordinal)) {
+            result.or(buckets.get(key));
+        }
+        result.remove(ordinal);
+        return result;
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    long[] signature(long[] definitionIds) {
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long id : definitionIds) {
+            for (int i = 0; i < seeds.length; i++) {
+                long h = mix(id ^ seeds[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private long[] bandKeys(long[] signature) {
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long h = band;
+            for (int row = 0; row < rows; row++) {
+                h = mix(h * 31 + signature[band * rows + row]);
+            }
+            keys[band] = h;
+        }
+        return keys;
+    }
+
+    private long[] keysOf(int ordinal) {
+        long[] keys = ordinal < keysByOrdinal.length ? keysByOrdinal[ordinal] : null;
+        return keys != null ? keys : NO_KEYS;
+    }
+
+    // SplitMix64 finaliser: cheap and well distributed
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
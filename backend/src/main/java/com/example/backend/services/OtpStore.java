@@ -0,0 +1,30 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.TokenType;
+import org.springframework.lang.NonNull;
+
+/**
+ * Storage for one-time passcodes. Each (email, token type) pair has at most one
+ * live code; issuing a new one replaces the previous code. Wrong guesses are
+ * counted per pair rather than per code: a new code issued while the previous
+ * one is still within its lifetime inherits its count, so requesting codes
+ * does not buy more guesses, and only a consumed code resets it. A code stops
+ * matching once it expires, is consumed, or the pair has seen too many wrong
+ * guesses.
+ */
+public interface OtpStore {
+
+    void save(@NonNull String email, @NonNull TokenType type, @NonNull String otp);
+
+    /**
+     * Checks {@code otp} against the live code for the pair. A wrong guess
+     * counts against the attempt limit; a correct one is marked used when
+     * {@code consume} is set, so it can only succeed once.
+     */
+    boolean verify(@NonNull String email, @NonNull TokenType type, @NonNull String otp, boolean consume);
+
+    /**
+     * Drops expired and used codes.
+     */
+    void purgeExpired();
+}
@@ -0,0 +1,147 @@
+package com.example.backend.services;
+
+import com.example.backend.exceptions.ServiceUnavailableException;
+import com.example.backend.models.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small bounded pool so bursts of logins cannot starve the
+ * servlet threads. When the queue is full, callers fail fast with a 503
+ * instead of waiting.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
+    private final ThreadPoolExecutor hashingExecutor;
+    // Results are handed back on the application executor so follow-up work
+    // (DB writes, JWT creation) never occupies a hashing thread
+    private final Executor callbackExecutor;
+
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            UserService userService,
+            @Qualifier("applicationTaskExecutor") Executor callbackExecutor,
+            @Value("${app.security.hashing.threads:4}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.userService = userService;
+        this.callbackExecutor = callbackExecutor;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Re-encodes the password with the current cost if the stored hash was
+     * produced with an older one. Best effort: skipped when the pool is busy,
+     * and dropped if the password changed while the new hash was computed.
+     */
+    public void rehashIfNeeded(User user, String rawPassword) {
+        String current = user.getPassword();
+        if (!needsRehash(current)) {
+            return;
+        }
+        try {
+            encode(rawPassword)
+                    .thenAccept(encoded -> {
+                        if (userService.replacePassword(user, current, encoded)) {
+                            log.info("Rehashed password for user: {}", user.getUsername());
+                        } else {
+                            log.debug("Skipping rehash for user {}: password changed meanwhile", user.getUsername());
+                        }
+                    })
+                    .exceptionally(ex -> {
+                        log.warn("Could not rehash password for user: {}", user.getUsername());
+                        return null;
+                    });
+        } catch (ServiceUnavailableException e) {
+            log.debug("Skipping rehash for user {}: hashing pool is busy", user.getUsername());
+        }
+    }
+
+    public int getQueueDepth() {
+        return hashingExecutor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return hashingExecutor.getActiveCount();
+    }
+
+    public long getHashCount() {
+        return hashCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public double getAverageHashMillis() {
+        long count = hashCount.sum();
+        return count == 0 ? 0 : hashNanos.sum() / (count * 1_000_000.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timed(task), hashingExecutor)
+                    .thenApplyAsync(Function.identity(), callbackExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new ServiceUnavailableException("Too many authentication requests, please retry shortly");
+        }
+    }
+
+    private <T> T timed(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            hashNanos.add(System.nanoTime() - start);
+            hashCount.increment();
+        }
+    }
+}
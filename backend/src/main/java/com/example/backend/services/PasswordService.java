@@ -1,16 +1,13 @@
 package com.example.backend.services;
 
 import com.example.backend.enums.TokenType;
-import com.example.backend.models.PasswordToken;
 import com.example.backend.models.User;
-import com.example.backend.repositories.PasswordTokenRepository;
 import com.example.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Objects;
@@ -19,7 +16,7 @@ import org.springframework.lang.NonNull;
 @Service
 @RequiredArgsConstructor
 public class PasswordService {
-    private final PasswordTokenRepository tokenRepo;
+    private final OtpStore otpStore;
     private final UserRepository userRepo;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
@@ -27,39 +24,19 @@ public class PasswordService {
 
     public void generateResetOtp(@NonNull String email) {
         String otp = String.valueOf(random.nextInt(899999) + 100000);
-        PasswordToken token = new PasswordToken(
-                null,
-                email,
-                otp,
-                LocalDateTime.now().plusMinutes(10),
-                false,
-                TokenType.PASSWORD_RESET);
-        tokenRepo.save(token);
+        otpStore.save(email, TokenType.PASSWORD_RESET, otp);
         // Send OTP via email
         emailService.sendOtpEmail(email, Objects.requireNonNull(otp));
     }
 
     public void generateEmailVerificationOtp(@NonNull String email) {
         String otp = String.valueOf(random.nextInt(899999) + 100000);
-        PasswordToken token = new PasswordToken(
-                null,
-                email,
-                otp,
-                LocalDateTime.now().plusMinutes(10),
-                false,
-                TokenType.EMAIL_VERIFICATION);
-        tokenRepo.save(token);
+        otpStore.save(email, TokenType.EMAIL_VERIFICATION, otp);
         emailService.sendRegistrationOtpEmail(email, Objects.requireNonNull(otp));
     }
 
     public boolean verifyRegistrationOtp(@NonNull String email, @NonNull String otp) {
-        Optional<PasswordToken> tokenOpt = tokenRepo.findByEmailAndOtpAndUsedFalseAndTokenType(email, otp,
-                TokenType.EMAIL_VERIFICATION);
-        if (tokenOpt.isEmpty())
-            return false;
-
-        PasswordToken token = tokenOpt.get();
-        if (token.getExpiryTime().isBefore(LocalDateTime.now()))
+        if (!otpStore.verify(email, TokenType.EMAIL_VERIFICATION, otp, true))
             return false;
 
         Optional<User> userOpt = userRepo.findByEmail(email);
@@ -69,25 +46,15 @@ public class PasswordService {
         User user = userOpt.get();
         user.setVerified(true);
         userRepo.save(user);
-
-        token.setUsed(true);
-        tokenRepo.save(token);
         return true;
     }
 
     public boolean validateOtp(@NonNull String email, @NonNull String otp) {
-        return tokenRepo.findByEmailAndOtpAndUsedFalse(email, otp)
-                .filter(token -> token.getExpiryTime().isAfter(LocalDateTime.now()))
-                .isPresent();
+        return otpStore.verify(email, TokenType.PASSWORD_RESET, otp, false);
     }
 
     public boolean resetPassword(@NonNull String email, @NonNull String otp, @NonNull String newPassword) {
-        Optional<PasswordToken> tokenOpt = tokenRepo.findByEmailAndOtpAndUsedFalse(email, otp);
-        if (tokenOpt.isEmpty())
-            return false;
-
-        PasswordToken token = tokenOpt.get();
-        if (token.getExpiryTime().isBefore(LocalDateTime.now()))
+        if (!otpStore.verify(email, TokenType.PASSWORD_RESET, otp, true))
             return false;
 
         Optional<User> userOpt = userRepo.findByEmail(email);
@@ -97,9 +64,6 @@ public class PasswordService {
         User user = userOpt.get();
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepo.save(user);
-
-        token.setUsed(true);
-        tokenRepo.save(token);
         return true;
     }
 }
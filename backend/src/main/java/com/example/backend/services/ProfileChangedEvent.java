@@ -0,0 +1,9 @@
+package com.example.backend.services;
+
+import java.util.UUID;
+
+/**
+ * A profile was created, deleted or its bio, education or location saved.
+ */
+public record ProfileChangedEvent(UUID profileId) {
+}
@@ -0,0 +1,11 @@
+package com.example.backend.services;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A profile's team-invite or project-interest settings were saved.
+ */
+public record ProfilePreferencesChangedEvent(UUID profileId, boolean openForTeamInvites,
+        List<String> projectInterests) {
+}
@@ -0,0 +1,355 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.Proficiency;
+import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.utils.Bm25;
+import com.example.backend.utils.TextAnalyzer;
+import com.example.backend.utils.TopK;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index behind {@code /api/matching/search}: an inverted index over
+ * each profile's bio, education, location and skill names, analyzed with
+ * {@link TextAnalyzer} and ranked with field-weighted {@link Bm25} like
+ * {@link ProjectSearchIndex}, plus bitmaps of profiles per skill definition
+ * and proficiency for skill-set filters. Education and location filters
+ * match whole words (or word prefixes) of their own field instead of
+ * substrings. Each profile is one document, so results never repeat. Loaded
+ * at startup and kept current through {@link ProfileChangedEvent}s and
+ * {@link SkillChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class ProfileSearchIndex {
+
+    public record SearchPage(List<UUID> ids, long total) {
+    }
+
+    /**
+     * A search; null or blank fields do not filter. Profiles must have at
+     * least {@code minSharedSkills} (default one) of the named skills at
+     * {@code minProficiency} or above, and every word of {@code education}
+     * and {@code location} in that field.
+     */
+    public record Query(String text, Collection<String> skills, Proficiency minProficiency, Integer minSharedSkills,
+            String education, String location) {
+    }
+
+    record Hit(UUID profileId, double score) {
+    }
+
+    /** Ranked free-text matches beyond this are dropped; nobody pages that far into a search. */
+    static final int MAX_RESULTS = 1000;
+
+    static final float SKILL_WEIGHT = 2f;
+    static final float EDUCATION_WEIGHT = 1.5f;
+    static final float LOCATION_WEIGHT = 1.5f;
+    static final float BIO_WEIGHT = 1f;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::profileId);
+
+    private final ProfileRepository profileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LiveIndex<State> index = new LiveIndex<>(new State(), this::rebuild);
+
+    public ProfileSearchIndex(ProfileRepository profileRepository, TransactionTemplate transactionTemplate) {
+        this.profileRepository = profileRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = profileRepository.streamSearchDocuments()) {
+                load(rows);
+            }
+        });
+    }
+
+    void load(Stream<Object[]> rows) {
+        long started = System.currentTimeMillis();
+        State loaded = index.load(() -> {
+            State state = new State();
+            documents(rows).forEach(state::put);
+            return state;
+        });
+        log.info("Profile search index loaded {} profiles and {} terms in {} ms",
+                loaded.ordinals.size(), loaded.postings.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        reindex(event.profileId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        reindex(event.profileId());
+    }
+
+    private void reindex(UUID profileId) {
+        List<Object[]> rows = transactionTemplate.execute(
+                status -> profileRepository.findSearchDocument(profileId));
+        List<Document> documents = rows == null ? List.of() : documents(rows.stream());
+        index.apply(current -> {
+            current.remove(profileId);
+            documents.forEach(current::put);
+        });
+    }
+
+    /**
+     * Profiles passing the query's filters, deduplicated and best first.
+     * With free text only profiles matching one of its words are returned,
+     * ranked by BM25, and {@code total} stops at {@link #MAX_RESULTS};
+     * without it every profile passing the filters is returned, those
+     * holding more of the named skills at higher proficiency first.
+     */
+    public SearchPage search(Query query, int offset, int limit) {
+        List<String> terms = Bm25.queryTerms(query.text());
+        boolean ranked = query.text() != null && !query.text().isBlank();
+        if (ranked && terms.isEmpty()) {
+            return new SearchPage(List.of(), 0);
+        }
+
+        return index.read(state -> {
+            RoaringBitmap allowed = state.all.clone();
+            long[] skillIds = state.definitionIds(query.skills());
+            if (query.skills() != null && !query.skills().isEmpty()) {
+                RoaringBitmap[] holders = new RoaringBitmap[skillIds.length];
+                for (int i = 0; i < skillIds.length; i++) {
+                    holders[i] = state.holders(skillIds[i], query.minProficiency());
+                }
+                int required = query.minSharedSkills() == null ? 1 : Math.max(1, query.minSharedSkills());
+                allowed.and(required > holders.length ? new RoaringBitmap()
+                        : SkillIndex.atLeast(holders, required));
+            }
+            allowed.and(state.containingAll(state.education, query.education()));
+            allowed.and(state.containingAll(state.location, query.location()));
+
+            Map<Integer, Double> scores = ranked
+                    ? Bm25.score(terms, state.postings, allowed, state.documents::get, state.ordinals.size(),
+                            state.totalLength)
+                    : state.skillScores(skillIds, query.minProficiency(), allowed);
+            int cap = ranked ? MAX_RESULTS : Integer.MAX_VALUE;
+            long total = Math.min(scores.size(), cap);
+            int keep = (int) Math.min(total, (long) Math.max(0, offset) + Math.max(0, limit));
+            if (keep <= Math.max(0, offset)) {
+                return new SearchPage(List.of(), total);
+            }
+
+            TopK<Hit> top = new TopK<>(keep, RANKING);
+            scores.forEach((ordinal, score) -> top.offer(new Hit(state.documents.get(ordinal).id(), score)));
+            List<UUID> ids = top.toSortedList().stream()
+                    .skip(Math.max(0, offset))
+                    .map(Hit::profileId)
+                    .toList();
+            return new SearchPage(ids, total);
+        });
+    }
+
+    /**
+     * Groups (profile id, bio, education, location, definition id,
+     * normalized name, definition name, proficiency) rows into documents.
+     */
+    private static List<Document> documents(Stream<Object[]> rows) {
+        record Draft(Object[] row, Map<Long, Proficiency> skills, Map<Long, String> names,
+                Map<String, Long> normalized) {
+        }
+        Map<UUID, Draft> drafts = new LinkedHashMap<>();
+        rows.forEach(row -> {
+            Draft draft = drafts.computeIfAbsent((UUID) row[0],
+                    id -> new Draft(row, new LinkedHashMap<>(), new LinkedHashMap<>(), new HashMap<>()));
+            if (row[4] != null) {
+                draft.skills().put((Long) row[4], (Proficiency) row[7]);
+                draft.names().put((Long) row[4], (String) row[6]);
+                draft.normalized().put((String) row[5], (Long) row[4]);
+            }
+        });
+
+        List<Document> documents = new ArrayList<>(drafts.size());
+        drafts.forEach((id, draft) -> {
+            Object[] row = draft.row();
+            Map<String, Float> weights = new HashMap<>();
+            Bm25.addField(weights, (String) row[1], BIO_WEIGHT);
+            Bm25.addField(weights, (String) row[2], EDUCATION_WEIGHT);
+            Bm25.addField(weights, (String) row[3], LOCATION_WEIGHT);
+            draft.names().values().forEach(name -> Bm25.addField(weights, name, SKILL_WEIGHT));
+            documents.add(new Document(id, weights, Bm25.length(weights),
+                    Set.copyOf(TextAnalyzer.terms((String) row[2])), Set.copyOf(TextAnalyzer.terms((String) row[3])),
+                    draft.skills(), draft.normalized()));
+        });
+        return documents;
+    }
+
+    /**
+     * An indexed profile; {@code weights} holds each term's field-weighted
+     * frequency and {@code length} their sum. {@code definitionIds} maps the
+     * normalized names of its skills to their definitions.
+     */
+    private record Document(UUID id, Map<String, Float> weights, float length, Set<String> educationTerms,
+            Set<String> locationTerms, Map<Long, Proficiency> skills, Map<String, Long> definitionIds)
+            implements Bm25.Document {
+    }
+
+    /** Postings, skill bitmaps and documents; replaced wholesale on rebuild. */
+    private static final class State {
+        // Indexed by ordinal; removed profiles leave a null slot that no bitmap references
+        // until put reuses it, so the list stays as long as the most documents held at once
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final RoaringBitmap all = new RoaringBitmap();
+        // Sorted so that prefixes expand with a range scan
+        private final TreeMap<String, RoaringBitmap> postings = new TreeMap<>();
+        private final TreeMap<String, RoaringBitmap> education = new TreeMap<>();
+        private final TreeMap<String, RoaringBitmap> location = new TreeMap<>();
+        // Holders of each definition, one bitmap per proficiency
+        private final Map<Long, RoaringBitmap[]> skills = new HashMap<>();
+        // Definitions are never renamed, so names only ever gain entries
+        private final Map<String, Long> definitionIds = new HashMap<>();
+        private double totalLength;
+
+        void put(Document document) {
+            remove(document.id());
+            // The lowest free slot; documents.size() when there is none
+            int ordinal = (int) all.nextAbsentValue(0);
+            if (ordinal == documents.size()) {
+                documents.add(document);
+            } else {
+                documents.set(ordinal, document);
+            }
+            ordinals.put(document.id(), ordinal);
+            all.add(ordinal);
+            totalLength += document.length();
+            document.weights().keySet().forEach(term -> add(postings, term, ordinal));
+            document.educationTerms().forEach(term -> add(education, term, ordinal));
+            document.locationTerms().forEach(term -> add(location, term, ordinal));
+            document.skills().forEach((id, proficiency) -> {
+                RoaringBitmap[] levels = skills.computeIfAbsent(id,
+                        k -> new RoaringBitmap[Proficiency.values().length]);
+                if (levels[proficiency.ordinal()] == null) {
+                    levels[proficiency.ordinal()] = new RoaringBitmap();
+                }
+                levels[proficiency.ordinal()].add(ordinal);
+            });
+            definitionIds.putAll(document.definitionIds());
+        }
+
+        void remove(UUID profileId) {
+            Integer ordinal = ordinals.remove(profileId);
+            if (ordinal == null) {
+                return;
+            }
+            Document document = documents.get(ordinal);
+            all.remove(ordinal);
+            totalLength -= document.length();
+            document.weights().keySet().forEach(term -> remove(postings, term, ordinal));
+            document.educationTerms().forEach(term -> remove(education, term, ordinal));
+            document.locationTerms().forEach(term -> remove(location, term, ordinal));
+            document.skills().forEach((id, proficiency) -> {
+                RoaringBitmap[] levels = skills.get(id);
+                levels[proficiency.ordinal()].remove(ordinal);
+                if (levels[proficiency.ordinal()].isEmpty()) {
+                    levels[proficiency.ordinal()] = null;
+                }
+            });
+            documents.set(ordinal, null);
+        }
+
+        private static void add(Map<String, RoaringBitmap> bitmaps, String term, int ordinal) {
+            bitmaps.computeIfAbsent(term, t -> new RoaringBitmap()).add(ordinal);
+        }
+
+        private static void remove(Map<String, RoaringBitmap> bitmaps, String term, int ordinal) {
+            RoaringBitmap bitmap = bitmaps.get(term);
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(term);
+            }
+        }
+
+        /** Definition ids of the named skills; names no profile has are skipped. */
+        long[] definitionIds(Collection<String> names) {
+            if (names == null) {
+                return new long[0];
+            }
+            return names.stream()
+                    .filter(name -> name != null && !name.isBlank())
+                    .map(name -> definitionIds.get(SkillDefinitionResolver.normalize(name)))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+        }
+
+        /** Profiles holding the definition at the proficiency or above (any proficiency when null). */
+        RoaringBitmap holders(long definitionId, Proficiency minProficiency) {
+            RoaringBitmap result = new RoaringBitmap();
+            RoaringBitmap[] levels = skills.get(definitionId);
+            if (levels == null) {
+                return result;
+            }
+            int from = minProficiency == null ? 0 : minProficiency.ordinal();
+            for (int level = from; level < levels.length; level++) {
+                if (levels[level] != null) {
+                    result.or(levels[level]);
+                }
+            }
+            return result;
+        }
+
+        /** Profiles whose field has every word of the filter (all profiles for a blank filter). */
+        RoaringBitmap containingAll(TreeMap<String, RoaringBitmap> field, String filter) {
+            if (filter == null || filter.isBlank()) {
+                return all;
+            }
+            List<String> terms = TextAnalyzer.terms(filter);
+            if (terms.isEmpty()) {
+                return all;
+            }
+            RoaringBitmap result = all.clone();
+            for (String term : terms) {
+                RoaringBitmap matching = new RoaringBitmap();
+                Bm25.expand(field, term).forEach(expanded -> matching.or(field.get(expanded)));
+                result.and(matching);
+            }
+            return result;
+        }
+
+        /** Every allowed profile, scored by the proficiency weights of the named skills it holds. */
+        Map<Integer, Double> skillScores(long[] skillIds, Proficiency minProficiency, RoaringBitmap allowed) {
+            Map<Integer, Double> scores = new HashMap<>();
+            allowed.forEach((int ordinal) -> {
+                Map<Long, Proficiency> held = documents.get(ordinal).skills();
+                double score = 0;
+                for (long id : skillIds) {
+                    Proficiency proficiency = held.get(id);
+                    if (proficiency != null && (minProficiency == null || proficiency.compareTo(minProficiency) >= 0)) {
+                        score += proficiency.getWeight();
+                    }
+                }
+                scores.put(ordinal, score);
+            });
+            return scores;
+        }
+    }
+}
@@ -3,16 +3,17 @@ package com.example.backend.services;
 import com.example.backend.dto.ProfileDto;
 import com.example.backend.dto.ProfileUpdateDto;
 import com.example.backend.exceptions.PdfExportException;
-import com.example.backend.exceptions.UserNotFoundException;
 import com.example.backend.exceptions.ResourceNotFoundException;
+import com.example.backend.mappers.ProfileMapper;
 import com.example.backend.models.Profile;
 import com.example.backend.models.User;
 import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.security.CurrentProfileContext;
 import com.itextpdf.text.Document;
 import com.itextpdf.text.Paragraph;
 import com.itextpdf.text.pdf.PdfWriter;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,8 +30,8 @@ import java.util.stream.Collectors;
 public class ProfileService {
 
     private final ProfileRepository profileRepository;
-    private final UserService userService;
-    private final ModelMapper modelMapper;
+    private final CurrentProfileContext currentProfileContext;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Profile createEmptyProfile(User user) {
         Objects.requireNonNull(user, "User cannot be null");
@@ -44,15 +45,33 @@ public class ProfileService {
                 .build();
     }
 
+    /** Saves an empty profile for a newly registered user. */
+    public Profile createProfile(User user) {
+        Profile profile = saveProfile(createEmptyProfile(user));
+        eventPublisher.publishEvent(new ProfileChangedEvent(profile.getId()));
+        return profile;
+    }
+
+    /**
+     * Announces that the profile is being deleted with its user, so every
+     * index drops its skills, projects and preferences once the delete commits.
+     */
+    public void publishDeletion(Profile profile) {
+        UUID profileId = profile.getId();
+        profile.getSkills().forEach(skill -> eventPublisher.publishEvent(
+                new SkillChangedEvent(profileId, skill.getDefinition().getId(), null, null)));
+        profile.getCreatedProjects().forEach(
+                project -> eventPublisher.publishEvent(new ProjectChangedEvent(project.getId())));
+        eventPublisher.publishEvent(new ProfileChangedEvent(profileId));
+    }
+
     public Profile saveProfile(Profile profile) {
         Objects.requireNonNull(profile, "Profile cannot be null");
         return profileRepository.save(profile);
     }
 
     public Profile getCurrentUserProfile() {
-        User user = userService.getCurrentUser();
-        return profileRepository.findByUser(user)
-                .orElseThrow(() -> new UserNotFoundException("Profile not found for user: " + user.getUsername()));
+        return currentProfileContext.getProfile();
     }
 
     public ProfileDto getCurrentUserProfileDto() {
@@ -85,40 +104,17 @@ public class ProfileService {
         profile.calculateCompletion(); // Optional: test impact of this
 
         profile = profileRepository.save(profile);
+        eventPublisher.publishEvent(new ProfileChangedEvent(profile.getId()));
+        if (updateDto.getOpenForTeamInvites() != null || updateDto.getProjectInterests() != null) {
+            eventPublisher.publishEvent(new ProfilePreferencesChangedEvent(profile.getId(),
+                    profile.isOpenForTeamInvites(), new ArrayList<>(profile.getProjectInterests())));
+        }
 
         return convertToDto(profile);
     }
 
     public ProfileDto convertToDto(Profile profile) {
-        ProfileDto dto = modelMapper.map(profile, ProfileDto.class);
-        if (profile.getUser() != null) {
-            dto.setUsername(profile.getUser().getUsername());
-            dto.setEmail(profile.getUser().getEmail());
-        }
-
-        // Map settings
-        dto.setNotificationsEnabled(profile.isNotificationsEnabled());
-        dto.setEmailNotifications(profile.isEmailNotifications());
-        dto.setProjectNotifications(profile.isProjectNotifications());
-        dto.setOpenForTeamInvites(profile.isOpenForTeamInvites());
-        dto.setPreferredTeamSize(profile.getPreferredTeamSize());
-        dto.setProjectInterests(new ArrayList<>(profile.getProjectInterests()));
-
-        // Transform internal file path to public URL
-        if (profile.getProfilePictureUrl() != null && !profile.getProfilePictureUrl().isEmpty()) {
-            String path = profile.getProfilePictureUrl();
-            // If it's already a http link (e.g. from google auth later), leave it.
-            // If it's a relative path starting with profile-pictures/, convert it.
-            if (!path.startsWith("http") && path.contains("profile-pictures/")) {
-                // Extract filename
-                String filename = path.substring(path.lastIndexOf("/") + 1);
-                // Assuming standard API structure. You might want to make the base URL
-                // configurable.
-                dto.setProfilePictureUrl("/api/profile/picture/" + filename);
-            }
-        }
-
-        return dto;
+        return ProfileMapper.toDto(profile);
     }
 
     @NonNull
@@ -0,0 +1,9 @@
+package com.example.backend.services;
+
+import java.util.UUID;
+
+/**
+ * A project was created or its status, category or technologies changed.
+ */
+public record ProjectChangedEvent(UUID projectId) {
+}
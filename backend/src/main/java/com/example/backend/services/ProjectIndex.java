@@ -0,0 +1,253 @@
+package com.example.backend.services;
+
+import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.utils.TopK;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of active projects: bitmaps of project ordinals per skill
+ * definition among their technologies, plus every profile's team-invite and
+ * project-interest settings. Together with {@link SkillIndex} it ranks
+ * projects for a profile and candidates for a project without touching the
+ * database. Loaded at startup and kept current through
+ * {@link ProjectChangedEvent}s, {@link ProfilePreferencesChangedEvent}s and,
+ * for deleted profiles, {@link ProfileChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class ProjectIndex {
+
+    public record ProjectMatch(UUID projectId, double score) {
+    }
+
+    /**
+     * An active project with its technologies; {@code definitionIds} is
+     * sorted and {@code technologyNames} aligned with it.
+     */
+    public record ProjectEntry(UUID id, UUID ownerId, String category, long[] definitionIds,
+            String[] technologyNames) {
+    }
+
+    record Preferences(boolean openForTeamInvites, Set<String> interests) {
+    }
+
+    /** Highest score first; ties broken by project id so paging is stable across rebuilds. */
+    public static final Comparator<ProjectMatch> RANKING = Comparator.comparingDouble(ProjectMatch::score).reversed()
+            .thenComparing(ProjectMatch::projectId);
+
+    private final ProjectRepository projectRepository;
+    private final ProfileRepository profileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LiveIndex<State> index = new LiveIndex<>(new State(), this::rebuild);
+
+    public ProjectIndex(ProjectRepository projectRepository, ProfileRepository profileRepository,
+            TransactionTemplate transactionTemplate) {
+        this.projectRepository = projectRepository;
+        this.profileRepository = profileRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> projects = projectRepository.streamActiveProjectTechnologies();
+                    Stream<Object[]> preferences = profileRepository.streamMatchPreferences()) {
+                load(projects, preferences);
+            }
+        });
+    }
+
+    void load(Stream<Object[]> projectRows, Stream<Object[]> preferenceRows) {
+        long started = System.currentTimeMillis();
+        State loaded = index.load(() -> {
+            State state = new State();
+            entries(projectRows).forEach(state::put);
+            Map<UUID, Set<String>> interests = new HashMap<>();
+            Map<UUID, Boolean> open = new HashMap<>();
+            preferenceRows.forEach(row -> {
+                UUID profileId = (UUID) row[0];
+                open.put(profileId, (Boolean) row[1]);
+                Set<String> set = interests.computeIfAbsent(profileId, id -> new HashSet<>());
+                String interest = normalize((String) row[2]);
+                if (interest != null) {
+                    set.add(interest);
+                }
+            });
+            open.forEach((profileId, flag) -> state.preferences.put(profileId,
+                    new Preferences(flag, Set.copyOf(interests.get(profileId)))));
+            return state;
+        });
+        log.info("Project index loaded {} active projects and {} profile preferences in {} ms",
+                loaded.ordinals.size(), loaded.preferences.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        List<Object[]> rows = transactionTemplate.execute(
+                status -> projectRepository.findActiveProjectTechnologies(event.projectId()));
+        List<ProjectEntry> entries = rows == null ? List.of() : entries(rows.stream());
+        index.apply(current -> {
+            current.remove(event.projectId());
+            entries.forEach(current::put);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPreferencesChanged(ProfilePreferencesChangedEvent event) {
+        Set<String> interests = new HashSet<>();
+        if (event.projectInterests() != null) {
+            event.projectInterests().stream().map(ProjectIndex::normalize).filter(i -> i != null)
+                    .forEach(interests::add);
+        }
+        Preferences preferences = new Preferences(event.openForTeamInvites(), Set.copyOf(interests));
+        index.apply(current -> current.preferences.put(event.profileId(), preferences));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        // Saved preferences arrive as their own event; here only a deleted profile matters
+        Boolean exists = transactionTemplate.execute(status -> profileRepository.existsById(event.profileId()));
+        if (!Boolean.TRUE.equals(exists)) {
+            index.apply(current -> current.preferences.remove(event.profileId()));
+        }
+    }
+
+    /**
+     * Active projects using any of the profile's skills, scored by the share
+     * of their technologies the profile covers weighted by proficiency, best
+     * first. The profile's own projects and those in {@code excluded} are
+     * skipped, and when the profile has project interests only projects in
+     * one of those categories (or without a category) are ranked.
+     */
+    public List<ProjectMatch> findProjectsFor(UUID profileId, SkillIndex.SkillVector skills, Set<UUID> excluded,
+            int limit, ProjectMatch after) {
+        return index.read(state -> {
+            RoaringBitmap candidates = new RoaringBitmap();
+            for (long id : skills.ids()) {
+                RoaringBitmap postings = state.postings.get(id);
+                if (postings != null) {
+                    candidates.or(postings);
+                }
+            }
+
+            Preferences preferences = state.preferences.get(profileId);
+            TopK<ProjectMatch> top = new TopK<>(limit, RANKING);
+            candidates.forEach((int ordinal) -> {
+                ProjectEntry entry = state.entries.get(ordinal);
+                if (profileId.equals(entry.ownerId()) || excluded.contains(entry.id())
+                        || !interested(preferences, entry.category())) {
+                    return;
+                }
+                double covered = SkillIndex.coveredWeight(entry.definitionIds(), skills.ids(), skills.weights());
+                ProjectMatch match = new ProjectMatch(entry.id(), covered / entry.definitionIds().length);
+                if (after == null || RANKING.compare(match, after) > 0) {
+                    top.offer(match);
+                }
+            });
+            return top.toSortedList();
+        });
+    }
+
+    /** The active project, or null when it does not exist or is no longer active. */
+    public ProjectEntry projectOf(UUID projectId) {
+        return index.read(state -> {
+            Integer ordinal = state.ordinals.get(projectId);
+            return ordinal == null ? null : state.entries.get(ordinal);
+        });
+    }
+
+    /** Whether the profile is open for team invites and interested in the category. */
+    public boolean acceptsInvite(UUID profileId, String category) {
+        return index.read(state -> {
+            Preferences preferences = state.preferences.get(profileId);
+            return preferences != null && preferences.openForTeamInvites() && interested(preferences, category);
+        });
+    }
+
+    // No stated interests, or an uncategorized project, means no restriction
+    private static boolean interested(Preferences preferences, String category) {
+        return preferences == null || preferences.interests().isEmpty() || category == null
+                || preferences.interests().contains(category);
+    }
+
+    /** Groups (project id, owner id, category, definition id, definition name) rows into entries. */
+    private static List<ProjectEntry> entries(Stream<Object[]> rows) {
+        record Draft(UUID ownerId, String category, TreeMap<Long, String> technologies) {
+        }
+        Map<UUID, Draft> drafts = new LinkedHashMap<>();
+        rows.forEach(row -> {
+            Draft draft = drafts.computeIfAbsent((UUID) row[0],
+                    id -> new Draft((UUID) row[1], normalize((String) row[2]), new TreeMap<>()));
+            if (row[3] != null) {
+                draft.technologies().put((Long) row[3], (String) row[4]);
+            }
+        });
+
+        List<ProjectEntry> entries = new ArrayList<>(drafts.size());
+        drafts.forEach((id, draft) -> entries.add(new ProjectEntry(id, draft.ownerId(), draft.category(),
+                draft.technologies().keySet().stream().mapToLong(Long::longValue).toArray(),
+                draft.technologies().values().toArray(String[]::new))));
+        return entries;
+    }
+
+    // Same normalization as SkillDefinition names
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase();
+    }
+
+    /** Project postings and profile preferences; replaced wholesale on rebuild. */
+    private static final class State {
+        // Indexed by ordinal; removed projects leave a null slot that no posting references
+        private final List<ProjectEntry> entries = new ArrayList<>();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+        private final Map<UUID, Preferences> preferences = new HashMap<>();
+
+        void put(ProjectEntry entry) {
+            remove(entry.id());
+            int ordinal = entries.size();
+            entries.add(entry);
+            ordinals.put(entry.id(), ordinal);
+            for (long definitionId : entry.definitionIds()) {
+                postings.computeIfAbsent(definitionId, id -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        void remove(UUID projectId) {
+            Integer ordinal = ordinals.remove(projectId);
+            if (ordinal == null) {
+                return;
+            }
+            for (long definitionId : entries.get(ordinal).definitionIds()) {
+                RoaringBitmap bitmap = postings.get(definitionId);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    postings.remove(definitionId);
+                }
+            }
+            entries.set(ordinal, null);
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.ProjectLevel;
+import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.utils.Bm25;
+import com.example.backend.utils.TextAnalyzer;
+import com.example.backend.utils.TopK;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over project titles, descriptions, categories and
+ * technologies for {@code GET /api/projects?search=}. Text is analyzed with
+ * {@link TextAnalyzer} and matches are ranked with {@link Bm25}, with a term's
+ * occurrences weighted by the field they appear in (a title hit counts
+ * three times a description hit). Query terms of three or more characters
+ * that match nothing are expanded to indexed terms starting with them, so
+ * "kube" still finds Kubernetes projects.
+ * <p>
+ * Alongside the postings it keeps a bitmap of projects per level, category,
+ * technology and remote / open-source flag, which serve both as search
+ * filters and as the source of the listing's facet counts. Loaded at startup
+ * and kept current through {@link ProjectChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class ProjectSearchIndex {
+
+    public record SearchPage(List<UUID> ids, long total) {
+    }
+
+    /**
+     * Listing filters; null fields do not filter. {@code technologyIds}
+     * keeps projects using any of those skill definitions, and an empty
+     * list matches nothing.
+     */
+    public record Filters(ProjectLevel level, String category, Collection<Long> technologyIds, Boolean remote,
+            Boolean openSource) {
+
+        public static final Filters NONE = new Filters(null, null, null, null, null);
+    }
+
+    /**
+     * Number of projects per facet value, most frequent first (levels in
+     * declaration order). Each facet is counted under every active filter
+     * except its own, so the counts show what choosing another value would
+     * return.
+     */
+    public record Facets(Map<ProjectLevel, Long> levels, Map<String, Long> categories,
+            Map<String, Long> technologies, Map<Boolean, Long> remote, Map<Boolean, Long> openSource) {
+    }
+
+    record Hit(UUID projectId, double score) {
+    }
+
+    private record Count<K>(K key, long count) {
+    }
+
+    /** Ranked matches beyond this are dropped; nobody pages that far into a search. */
+    static final int MAX_RESULTS = 1000;
+
+    static final float TITLE_WEIGHT = 3f;
+    static final float TECHNOLOGY_WEIGHT = 2f;
+    static final float CATEGORY_WEIGHT = 1.5f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::projectId);
+
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LiveIndex<State> index = new LiveIndex<>(new State(), this::rebuild);
+
+    public ProjectSearchIndex(ProjectRepository projectRepository, TransactionTemplate transactionTemplate) {
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = projectRepository.streamSearchDocuments()) {
+                load(rows);
+            }
+        });
+    }
+
+    void load(Stream<Object[]> rows) {
+        long started = System.currentTimeMillis();
+        State loaded = index.load(() -> {
+            State state = new State();
+            documents(rows).forEach(state::put);
+            return state;
+        });
+        log.info("Project search index loaded {} projects and {} terms in {} ms",
+                loaded.ordinals.size(), loaded.postings.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        List<Object[]> rows = transactionTemplate.execute(
+                status -> projectRepository.findSearchDocument(event.projectId()));
+        List<Document> documents = rows == null ? List.of() : documents(rows.stream());
+        index.apply(current -> {
+            current.remove(event.projectId());
+            documents.forEach(current::put);
+        });
+    }
+
+    /**
+     * Projects passing the filters that match any term of the query, best
+     * first. {@code total} counts every match up to {@link #MAX_RESULTS}.
+     */
+    public SearchPage search(String query, Filters filters, int offset, int limit) {
+        List<String> terms = Bm25.queryTerms(query);
+        if (terms.isEmpty()) {
+            return new SearchPage(List.of(), 0);
+        }
+
+        return index.read(state -> {
+            Map<Integer, Double> scores = Bm25.score(terms, state.postings, state.matching(filters, null),
+                    state.documents::get, state.ordinals.size(), state.totalLength);
+            TopK<Hit> top = new TopK<>(MAX_RESULTS, RANKING);
+            scores.forEach((ordinal, score) -> top.offer(new Hit(state.documents.get(ordinal).id(), score)));
+            List<Hit> ranked = top.toSortedList();
+            List<UUID> ids = ranked.stream()
+                    .skip(Math.max(0, offset))
+                    .limit(Math.max(0, limit))
+                    .map(Hit::projectId)
+                    .toList();
+            return new SearchPage(ids, ranked.size());
+        });
+    }
+
+    /**
+     * Facet counts over the projects matching the query (all projects when
+     * it is blank) and the filters; categories and technologies are cut to
+     * the {@code maxValues} most frequent.
+     */
+    public Facets facets(String query, Filters filters, int maxValues) {
+        List<String> terms = query == null || query.isBlank() ? null : Bm25.queryTerms(query);
+
+        return index.read(state -> {
+            RoaringBitmap base = terms == null ? state.all.clone() : state.matchingAny(terms);
+            RoaringBitmap forLevels = RoaringBitmap.and(base, state.matching(filters, Facet.LEVEL));
+            RoaringBitmap forCategories = RoaringBitmap.and(base, state.matching(filters, Facet.CATEGORY));
+            RoaringBitmap forTechnologies = RoaringBitmap.and(base, state.matching(filters, Facet.TECHNOLOGY));
+            RoaringBitmap forRemote = RoaringBitmap.and(base, state.matching(filters, Facet.REMOTE));
+            RoaringBitmap forOpenSource = RoaringBitmap.and(base, state.matching(filters, Facet.OPEN_SOURCE));
+
+            Map<ProjectLevel, Long> levels = new LinkedHashMap<>();
+            for (ProjectLevel level : ProjectLevel.values()) {
+                RoaringBitmap projects = state.levels.get(level);
+                levels.put(level, projects == null ? 0L : RoaringBitmap.andCardinality(forLevels, projects));
+            }
+            Map<String, Long> categories = top(state.categories, forCategories, maxValues, state.categoryNames::get);
+            Map<String, Long> technologies = top(state.technologies, forTechnologies, maxValues,
+                    state.technologyNames::get);
+            return new Facets(levels, categories, technologies, flag(state.remote, forRemote),
+                    flag(state.openSource, forOpenSource));
+        });
+    }
+
+    /** The {@code limit} values with the most projects in {@code within}, keyed by display name. */
+    private static <K> Map<String, Long> top(Map<K, RoaringBitmap> values, RoaringBitmap within, int limit,
+            Function<K, String> name) {
+        TopK<Count<K>> top = new TopK<>(limit, Comparator.<Count<K>>comparingLong(Count::count).reversed()
+                .thenComparing(count -> name.apply(count.key())));
+        values.forEach((key, projects) -> {
+            long count = RoaringBitmap.andCardinality(within, projects);
+            if (count > 0) {
+                top.offer(new Count<>(key, count));
+            }
+        });
+        Map<String, Long> counts = new LinkedHashMap<>();
+        top.toSortedList().forEach(count -> counts.put(name.apply(count.key()), count.count()));
+        return counts;
+    }
+
+    private static Map<Boolean, Long> flag(RoaringBitmap set, RoaringBitmap within) {
+        long yes = RoaringBitmap.andCardinality(within, set);
+        Map<Boolean, Long> counts = new LinkedHashMap<>();
+        counts.put(true, yes);
+        counts.put(false, within.getLongCardinality() - yes);
+        return counts;
+    }
+
+    /**
+     * Groups (project id, title, description, category, level, remote, open
+     * source, definition id, definition name) rows into documents.
+     */
+    private static List<Document> documents(Stream<Object[]> rows) {
+        record Draft(Object[] row, TreeMap<Long, String> technologies) {
+        }
+        Map<UUID, Draft> drafts = new LinkedHashMap<>();
+        rows.forEach(row -> {
+            Draft draft = drafts.computeIfAbsent((UUID) row[0], id -> new Draft(row, new TreeMap<>()));
+            if (row[7] != null) {
+                draft.technologies().put((Long) row[7], (String) row[8]);
+            }
+        });
+
+        List<Document> documents = new ArrayList<>(drafts.size());
+        drafts.forEach((id, draft) -> {
+            Object[] row = draft.row();
+            Map<String, Float> weights = new HashMap<>();
+            Bm25.addField(weights, (String) row[1], TITLE_WEIGHT);
+            Bm25.addField(weights, (String) row[2], DESCRIPTION_WEIGHT);
+            Bm25.addField(weights, (String) row[3], CATEGORY_WEIGHT);
+            draft.technologies().values().forEach(name -> Bm25.addField(weights, name, TECHNOLOGY_WEIGHT));
+            String category = row[3] == null || ((String) row[3]).isBlank() ? null : ((String) row[3]).trim();
+            documents.add(new Document(id, (ProjectLevel) row[4], category, Boolean.TRUE.equals(row[5]),
+                    Boolean.TRUE.equals(row[6]), new LinkedHashMap<>(draft.technologies()), weights,
+                    Bm25.length(weights)));
+        });
+        return documents;
+    }
+
+    // Categories compare case-insensitively, like the database collation
+    private static String categoryKey(String category) {
+        return category.toLowerCase();
+    }
+
+    private enum Facet {
+        LEVEL, CATEGORY, TECHNOLOGY, REMOTE, OPEN_SOURCE
+    }
+
+    /**
+     * An indexed project; {@code weights} holds each term's field-weighted
+     * frequency and {@code length} their sum.
+     */
+    private record Document(UUID id, ProjectLevel level, String category, boolean remote, boolean openSource,
+            Map<Long, String> technologies, Map<String, Float> weights, float length) implements Bm25.Document {
+    }
+
+    /** Postings, facet bitmaps and documents; replaced wholesale on rebuild. */
+    private static final class State {
+        // Indexed by ordinal; removed projects leave a null slot that no bitmap references
+        // until put reuses it, so the list stays as long as the most documents held at once
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        // Sorted so that prefixes expand with a range scan
+        private final TreeMap<String, RoaringBitmap> postings = new TreeMap<>();
+        private double totalLength;
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<ProjectLevel, RoaringBitmap> levels = new EnumMap<>(ProjectLevel.class);
+        private final Map<String, RoaringBitmap> categories = new HashMap<>();
+        private final Map<Long, RoaringBitmap> technologies = new HashMap<>();
+        private final RoaringBitmap remote = new RoaringBitmap();
+        private final RoaringBitmap openSource = new RoaringBitmap();
+        // Display names; a category keeps the spelling it was first indexed with
+        private final Map<String, String> categoryNames = new HashMap<>();
+        private final Map<Long, String> technologyNames = new HashMap<>();
+
+        void put(Document document) {
+            remove(document.id());
+            // The lowest free slot; documents.size() when there is none
+            int ordinal = (int) all.nextAbsentValue(0);
+            if (ordinal == documents.size()) {
+                documents.add(document);
+            } else {
+                documents.set(ordinal, document);
+            }
+            ordinals.put(document.id(), ordinal);
+            totalLength += document.length();
+            document.weights().keySet()
+                    .forEach(term -> postings.computeIfAbsent(term, t -> new RoaringBitmap()).add(ordinal));
+
+            all.add(ordinal);
+            if (document.level() != null) {
+                levels.computeIfAbsent(document.level(), l -> new RoaringBitmap()).add(ordinal);
+            }
+            if (document.category() != null) {
+                String key = categoryKey(document.category());
+                categories.computeIfAbsent(key, k -> new RoaringBitmap()).add(ordinal);
+                categoryNames.putIfAbsent(key, document.category());
+            }
+            document.technologies().forEach((id, name) -> {
+                technologies.computeIfAbsent(id, k -> new RoaringBitmap()).add(ordinal);
+                technologyNames.put(id, name);
+            });
+            if (document.remote()) {
+                remote.add(ordinal);
+            }
+            if (document.openSource()) {
+                openSource.add(ordinal);
+            }
+        }
+
+        void remove(UUID projectId) {
+            Integer ordinal = ordinals.remove(projectId);
+            if (ordinal == null) {
+                return;
+            }
+            Document document = documents.get(ordinal);
+            totalLength -= document.length();
+            for (String term : document.weights().keySet()) {
+                removeFrom(postings, term, ordinal);
+            }
+
+            all.remove(ordinal);
+            if (document.level() != null) {
+                removeFrom(levels, document.level(), ordinal);
+            }
+            if (document.category() != null) {
+                String key = categoryKey(document.category());
+                if (removeFrom(categories, key, ordinal)) {
+                    categoryNames.remove(key);
+                }
+            }
+            for (Long id : document.technologies().keySet()) {
+                if (removeFrom(technologies, id, ordinal)) {
+                    technologyNames.remove(id);
+                }
+            }
+            remote.remove(ordinal);
+            openSource.remove(ordinal);
+            documents.set(ordinal, null);
+        }
+
+        /** Removes the ordinal from the key's bitmap, dropping the key when none are left. */
+        private static <K> boolean removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int ordinal) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        /** Projects passing every filter except the one for {@code ignored} (null applies all). */
+        RoaringBitmap matching(Filters filters, Facet ignored) {
+            RoaringBitmap result = all.clone();
+            if (filters.level() != null && ignored != Facet.LEVEL) {
+                result.and(orEmpty(levels.get(filters.level())));
+            }
+            if (filters.category() != null && !filters.category().isBlank() && ignored != Facet.CATEGORY) {
+                result.and(orEmpty(categories.get(categoryKey(filters.category().trim()))));
+            }
+            if (filters.technologyIds() != null && ignored != Facet.TECHNOLOGY) {
+                RoaringBitmap using = new RoaringBitmap();
+                filters.technologyIds().forEach(id -> using.or(orEmpty(technologies.get(id))));
+                result.and(using);
+            }
+            if (filters.remote() != null && ignored != Facet.REMOTE) {
+                restrict(result, remote, filters.remote());
+            }
+            if (filters.openSource() != null && ignored != Facet.OPEN_SOURCE) {
+                restrict(result, openSource, filters.openSource());
+            }
+            return result;
+        }
+
+        private static void restrict(RoaringBitmap result, RoaringBitmap set, boolean wanted) {
+            if (wanted) {
+                result.and(set);
+            } else {
+                result.andNot(set);
+            }
+        }
+
+        private static RoaringBitmap orEmpty(RoaringBitmap bitmap) {
+            return bitmap == null ? new RoaringBitmap() : bitmap;
+        }
+
+        /** Projects containing any of the terms, prefixes expanded as in search. */
+        RoaringBitmap matchingAny(List<String> terms) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (String term : terms) {
+                for (String expanded : Bm25.expand(postings, term)) {
+                    result.or(postings.get(expanded));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,38 +1,113 @@
 package com.example.backend.services;
 
 import com.example.backend.dto.ProjectDto;
+import com.example.backend.dto.ProjectFacetsDto;
 import com.example.backend.enums.ProjectStatus;
 import com.example.backend.exceptions.ResourceNotFoundException;
 import com.example.backend.models.Profile;
 import com.example.backend.models.Project;
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.repositories.ProjectListingRepository.ProjectListing;
 import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.specifications.ProjectSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.backend.enums.ProjectLevel;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
+    static final int MAX_FACET_VALUES = 20;
 
     private final ProjectRepository projectRepository;
     private final ProfileService profileService;
+    private final SkillDefinitionResolver skillDefinitionResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectSearchIndex projectSearchIndex;
 
+    /**
+     * Projects matching the filters. With a search query they come from
+     * {@link ProjectSearchIndex} in relevance order, which takes precedence
+     * over the requested sort.
+     */
     @Transactional(readOnly = true)
-    public Page<ProjectDto> getAllProjects(String search, ProjectLevel level, String technology, String category, Pageable pageable) {
-        List<String> techList = technology != null && !technology.isEmpty() ? List.of(technology) : null;
-        org.springframework.data.jpa.domain.Specification<Project> spec = 
-            com.example.backend.specifications.ProjectSpecification.withDynamicQuery(search, level, techList, category);
-            
-        return projectRepository.findAll(spec, Objects.requireNonNull(pageable))
-                .map(this::convertToDto);
+    public Page<ProjectDto> getAllProjects(String search, ProjectLevel level, String technology, String category,
+            Boolean remote, Boolean openSource, Pageable pageable) {
+        List<Long> technologyIds = technologyIds(technology);
+        if (search != null && !search.isBlank()) {
+            return searchProjects(search, new ProjectSearchIndex.Filters(level, category, technologyIds, remote,
+                    openSource), Objects.requireNonNull(pageable));
+        }
+        Specification<Project> spec = ProjectSpecification.withDynamicQuery(level, technologyIds, category, remote,
+                openSource);
+
+        Page<ProjectListing> listings = projectRepository.findListings(spec, Objects.requireNonNull(pageable));
+        Map<UUID, List<String>> technologies = technologiesOf(listings.getContent());
+        return listings.map(listing -> convertToDto(listing, technologies));
+    }
+
+    /**
+     * Per-value project counts for the listing's facets under the same
+     * search and filters, read from the in-memory aggregates of
+     * {@link ProjectSearchIndex} rather than counted in the database.
+     */
+    public ProjectFacetsDto getProjectFacets(String search, ProjectLevel level, String technology, String category,
+            Boolean remote, Boolean openSource) {
+        ProjectSearchIndex.Facets facets = projectSearchIndex.facets(search, new ProjectSearchIndex.Filters(level,
+                category, technologyIds(technology), remote, openSource), MAX_FACET_VALUES);
+        return ProjectFacetsDto.builder()
+                .levels(facets.levels())
+                .categories(facets.categories())
+                .technologies(facets.technologies())
+                .remote(facets.remote())
+                .openSource(facets.openSource())
+                .build();
+    }
+
+    // An unknown technology matches no project rather than being ignored
+    private List<Long> technologyIds(String technology) {
+        return technology != null && !technology.isBlank()
+                ? skillDefinitionResolver.find(technology)
+                        .map(definition -> List.of(definition.getId()))
+                        .orElse(List.of())
+                : null;
+    }
+
+    private Page<ProjectDto> searchProjects(String search, ProjectSearchIndex.Filters filters, Pageable pageable) {
+        ProjectSearchIndex.SearchPage hits = pageable.isPaged()
+                ? projectSearchIndex.search(search, filters,
+                        (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE), pageable.getPageSize())
+                : projectSearchIndex.search(search, filters, 0, Integer.MAX_VALUE);
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        Map<UUID, ProjectListing> byId = new HashMap<>();
+        projectRepository.findListings(ProjectSpecification.idIn(hits.ids()), Sort.unsorted())
+                .forEach(listing -> byId.put(listing.id(), listing));
+        // A project deleted since it was indexed is simply left out of the page
+        List<ProjectListing> ranked = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(convertToDtos(ranked), pageable, hits.total());
     }
 
     @Transactional(readOnly = true)
@@ -49,7 +124,7 @@ public class ProjectService {
         Project project = new Project();
         project.setTitle(projectDto.getTitle());
         project.setDescription(projectDto.getDescription());
-        project.setTechnologies(projectDto.getTechnologies());
+        project.setTechnologies(resolveTechnologies(projectDto.getTechnologies()));
         project.setLevel(projectDto.getLevel());
         project.setDuration(projectDto.getDuration());
         project.setTeamSize(projectDto.getTeamSize());
@@ -65,6 +140,7 @@ public class ProjectService {
         // Post and Team are null for now as per plan
         
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(savedProject.getId()));
         return convertToDto(savedProject);
     }
 
@@ -76,17 +152,15 @@ public class ProjectService {
 
     @Transactional(readOnly = true)
     public List<ProjectDto> getProjectsByProfileId(UUID profileId) {
-        return projectRepository.findByCreatedBy_Id(profileId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(projectRepository.findListings(ProjectSpecification.createdBy(profileId),
+                Sort.unsorted()));
     }
 
     @Transactional(readOnly = true)
     public List<ProjectDto> getJoinedProjects() {
         Profile currentProfile = profileService.getCurrentUserProfile();
-        return projectRepository.findByTeam_Members_Id(currentProfile.getId()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(projectRepository.findListings(ProjectSpecification.hasMember(currentProfile.getId()),
+                Sort.unsorted()));
     }
 
 
@@ -105,12 +179,70 @@ public class ProjectService {
     }
 
 
+    /**
+     * Maps technology names onto skill definitions by normalized name,
+     * creating the ones no profile or project has used yet.
+     */
+    private Set<SkillDefinition> resolveTechnologies(List<String> technologies) {
+        if (technologies == null) {
+            return new LinkedHashSet<>();
+        }
+        return new LinkedHashSet<>(skillDefinitionResolver.findOrCreateAll(technologies.stream()
+                .filter(name -> name != null && !name.isBlank())
+                .toList()).values());
+    }
+
+    // Technology names of every listed project, loaded in one query
+    private Map<UUID, List<String>> technologiesOf(List<ProjectListing> listings) {
+        Map<UUID, List<String>> technologies = new HashMap<>();
+        if (listings.isEmpty()) {
+            return technologies;
+        }
+        projectRepository.findTechnologyNames(listings.stream().map(ProjectListing::id).toList())
+                .forEach(row -> technologies.computeIfAbsent((UUID) row[0], id -> new ArrayList<>())
+                        .add((String) row[1]));
+        return technologies;
+    }
+
+    private List<ProjectDto> convertToDtos(List<ProjectListing> listings) {
+        Map<UUID, List<String>> technologies = technologiesOf(listings);
+        return listings.stream()
+                .map(listing -> convertToDto(listing, technologies))
+                .collect(Collectors.toList());
+    }
+
+    private ProjectDto convertToDto(ProjectListing listing, Map<UUID, List<String>> technologies) {
+        return ProjectDto.builder()
+                .id(listing.id())
+                .title(listing.title())
+                .description(listing.description())
+                .technologies(technologies.getOrDefault(listing.id(), List.of()))
+                .level(listing.level())
+                .duration(listing.duration())
+                .teamSize(listing.teamSize())
+                .category(listing.category())
+                .budget(listing.budget())
+                .isRemote(listing.remote())
+                .isOpenSource(listing.openSource())
+                .contactMethod(listing.contactMethod())
+                .additionalInfo(listing.additionalInfo())
+                .status(listing.status())
+                .createdAt(listing.createdAt())
+                .createdBy(ProjectDto.ProjectCreatorDto.builder()
+                        .id(listing.creatorId())
+                        .username(listing.creatorUsername())
+                        .email(listing.creatorEmail())
+                        .profilePictureUrl(listing.creatorPictureUrl())
+                        .build())
+                .build();
+    }
+
     private ProjectDto convertToDto(Project project) {
         return ProjectDto.builder()
                 .id(project.getId())
                 .title(project.getTitle())
                 .description(project.getDescription())
-                .technologies(project.getTechnologies())
+                .technologies(project.getTechnologies().stream().map(SkillDefinition::getName).toList())
                 .level(project.getLevel())
                 .duration(project.getDuration())
                 .teamSize(project.getTeamSize())
@@ -0,0 +1,178 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.RecommendationKind;
+import com.example.backend.models.ProfileRecommendation;
+import com.example.backend.repositories.ProfileRecommendationRepository;
+import com.example.backend.repositories.ProfileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precomputes each profile's top-N similar and complementary matches into
+ * profile_recommendations so /api/matching reads a stored ranking instead of
+ * scoring on every page view. A run picks up profiles whose skills changed
+ * since their last materialization (plus never-computed and expired ones) and
+ * processes them in batches on its own pool of {@code parallelism} threads,
+ * one transaction per batch, so a long run never holds threads that request
+ * handling needs.
+ */
+@Component
+@Slf4j
+public class RecommendationMaterializer {
+
+    private final ProfileRepository profileRepository;
+    private final ProfileRecommendationRepository recommendationRepository;
+    private final MatchingService matchingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int topN;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration maxAge;
+
+    @Autowired
+    public RecommendationMaterializer(ProfileRepository profileRepository,
+            ProfileRecommendationRepository recommendationRepository,
+            MatchingService matchingService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.matching.materialize.top-n:100}") int topN,
+            @Value("${app.matching.materialize.batch-size:200}") int batchSize,
+            @Value("${app.matching.materialize.parallelism:4}") int parallelism,
+            @Value("${app.matching.materialize.max-age:24h}") Duration maxAge) {
+        this(profileRepository, recommendationRepository, matchingService, transactionTemplate,
+                newPool(parallelism), topN, batchSize, parallelism, maxAge);
+    }
+
+    RecommendationMaterializer(ProfileRepository profileRepository,
+            ProfileRecommendationRepository recommendationRepository,
+            MatchingService matchingService,
+            TransactionTemplate transactionTemplate,
+            Executor executor,
+            int topN,
+            int batchSize,
+            int parallelism,
+            Duration maxAge) {
+        this.profileRepository = profileRepository;
+        this.recommendationRepository = recommendationRepository;
+        this.matchingService = matchingService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.topN = topN;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxAge = maxAge;
+    }
+
+    // A run submits at most parallelism batches before joining them, so the queue never fills
+    private static ExecutorService newPool(int parallelism) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recommendations-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.matching.materialize.interval-ms:60000}",
+            initialDelayString = "${app.matching.materialize.interval-ms:60000}")
+    public void run() {
+        Instant startedAt = Instant.now();
+        int pageSize = batchSize * parallelism;
+        int processed = 0;
+        List<UUID> due;
+        do {
+            due = profileRepository.findIdsNeedingRecommendations(startedAt.minus(maxAge),
+                    PageRequest.ofSize(pageSize));
+            if (due.isEmpty()) {
+                break;
+            }
+            AtomicBoolean failed = new AtomicBoolean();
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int from = 0; from < due.size(); from += batchSize) {
+                List<UUID> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+                batches.add(CompletableFuture.runAsync(() -> materialize(batch, startedAt), executor)
+                        .exceptionally(e -> {
+                            log.warn("Failed to materialize recommendations for {} profiles", batch.size(), e);
+                            failed.set(true);
+                            return null;
+                        }));
+            }
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+            if (failed.get()) {
+                // Failed profiles are still due; leave them for the next run instead of spinning
+                break;
+            }
+            processed += due.size();
+        } while (due.size() == pageSize);
+
+        if (processed > 0) {
+            log.info("Materialized recommendations for {} profiles in {} ms", processed,
+                    Duration.between(startedAt, Instant.now()).toMillis());
+        }
+    }
+
+    /**
+     * Ranks and stores the batch. Profiles are stamped with the run's start
+     * time, so any skill written while the run was in flight is newer and gets
+     * picked up again next time.
+     */
+    void materialize(List<UUID> profileIds, Instant computedAt) {
+        List<ProfileRecommendation> rows = new ArrayList<>();
+        for (UUID profileId : profileIds) {
+            addRows(rows, profileId, RecommendationKind.SIMILAR,
+                    matchingService.rankSimilar(profileId, topN, null), computedAt);
+            addRows(rows, profileId, RecommendationKind.COMPLEMENTARY,
+                    matchingService.rankComplementary(profileId, topN, null), computedAt);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            recommendationRepository.deleteByProfileIds(profileIds);
+            recommendationRepository.saveAll(rows);
+            profileRepository.markRecommendationsComputed(profileIds, computedAt);
+        });
+    }
+
+    private static void addRows(List<ProfileRecommendation> rows, UUID profileId, RecommendationKind kind,
+            List<SkillIndex.Match> matches, Instant computedAt) {
+        for (int rank = 0; rank < matches.size(); rank++) {
+            SkillIndex.Match match = matches.get(rank);
+            rows.add(ProfileRecommendation.builder()
+                    .profileId(profileId)
+                    .kind(kind)
+                    .rank(rank)
+                    .candidateId(match.profileId())
+                    .score(match.score())
+                    .computedAt(computedAt)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.backend.services;
+
+import com.example.backend.exceptions.UnauthorizedException;
+import com.example.backend.models.RefreshToken;
+import com.example.backend.models.User;
+import com.example.backend.repositories.RefreshTokenRepository;
+import com.example.backend.utils.JwtUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues and rotates opaque refresh tokens. Each token can be exchanged once;
+ * presenting an already used token is treated as theft and revokes every
+ * session of its owner.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtUtils jwtUtils;
+    private final long refreshExpirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationService tokenRevocationService,
+            JwtUtils jwtUtils,
+            @Value("${app.jwt.refresh-expiration:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.jwtUtils = jwtUtils;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    public record TokenPair(User user, String accessToken, String refreshToken) {
+    }
+
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
+    @Transactional
+    public String issue(@NonNull User user) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .user(user)
+                .expiresAt(Instant.now().plusMillis(refreshExpirationMs))
+                .build());
+        return rawToken;
+    }
+
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public TokenPair rotate(@NonNull String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        User user = token.getUser();
+        // A used token is reuse even once expired, so it falls through to markUsed below
+        if (token.getExpiresAt().isBefore(Instant.now()) && !token.isUsed()) {
+            refreshTokenRepository.delete(token);
+            throw new UnauthorizedException("Refresh token expired");
+        }
+        if (refreshTokenRepository.markUsed(token.getId()) == 0) {
+            log.warn("Refresh token reuse detected for user: {}", user.getUsername());
+            revokeAll(user);
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        return new TokenPair(user, jwtUtils.generateJwtToken(user), issue(user));
+    }
+
+    @Transactional
+    public void revoke(@NonNull String rawToken) {
+        refreshTokenRepository.deleteByTokenHash(hash(rawToken));
+    }
+
+    /**
+     * Ends every session of the user: drops their refresh tokens and revokes
+     * all access tokens issued so far.
+     */
+    @Transactional
+    public void revokeAll(@NonNull User user) {
+        refreshTokenRepository.deleteByUser(user);
+        tokenRevocationService.revokeAllForUser(user.getUsername());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
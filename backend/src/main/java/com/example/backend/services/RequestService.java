@@ -2,6 +2,7 @@ package com.example.backend.services;
 
 import com.example.backend.dto.CollaborationRequestDTO;
 import com.example.backend.dto.RequestStatsDTO;
+import com.example.backend.enums.DigestEventType;
 import com.example.backend.enums.RequestStatus;
 import com.example.backend.exceptions.BadRequestException;
 import com.example.backend.exceptions.ResourceNotFoundException;
@@ -13,6 +14,7 @@ import com.example.backend.repositories.ProjectRepository;
 import com.example.backend.repositories.RequestRepository;
 import com.example.backend.repositories.TeamRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,7 @@ public class RequestService {
     private final ProjectRepository projectRepository;
     private final ProfileService profileService;
     private final TeamRepository teamRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CollaborationRequest createJoinRequest(UUID projectId, String message) {
@@ -58,7 +61,10 @@ public class RequestService {
         request.setStatus(RequestStatus.PENDING);
         request.setMessage(message);
 
-        return requestRepository.save(request);
+        CollaborationRequest savedRequest = requestRepository.save(request);
+        eventPublisher.publishEvent(new DigestEvent(project.getCreatedBy().getId(), DigestEventType.JOIN_REQUEST,
+                DigestEvent.nameOf(requester) + " asked to join " + project.getTitle()));
+        return savedRequest;
     }
 
     public List<CollaborationRequestDTO> getReceivedRequests(RequestStatus status) {
@@ -91,7 +97,7 @@ public class RequestService {
                 .collect(Collectors.toList());
     }
 
-    public CollaborationRequest getRequestById(Long requestId) {
+    public CollaborationRequestDTO getRequestById(Long requestId) {
         CollaborationRequest request = requestRepository.findById(Objects.requireNonNull(requestId))
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
         
@@ -105,7 +111,7 @@ public class RequestService {
             throw new AccessDeniedException("You don't have permission to view this request");
         }
         
-        return request;
+        return mapToDTO(request);
     }
 
     @Transactional
@@ -131,6 +137,9 @@ public class RequestService {
         
         // Add requester to team
         addRequesterToTeam(request.getProject(), request.getRequester());
+
+        eventPublisher.publishEvent(new DigestEvent(request.getRequester().getId(), DigestEventType.REQUEST_APPROVED,
+                "You joined " + request.getProject().getTitle()));
         
         return mapToDTO(savedRequest);
     }
@@ -157,7 +166,9 @@ public class RequestService {
         request.setRejectionReason(reason);
         
         CollaborationRequest savedRequest = requestRepository.save(request);
-        
+
+        eventPublisher.publishEvent(new DigestEvent(request.getRequester().getId(), DigestEventType.REQUEST_REJECTED,
+                "Your request to join " + request.getProject().getTitle() + " was declined"));
         return mapToDTO(savedRequest);
     }
 
@@ -0,0 +1,134 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.SimilarityMetric;
+import com.example.backend.utils.TopK;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scores candidate profiles against one query profile from the primitive
+ * vectors in a {@link SkillFeatureStore}. Each candidate costs one merge pass
+ * over two sorted id arrays. Large candidate sets are split across the common
+ * fork-join pool, each leaf keeping its own bounded top-k that is merged on
+ * the way up.
+ */
+public class SimilarityScorer {
+
+    static final int SEQUENTIAL_THRESHOLD = 2048;
+
+    private final SkillFeatureStore store;
+    private final SimilarityMetric metric;
+    private final SkillFeatureStore.IdfTable idf;
+    private final long[] queryIds;
+    private final double[] queryVector;
+    private final double queryNorm;
+    private final double queryMass;
+
+    public SimilarityScorer(SkillFeatureStore store, SimilarityMetric metric, int queryOrdinal) {
+        this.store = store;
+        this.metric = metric;
+        this.idf = metric != SimilarityMetric.OVERLAP ? store.idfTable() : null;
+        this.queryIds = store.ids(queryOrdinal);
+        float[] queryWeights = store.weights(queryOrdinal);
+        this.queryVector = new double[queryIds.length];
+        double squares = 0;
+        double mass = 0;
+        for (int i = 0; i < queryIds.length; i++) {
+            queryVector[i] = idf != null ? queryWeights[i] * idf.get(queryIds[i]) : 0;
+            squares += queryVector[i] * queryVector[i];
+            mass += queryVector[i];
+        }
+        this.queryNorm = Math.sqrt(squares);
+        this.queryMass = mass;
+    }
+
+    public double score(int candidate) {
+        long[] ids = store.ids(candidate);
+        float[] weights = store.weights(candidate);
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        double dot = 0;
+        double sharedMin = 0;
+        double squares = 0;
+        double mass = 0;
+        // The query side is precomputed; only the candidate's own weights need IDF here
+        while (j < ids.length) {
+            double value = idf != null ? weights[j] * idf.get(ids[j]) : 0;
+            squares += value * value;
+            mass += value;
+            while (i < queryIds.length && queryIds[i] < ids[j]) {
+                i++;
+            }
+            if (i < queryIds.length && queryIds[i] == ids[j]) {
+                shared++;
+                dot += queryVector[i] * value;
+                sharedMin += Math.min(queryVector[i], value);
+                i++;
+            }
+            j++;
+        }
+        return switch (metric) {
+            case OVERLAP -> shared;
+            case COSINE -> queryNorm == 0 || squares == 0 ? 0 : dot / (queryNorm * Math.sqrt(squares));
+            case JACCARD -> {
+                double union = queryMass + mass - sharedMin;
+                yield union == 0 ? 0 : sharedMin / union;
+            }
+        };
+    }
+
+    /** Best {@code limit} candidates ranked strictly after {@code after}, best first. */
+    public List<SkillIndex.Match> topK(int[] candidates, int limit, SkillIndex.Match after) {
+        return topK(candidates, limit, after, candidates.length > SEQUENTIAL_THRESHOLD);
+    }
+
+    public List<SkillIndex.Match> topK(int[] candidates, int limit, SkillIndex.Match after, boolean parallel) {
+        ScoreTask task = new ScoreTask(candidates, 0, candidates.length, limit, after);
+        TopK<SkillIndex.Match> top = parallel ? ForkJoinPool.commonPool().invoke(task) : task.scan();
+        return top.toSortedList();
+    }
+
+    private final class ScoreTask extends RecursiveTask<TopK<SkillIndex.Match>> {
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+        private final int limit;
+        private final SkillIndex.Match after;
+
+        ScoreTask(int[] candidates, int from, int to, int limit, SkillIndex.Match after) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+            this.after = after;
+        }
+
+        @Override
+        protected TopK<SkillIndex.Match> compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return scan();
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(candidates, from, mid, limit, after);
+            left.fork();
+            TopK<SkillIndex.Match> right = new ScoreTask(candidates, mid, to, limit, after).compute();
+            TopK<SkillIndex.Match> merged = left.join();
+            merged.offerAll(right);
+            return merged;
+        }
+
+        TopK<SkillIndex.Match> scan() {
+            TopK<SkillIndex.Match> top = new TopK<>(limit, SkillIndex.RANKING);
+            for (int k = from; k < to; k++) {
+                SkillIndex.Match match = new SkillIndex.Match(store.profileId(candidates[k]), score(candidates[k]));
+                if (after == null || SkillIndex.RANKING.compare(match, after) > 0) {
+                    top.offer(match);
+                }
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.backend.services;
+
+import com.example.backend.repositories.SkillDefinitionRepository;
+import com.example.backend.utils.BkTree;
+import com.example.backend.utils.TopK;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory autocomplete over skill definition names. A prefix trie holds
+ * every word start of each normalized name, so "bo" finds "Spring Boot";
+ * when prefixes do not fill the page, a trigram index finds names containing
+ * the query anywhere. Suggestions are ranked by how many profiles list the
+ * skill, and definitions nobody lists are never suggested. A BK-tree over
+ * the names catches typos ("Javscript") when those do not fill the page. Loaded at
+ * startup (or on first use) and kept current through {@link SkillChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class SkillAutocompleteIndex {
+
+    // Prefixes up to this long match large subtrees, so their nodes cache the best names
+    static final int CACHED_DEPTH = 2;
+    static final int CACHED_TOP = 50;
+    // Hard ceiling on BK-tree nodes one fuzzy lookup compares against
+    static final int MAX_FUZZY_VISITS = 2_000;
+
+    /** An existing, used definition close to an entered name; distance 0 means they differ only in separators. */
+    public record Correction(long definitionId, String name, int distance) {
+    }
+
+    private final SkillDefinitionRepository skillDefinitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LiveIndex<State> index = new LiveIndex<>(new State(), this::rebuild);
+
+    public SkillAutocompleteIndex(SkillDefinitionRepository skillDefinitionRepository,
+            TransactionTemplate transactionTemplate) {
+        this.skillDefinitionRepository = skillDefinitionRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = skillDefinitionRepository.streamUsageCounts()) {
+                load(rows);
+            }
+        });
+    }
+
+    /** Loads (definition id, name, usage count) rows. */
+    void load(Stream<Object[]> rows) {
+        long started = System.currentTimeMillis();
+        State loaded = index.load(() -> {
+            State state = new State();
+            rows.forEach(row -> state.add((Long) row[0], (String) row[1], ((Number) row[2]).intValue()));
+            return state;
+        });
+        log.info("Skill autocomplete loaded {} names in {} ms", loaded.entries.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        Long added = event.addedDefinitionId();
+        Long removed = event.removedDefinitionId();
+        if (added != null && added.equals(removed)) {
+            return;
+        }
+        // A definition created with this skill is new to the index; look its name up before locking
+        String addedName = added != null && !knows(added)
+                ? skillDefinitionRepository.findById(added).map(definition -> definition.getName()).orElse(null)
+                : null;
+        index.apply(current -> {
+            if (removed != null) {
+                current.adjust(removed, -1);
+            }
+            if (added != null) {
+                if (addedName != null && !current.ordinals.containsKey(added)) {
+                    current.add(added, addedName, 0);
+                }
+                current.adjust(added, 1);
+            }
+        });
+    }
+
+    private boolean knows(long definitionId) {
+        return index.read(state -> state.ordinals.containsKey(definitionId));
+    }
+
+    /**
+     * Up to {@code limit} skill names for the query: names with a word
+     * starting with it first, then names containing it, each group most
+     * used first.
+     */
+    public List<String> suggest(String query, int limit) {
+        String normalized = query == null ? "" : query.trim().toLowerCase();
+        return index.read(state -> {
+            Comparator<Integer> ranking = state.ranking();
+            Set<Integer> seen = new HashSet<>();
+            Node node = state.root.find(normalized);
+            List<Integer> ordinals = new ArrayList<>();
+            if (node != null && normalized.length() <= CACHED_DEPTH && limit <= CACHED_TOP) {
+                List<Integer> cached = state.cachedTop(node);
+                ordinals.addAll(cached.subList(0, Math.min(limit, cached.size())));
+                seen.addAll(ordinals);
+            } else if (node != null) {
+                ordinals.addAll(state.top(node, limit));
+                seen.addAll(ordinals);
+            }
+
+            if (ordinals.size() < limit && normalized.length() >= 3) {
+                TopK<Integer> containing = new TopK<>(limit - ordinals.size(), ranking);
+                state.containing(normalized).forEach((int ordinal) -> {
+                    if (state.usage.get(ordinal) > 0 && !seen.contains(ordinal)
+                            && state.entries.get(ordinal).normalizedName().contains(normalized)) {
+                        containing.offer(ordinal);
+                    }
+                });
+                ordinals.addAll(containing.toSortedList());
+            }
+
+            // Page still short; fill it with names within a few typos of the query
+            if (ordinals.size() < limit) {
+                state.corrections(normalized).stream()
+                        .filter(seen::add)
+                        .limit(limit - ordinals.size())
+                        .forEach(ordinals::add);
+            }
+            return ordinals.stream().map(ordinal -> state.entries.get(ordinal).name()).toList();
+        });
+    }
+
+    /**
+     * The closest used definition to the name, allowing one typo in names
+     * of 4-6 characters and two in longer ones; null when none is close.
+     */
+    public Correction correctionFor(String name) {
+        String normalized = name == null ? "" : name.trim().toLowerCase();
+        return index.read(state -> {
+            List<Integer> corrections = state.corrections(normalized);
+            if (corrections.isEmpty()) {
+                return null;
+            }
+            Entry entry = state.entries.get(corrections.get(0));
+            return new Correction(entry.definitionId(), entry.name(),
+                    BkTree.distance(compact(normalized), compact(entry.normalizedName())));
+        });
+    }
+
+    // Separators do not tell skills apart: "React.js", "react js" and "reactjs" share a key
+    static String compact(String normalized) {
+        StringBuilder key = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!Character.isWhitespace(c) && c != '.' && c != '-' && c != '_') {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    static int allowedTypos(String key) {
+        return key.length() < 4 ? 0 : key.length() < 7 ? 1 : 2;
+    }
+
+    private record Entry(long definitionId, String name, String normalizedName) {
+    }
+
+    /** Names, usage counts, trie and trigram postings; replaced wholesale on rebuild. */
+    private static final class State {
+        private final List<Entry> entries = new ArrayList<>();
+        private final List<Integer> usage = new ArrayList<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Node root = new Node();
+        private final Map<Integer, RoaringBitmap> trigrams = new HashMap<>();
+        private final BkTree<Integer> fuzzy = new BkTree<>();
+
+        void add(long definitionId, String name, int usageCount) {
+            String normalized = name.trim().toLowerCase();
+            int ordinal = entries.size();
+            entries.add(new Entry(definitionId, name, normalized));
+            usage.add(usageCount);
+            ordinals.put(definitionId, ordinal);
+            for (int i : wordStarts(normalized)) {
+                root.insert(normalized, i, ordinal);
+            }
+            invalidate(normalized);
+            for (int i = 0; i + 3 <= normalized.length(); i++) {
+                trigrams.computeIfAbsent(trigram(normalized, i), key -> new RoaringBitmap()).add(ordinal);
+            }
+            String key = compact(normalized);
+            if (!key.isEmpty()) {
+                fuzzy.add(key, ordinal);
+            }
+        }
+
+        /** Used names within the allowed typos of the query, closest then most used first. */
+        List<Integer> corrections(String normalized) {
+            String key = compact(normalized);
+            if (key.isEmpty()) {
+                return List.of();
+            }
+            Comparator<BkTree.Hit<Integer>> order = Comparator.<BkTree.Hit<Integer>>comparingInt(BkTree.Hit::distance)
+                    .thenComparing(BkTree.Hit::value, ranking());
+            return fuzzy.search(key, allowedTypos(key), MAX_FUZZY_VISITS).stream()
+                    .filter(hit -> usage.get(hit.value()) > 0)
+                    .sorted(order)
+                    .map(BkTree.Hit::value)
+                    .toList();
+        }
+
+        void adjust(long definitionId, int delta) {
+            Integer ordinal = ordinals.get(definitionId);
+            if (ordinal != null) {
+                usage.set(ordinal, Math.max(0, usage.get(ordinal) + delta));
+                invalidate(entries.get(ordinal).normalizedName());
+            }
+        }
+
+        /** The best used names below the node. */
+        List<Integer> top(Node node, int limit) {
+            TopK<Integer> top = new TopK<>(limit, ranking());
+            Set<Integer> seen = new HashSet<>();
+            node.forEachTerminal(ordinal -> {
+                if (usage.get(ordinal) > 0 && seen.add(ordinal)) {
+                    top.offer(ordinal);
+                }
+            });
+            return top.toSortedList();
+        }
+
+        /**
+         * {@link #top} for a shallow node, computed on first use after a change
+         * below it. Readers may race to fill it; they compute the same list.
+         */
+        List<Integer> cachedTop(Node node) {
+            List<Integer> cached = node.cachedTop;
+            if (cached == null) {
+                cached = List.copyOf(top(node, CACHED_TOP));
+                node.cachedTop = cached;
+            }
+            return cached;
+        }
+
+        // Clears the caches on every shallow node a word start of the name passes through
+        private void invalidate(String normalized) {
+            root.cachedTop = null;
+            for (int start : wordStarts(normalized)) {
+                Node node = root;
+                for (int i = start; i < Math.min(normalized.length(), start + CACHED_DEPTH) && node != null; i++) {
+                    node = node.children.get(normalized.charAt(i));
+                    if (node != null) {
+                        node.cachedTop = null;
+                    }
+                }
+            }
+        }
+
+        private static List<Integer> wordStarts(String normalized) {
+            List<Integer> starts = new ArrayList<>();
+            for (int i = 0; i < normalized.length(); i++) {
+                if (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1))) {
+                    starts.add(i);
+                }
+            }
+            return starts;
+        }
+
+        /** Names holding every trigram of the query; a superset of the names containing it. */
+        RoaringBitmap containing(String query) {
+            RoaringBitmap result = null;
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                RoaringBitmap postings = trigrams.get(trigram(query, i));
+                if (postings == null) {
+                    return new RoaringBitmap();
+                }
+                result = result == null ? postings.clone() : RoaringBitmap.and(result, postings);
+            }
+            return result == null ? new RoaringBitmap() : result;
+        }
+
+        // Most used first; ties by name so suggestions are stable
+        Comparator<Integer> ranking() {
+            return Comparator.<Integer>comparingInt(usage::get).reversed()
+                    .thenComparing(ordinal -> entries.get(ordinal).normalizedName());
+        }
+
+        private static int trigram(String s, int from) {
+            // 3 x 16-bit chars do not fit in an int; hash collisions are removed by the contains() check
+            return (s.charAt(from) * 31 + s.charAt(from + 1)) * 31 + s.charAt(from + 2);
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        // Ordinals of names with a word ending its prefix path here; null until one does
+        private List<Integer> terminals;
+        private volatile List<Integer> cachedTop;
+
+        void insert(String s, int from, int ordinal) {
+            Node node = this;
+            for (int i = from; i < s.length(); i++) {
+                node = node.children.computeIfAbsent(s.charAt(i), c -> new Node());
+            }
+            if (node.terminals == null) {
+                node.terminals = new ArrayList<>(1);
+            }
+            node.terminals.add(ordinal);
+        }
+
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        void forEachTerminal(Consumer<Integer> action) {
+            if (terminals != null) {
+                terminals.forEach(action);
+            }
+            children.values().forEach(child -> child.forEachTerminal(action));
+        }
+    }
+}
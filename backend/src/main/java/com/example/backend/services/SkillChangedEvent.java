@@ -0,0 +1,14 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.Proficiency;
+
+import java.util.UUID;
+
+/**
+ * A profile gained or lost a skill definition, or changed its proficiency. An
+ * update carries both ids (the same id when only the proficiency changed);
+ * either may be null. {@code proficiency} belongs to the added definition.
+ */
+public record SkillChangedEvent(UUID profileId, Long removedDefinitionId, Long addedDefinitionId,
+        Proficiency proficiency) {
+}
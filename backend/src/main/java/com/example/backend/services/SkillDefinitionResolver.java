@@ -0,0 +1,126 @@
+package com.example.backend.services;
+
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.repositories.SkillDefinitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps skill and technology names onto {@link SkillDefinition}s by
+ * normalized name. Definitions are never renamed or deleted, so resolved
+ * ones are cached for good (the cache is simply cleared when it fills up).
+ * A missing definition is inserted in its own transaction; when another
+ * request inserts the same name first, the unique index rejects ours and
+ * the winner's row is read back instead.
+ */
+@Component
+public class SkillDefinitionResolver {
+
+    private final SkillDefinitionRepository skillDefinitionRepository;
+    private final TransactionTemplate requiresNew;
+    private final Map<String, SkillDefinition> cache = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public SkillDefinitionResolver(SkillDefinitionRepository skillDefinitionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.skills.definition-cache.max-size:50000}") int maxSize) {
+        this.skillDefinitionRepository = skillDefinitionRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxSize = maxSize;
+    }
+
+    public static String normalize(String name) {
+        return name.trim().toLowerCase();
+    }
+
+    /** The existing definition for the name, without creating one. */
+    public Optional<SkillDefinition> find(String name) {
+        String normalized = normalize(name);
+        SkillDefinition cached = cache.get(normalized);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<SkillDefinition> found = skillDefinitionRepository.findByNormalizedName(normalized);
+        found.ifPresent(this::remember);
+        return found;
+    }
+
+    public SkillDefinition findOrCreate(String name) {
+        return find(name).orElseGet(() -> create(name.trim()));
+    }
+
+    /**
+     * Existing definitions for the names, keyed by normalized name; names
+     * without one are left out. Uncached names are looked up with a single
+     * query.
+     */
+    public Map<String, SkillDefinition> findAll(Collection<String> names) {
+        Map<String, SkillDefinition> resolved = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        names.stream().map(SkillDefinitionResolver::normalize).distinct().forEach(normalized -> {
+            SkillDefinition cached = cache.get(normalized);
+            if (cached != null) {
+                resolved.put(normalized, cached);
+            } else {
+                misses.add(normalized);
+            }
+        });
+        if (!misses.isEmpty()) {
+            skillDefinitionRepository.findByNormalizedNameIn(misses).forEach(definition -> {
+                remember(definition);
+                resolved.put(definition.getNormalizedName(), definition);
+            });
+        }
+        return resolved;
+    }
+
+    /**
+     * Definitions for all the names, keyed by normalized name in the order
+     * given; uncached names are looked up with a single query.
+     */
+    public Map<String, SkillDefinition> findOrCreateAll(Collection<String> names) {
+        Map<String, String> byNormalized = new LinkedHashMap<>();
+        names.forEach(name -> byNormalized.putIfAbsent(normalize(name), name.trim()));
+
+        Map<String, SkillDefinition> resolved = findAll(byNormalized.keySet());
+        Map<String, SkillDefinition> ordered = new LinkedHashMap<>();
+        byNormalized.forEach((normalized, name) -> ordered.put(normalized,
+                resolved.containsKey(normalized) ? resolved.get(normalized) : create(name)));
+        return ordered;
+    }
+
+    private SkillDefinition create(String name) {
+        SkillDefinition created;
+        try {
+            created = requiresNew.execute(status -> skillDefinitionRepository.save(
+                    Objects.requireNonNull(SkillDefinition.builder().name(name).build())));
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race to a concurrent insert of the same name
+            created = requiresNew.execute(status -> skillDefinitionRepository.findByNormalizedName(normalize(name)))
+                    .orElseThrow(() -> e);
+        }
+        remember(Objects.requireNonNull(created));
+        return created;
+    }
+
+    private void remember(SkillDefinition definition) {
+        if (cache.size() >= maxSize) {
+            cache.clear();
+        }
+        cache.put(definition.getNormalizedName(), definition);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.backend.services;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-profile skill vectors held as primitive arrays: for every profile
+ * ordinal a sorted {@code long[]} of definition ids and a parallel
+ * {@code float[]} of proficiency weights. Alongside sit the posting bitmaps
+ * per definition, whose cardinalities double as the document frequencies of
+ * the IDF table. Not thread-safe; {@link SkillIndex} guards access, with
+ * writes under its write lock and reads under its read lock.
+ */
+public class SkillFeatureStore {
+
+    private static final long[] NO_IDS = new long[0];
+    private static final float[] NO_WEIGHTS = new float[0];
+
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> profileIds = new ArrayList<>();
+    private long[][] ids = new long[1024][];
+    private float[][] weights = new float[1024][];
+    private int profilesWithSkills;
+    // Built on first use by a reader and dropped by any write that moves a document frequency
+    private volatile IdfTable idfTable;
+
+    public Integer ordinalOf(UUID profileId) {
+        return ordinals.get(profileId);
+    }
+
+    public UUID profileId(int ordinal) {
+        return profileIds.get(ordinal);
+    }
+
+    /** Number of ordinals handed out, including profiles that have since lost all skills. */
+    public int ordinalCount() {
+        return profileIds.size();
+    }
+
+    public long[] ids(int ordinal) {
+        long[] result = ids[ordinal];
+        return result != null ? result : NO_IDS;
+    }
+
+    public float[] weights(int ordinal) {
+        float[] result = weights[ordinal];
+        return result != null ? result : NO_WEIGHTS;
+    }
+
+    public RoaringBitmap postings(long definitionId) {
+        return postings.get(definitionId);
+    }
+
+    public int definitionCount() {
+        return postings.size();
+    }
+
+    /** Smoothed inverse document frequency: rare skills weigh more than common ones. */
+    public double idf(long definitionId) {
+        RoaringBitmap bitmap = postings.get(definitionId);
+        return idf(bitmap != null ? bitmap.getCardinality() : 0);
+    }
+
+    /**
+     * The IDF of every known definition as a primitive lookup table, shared
+     * read-only by all scorers until the next write that changes it. Readers
+     * racing on an empty cache may each build one; they are identical.
+     */
+    public IdfTable idfTable() {
+        IdfTable table = idfTable;
+        if (table == null) {
+            IdfTable built = new IdfTable(postings.size());
+            postings.forEach((definitionId, bitmap) -> built.put(definitionId, idf(bitmap.getCardinality())));
+            idfTable = table = built;
+        }
+        return table;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (profilesWithSkills + 1.0) / (documentFrequency + 1.0));
+    }
+
+    /** Adds the skill or, if the profile already holds it, replaces its weight. */
+    public void put(UUID profileId, long definitionId, float weight) {
+        int ordinal = ordinals.computeIfAbsent(profileId, id -> {
+            profileIds.add(id);
+            if (profileIds.size() > ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+            return profileIds.size() - 1;
+        });
+        long[] current = ids(ordinal);
+        int pos = Arrays.binarySearch(current, definitionId);
+        if (pos >= 0) {
+            weights[ordinal][pos] = weight;
+            return;
+        }
+        if (current.length == 0) {
+            profilesWithSkills++;
+        }
+        int insertAt = -pos - 1;
+        idfTable = null;
+        ids[ordinal] = insert(current, insertAt, definitionId);
+        weights[ordinal] = insert(weights(ordinal), insertAt, weight);
+        postings.computeIfAbsent(definitionId, id -> new RoaringBitmap()).add(ordinal);
+    }
+
+    public void remove(UUID profileId, long definitionId) {
+        Integer ordinal = ordinals.get(profileId);
+        if (ordinal == null) {
+            return;
+        }
+        long[] current = ids(ordinal);
+        int pos = Arrays.binarySearch(current, definitionId);
+        if (pos < 0) {
+            return;
+        }
+        idfTable = null;
+        ids[ordinal] = delete(current, pos);
+        weights[ordinal] = delete(weights(ordinal), pos);
+        if (current.length == 1) {
+            profilesWithSkills--;
+        }
+        RoaringBitmap bitmap = postings.get(definitionId);
+        bitmap.remove(ordinal);
+        if (bitmap.isEmpty()) {
+            postings.remove(definitionId);
+        }
+    }
+
+    /** Open-addressing long to double map; avoids boxing on the scoring hot path. */
+    public static final class IdfTable {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private final long[] keys;
+        private final double[] values;
+        private final int mask;
+
+        IdfTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new double[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void put(long key, double value) {
+            int slot = slot(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        public double get(long key) {
+            int slot = slot(key);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return 0;
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    private static long[] insert(long[] array, int at, long value) {
+        long[] grown = new long[array.length + 1];
+        System.arraycopy(array, 0, grown, 0, at);
+        grown[at] = value;
+        System.arraycopy(array, at, grown, at + 1, array.length - at);
+        return grown;
+    }
+
+    private static float[] insert(float[] array, int at, float value) {
+        float[] grown = new float[array.length + 1];
+        System.arraycopy(array, 0, grown, 0, at);
+        grown[at] = value;
+        System.arraycopy(array, at, grown, at + 1, array.length - at);
+        return grown;
+    }
+
+    private static long[] delete(long[] array, int at) {
+        long[] shrunk = new long[array.length - 1];
+        System.arraycopy(array, 0, shrunk, 0, at);
+        System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+        return shrunk;
+    }
+
+    private static float[] delete(float[] array, int at) {
+        float[] shrunk = new float[array.length - 1];
+        System.arraycopy(array, 0, shrunk, 0, at);
+        System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+        return shrunk;
+    }
+}
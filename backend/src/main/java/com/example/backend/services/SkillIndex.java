@@ -0,0 +1,357 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.SimilarityMetric;
+import com.example.backend.repositories.SkillRepository;
+import com.example.backend.utils.TopK;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory skill index over a {@link SkillFeatureStore}: compressed bitmaps
+ * of profile ordinals per skill definition select candidates exactly, a
+ * {@link MinHashLsh} selects them approximately, and {@link SimilarityScorer}
+ * ranks them; queries never reach the database. Loaded at startup (or on first use, if a query
+ * arrives earlier) and kept current through {@link SkillChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class SkillIndex {
+
+    public record Match(UUID profileId, double score) {
+    }
+
+    /** A profile's sorted definition ids with their proficiency weights. */
+    public record SkillVector(long[] ids, float[] weights) {
+    }
+
+    /** Mean recall@k of approximate against exact search, and mean query times. */
+    public record RecallReport(int sampled, double recall, double exactMillis, double approximateMillis) {
+    }
+
+    /** Highest score first; ties broken by profile id so paging is stable across rebuilds. */
+    public static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparing(Match::profileId);
+
+    private static final long LSH_SEED = 0x5EED5EEDL;
+
+    private final SkillRepository skillRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int lshBands;
+    private final int lshRows;
+    private final int recallSample;
+    private final LiveIndex<State> index;
+
+    public SkillIndex(SkillRepository skillRepository, TransactionTemplate transactionTemplate,
+            @Value("${app.matching.lsh.bands:32}") int lshBands,
+            @Value("${app.matching.lsh.rows:2}") int lshRows,
+            @Value("${app.matching.lsh.recall-sample:0}") int recallSample) {
+        this.skillRepository = skillRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lshBands = lshBands;
+        this.lshRows = lshRows;
+        this.recallSample = recallSample;
+        this.index = new LiveIndex<>(new State(new SkillFeatureStore(), new MinHashLsh(lshBands, lshRows, LSH_SEED)),
+                this::rebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = skillRepository.streamSkillFeatures()) {
+                load(rows);
+            }
+        });
+        if (recallSample > 0) {
+            RecallReport report = evaluateRecall(SimilarityMetric.COSINE, 1, 20, recallSample, LSH_SEED);
+            log.info("LSH recall@20 over {} profiles: {} (exact {} ms, approximate {} ms per query)",
+                    report.sampled(), String.format("%.3f", report.recall()),
+                    String.format("%.3f", report.exactMillis()), String.format("%.3f", report.approximateMillis()));
+        }
+    }
+
+    void load(Stream<Object[]> rows) {
+        long started = System.currentTimeMillis();
+        State loaded = index.load(() -> {
+            SkillFeatureStore features = new SkillFeatureStore();
+            rows.forEach(row -> features.put((UUID) row[0], (Long) row[1], weightOf((Proficiency) row[2])));
+            MinHashLsh lsh = new MinHashLsh(lshBands, lshRows, LSH_SEED);
+            for (int ordinal = 0; ordinal < features.ordinalCount(); ordinal++) {
+                lsh.update(ordinal, features.ids(ordinal));
+            }
+            return new State(features, lsh);
+        });
+        log.info("Skill index loaded {} profiles and {} skills in {} ms", loaded.features().ordinalCount(),
+                loaded.features().definitionCount(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        index.apply(state -> apply(state, event));
+    }
+
+    /**
+     * Profiles sharing at least {@code minShared} skills with the given one,
+     * scored with the given metric, best first. When {@code after} is given
+     * only matches ranked strictly after it are returned.
+     */
+    public List<Match> findSimilar(UUID profileId, SimilarityMetric metric, int minShared, int limit, Match after) {
+        return index.read(state -> {
+            SkillFeatureStore features = state.features();
+            Integer self = features.ordinalOf(profileId);
+            if (self == null) {
+                return List.of();
+            }
+            long[] own = features.ids(self);
+            if (own.length < minShared) {
+                return List.of();
+            }
+            RoaringBitmap[] query = new RoaringBitmap[own.length];
+            for (int i = 0; i < own.length; i++) {
+                query[i] = features.postings(own[i]);
+            }
+
+            RoaringBitmap candidates = atLeast(query, Math.max(1, minShared));
+            candidates.remove(self);
+            return new SimilarityScorer(features, metric, self).topK(candidates.toArray(), limit, after);
+        });
+    }
+
+    /**
+     * Like {@link #findSimilar} but only scores the profiles that collide with
+     * the given one in at least one LSH band, trading a little recall for a
+     * lookup that no longer grows with the number of profiles.
+     */
+    public List<Match> findSimilarApproximate(UUID profileId, SimilarityMetric metric, int minShared, int limit,
+            Match after) {
+        return index.read(state -> {
+            SkillFeatureStore features = state.features();
+            Integer self = features.ordinalOf(profileId);
+            if (self == null || features.ids(self).length < minShared) {
+                return List.of();
+            }
+            long[] own = features.ids(self);
+            int[] candidates = state.lsh().candidates(self).stream()
+                    .filter(ordinal -> countShared(own, features.ids(ordinal)) >= minShared)
+                    .toArray();
+            return new SimilarityScorer(features, metric, self).topK(candidates, limit, after);
+        });
+    }
+
+    /**
+     * Runs exact and approximate search for a random sample of profiles and
+     * reports how many of the exact top {@code k} the approximate search found.
+     */
+    public RecallReport evaluateRecall(SimilarityMetric metric, int minShared, int k, int sampleSize, long seed) {
+        List<UUID> sample = index.read(state -> {
+            SkillFeatureStore features = state.features();
+            List<UUID> sampled = new ArrayList<>();
+            Random random = new Random(seed);
+            int ordinals = features.ordinalCount();
+            for (int attempt = 0; attempt < sampleSize * 4 && sampled.size() < sampleSize && ordinals > 0;
+                    attempt++) {
+                int ordinal = random.nextInt(ordinals);
+                if (features.ids(ordinal).length >= minShared) {
+                    sampled.add(features.profileId(ordinal));
+                }
+            }
+            return sampled;
+        });
+
+        double recallSum = 0;
+        long exactNanos = 0;
+        long approximateNanos = 0;
+        int evaluated = 0;
+        for (UUID profileId : sample) {
+            long started = System.nanoTime();
+            List<Match> exact = findSimilar(profileId, metric, minShared, k, null);
+            long split = System.nanoTime();
+            List<Match> approximate = findSimilarApproximate(profileId, metric, minShared, k, null);
+            approximateNanos += System.nanoTime() - split;
+            exactNanos += split - started;
+            if (exact.isEmpty()) {
+                continue;
+            }
+            Set<UUID> found = new HashSet<>();
+            approximate.forEach(match -> found.add(match.profileId()));
+            recallSum += exact.stream().filter(match -> found.contains(match.profileId())).count()
+                    / (double) exact.size();
+            evaluated++;
+        }
+        int queries = Math.max(1, sample.size());
+        return new RecallReport(evaluated, evaluated == 0 ? 1.0 : recallSum / evaluated,
+                exactNanos / 1e6 / queries, approximateNanos / 1e6 / queries);
+    }
+
+    /**
+     * Profiles holding at least {@code minMissing} skills the given profile
+     * lacks, scored by how many such skills they bring, best first.
+     */
+    public List<Match> findComplementary(UUID profileId, int minMissing, int limit, Match after) {
+        return index.read(state -> {
+            SkillFeatureStore features = state.features();
+            Integer self = features.ordinalOf(profileId);
+            long[] own = self != null ? features.ids(self) : new long[0];
+
+            TopK<Match> top = new TopK<>(limit, RANKING);
+            for (int ordinal = 0; ordinal < features.ordinalCount(); ordinal++) {
+                if (self != null && ordinal == self) {
+                    continue;
+                }
+                long[] skills = features.ids(ordinal);
+                int missing = skills.length - countShared(own, skills);
+                if (missing >= Math.max(1, minMissing)) {
+                    offer(top, new Match(features.profileId(ordinal), missing), after);
+                }
+            }
+            return top.toSortedList();
+        });
+    }
+
+    /**
+     * Profiles holding any of the given definitions, scored by the share of
+     * them they cover weighted by proficiency, best first. Only profiles
+     * passing {@code accept} are ranked.
+     */
+    public List<Match> findCovering(long[] definitionIds, int limit, Match after, Predicate<UUID> accept) {
+        return index.read(state -> {
+            SkillFeatureStore features = state.features();
+            long[] wanted = definitionIds.clone();
+            Arrays.sort(wanted);
+            RoaringBitmap candidates = new RoaringBitmap();
+            for (long id : wanted) {
+                RoaringBitmap postings = features.postings(id);
+                if (postings != null) {
+                    candidates.or(postings);
+                }
+            }
+
+            TopK<Match> top = new TopK<>(limit, RANKING);
+            candidates.forEach((int ordinal) -> {
+                UUID profileId = features.profileId(ordinal);
+                if (accept.test(profileId)) {
+                    double covered = coveredWeight(wanted, features.ids(ordinal), features.weights(ordinal));
+                    offer(top, new Match(profileId, covered / wanted.length), after);
+                }
+            });
+            return top.toSortedList();
+        });
+    }
+
+    public SkillVector vectorOf(UUID profileId) {
+        return index.read(state -> {
+            SkillFeatureStore features = state.features();
+            Integer ordinal = features.ordinalOf(profileId);
+            return ordinal == null
+                    ? new SkillVector(new long[0], new float[0])
+                    : new SkillVector(features.ids(ordinal).clone(), features.weights(ordinal).clone());
+        });
+    }
+
+    /** Sum of the weights of {@code ids} that also appear in the sorted {@code wanted}. */
+    static double coveredWeight(long[] wanted, long[] ids, float[] weights) {
+        double covered = 0;
+        int i = 0;
+        for (int j = 0; j < ids.length && i < wanted.length; j++) {
+            while (i < wanted.length && wanted[i] < ids[j]) {
+                i++;
+            }
+            if (i < wanted.length && wanted[i] == ids[j]) {
+                covered += weights[j];
+                i++;
+            }
+        }
+        return covered;
+    }
+
+    /** Sorted definition ids held by the profile; empty when it has none. */
+    public long[] skillsOf(UUID profileId) {
+        return index.read(state -> {
+            SkillFeatureStore features = state.features();
+            Integer ordinal = features.ordinalOf(profileId);
+            return ordinal == null ? new long[0] : features.ids(ordinal).clone();
+        });
+    }
+
+    private static void offer(TopK<Match> top, Match match, Match after) {
+        if (after == null || RANKING.compare(match, after) > 0) {
+            top.offer(match);
+        }
+    }
+
+    // Both arrays are sorted, so a single merge pass counts the intersection
+    static int countShared(long[] a, long[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Ordinals present in at least {@code threshold} of the bitmaps, computed
+     * with a running set of "seen at least j times" bitmaps.
+     */
+    static RoaringBitmap atLeast(RoaringBitmap[] bitmaps, int threshold) {
+        RoaringBitmap[] seen = new RoaringBitmap[threshold];
+        for (int j = 0; j < threshold; j++) {
+            seen[j] = new RoaringBitmap();
+        }
+        for (RoaringBitmap bitmap : bitmaps) {
+            for (int j = threshold - 1; j > 0; j--) {
+                seen[j].or(RoaringBitmap.and(seen[j - 1], bitmap));
+            }
+            seen[0].or(bitmap);
+        }
+        return seen[threshold - 1];
+    }
+
+    private static void apply(State state, SkillChangedEvent event) {
+        SkillFeatureStore store = state.features();
+        if (event.removedDefinitionId() != null) {
+            store.remove(event.profileId(), event.removedDefinitionId());
+        }
+        if (event.addedDefinitionId() != null) {
+            store.put(event.profileId(), event.addedDefinitionId(), weightOf(event.proficiency()));
+        }
+        Integer ordinal = store.ordinalOf(event.profileId());
+        if (ordinal != null) {
+            state.lsh().update(ordinal, store.ids(ordinal));
+        }
+    }
+
+    /** The feature store and the LSH tables over it; replaced together on rebuild. */
+    private record State(SkillFeatureStore features, MinHashLsh lsh) {
+    }
+
+    private static float weightOf(Proficiency proficiency) {
+        return proficiency != null ? proficiency.getWeight() : Proficiency.INTERMEDIATE.getWeight();
+    }
+}
@@ -2,28 +2,42 @@ package com.example.backend.services;
 
 import com.example.backend.dto.SkillDto;
 import com.example.backend.dto.SkillUpdateDto;
+import com.example.backend.enums.Proficiency;
 import com.example.backend.exceptions.DuplicateResourceException;
 import com.example.backend.exceptions.ResourceNotFoundException;
+import com.example.backend.mappers.SkillMapper;
 import com.example.backend.models.Profile;
 import com.example.backend.models.Skill;
 import com.example.backend.repositories.SkillRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.backend.models.SkillDefinition;
 import com.example.backend.repositories.SkillDefinitionRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class SkillService {
+    static final int MAX_SUGGESTIONS = 50;
+
     private final SkillRepository skillRepository;
     private final SkillDefinitionRepository skillDefinitionRepository;
     private final ProfileService profileService;
-    private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SkillAutocompleteIndex skillAutocompleteIndex;
+    private final SkillDefinitionResolver skillDefinitionResolver;
 
     public List<SkillDto> getCurrentUserSkills() {
         Profile profile = profileService.getCurrentUserProfile();
@@ -35,22 +49,13 @@ public class SkillService {
     public SkillDto addSkill(SkillUpdateDto skillDto) {
         Profile profile = profileService.getCurrentUserProfile();
 
-        boolean skillExists = skillRepository.findByProfile(profile).stream()
-                .anyMatch(s -> s.getName().equalsIgnoreCase(skillDto.getName()));
-
-        if (skillExists) {
+        ResolvedDefinition resolved = resolveDefinition(skillDto.getName());
+        SkillDefinition definition = resolved.definition();
+        // Also catches "React.js" resolving to the "ReactJS" already on the profile
+        if (skillRepository.existsByProfileAndDefinition(profile, definition)) {
             throw new DuplicateResourceException("Skill already exists in your profile");
         }
 
-        String normalizedName = skillDto.getName().trim().toLowerCase();
-        SkillDefinition definition = skillDefinitionRepository.findByNormalizedName(normalizedName)
-                .orElseGet(() -> {
-                    SkillDefinition newDef = SkillDefinition.builder()
-                            .name(skillDto.getName())
-                            .build();
-                    return skillDefinitionRepository.save(Objects.requireNonNull(newDef));
-                });
-
         Skill skill = Skill.builder()
                 .definition(definition)
                 .proficiency(skillDto.getProficiency())
@@ -59,9 +64,14 @@ public class SkillService {
 
         skill = skillRepository.save(Objects.requireNonNull(skill));
         profile.calculateCompletion();
+        profile.setSkillsChangedAt(Instant.now());
         profileService.saveProfile(profile);
+        eventPublisher.publishEvent(
+                new SkillChangedEvent(profile.getId(), null, definition.getId(), skill.getProficiency()));
 
-        return convertToDto(skill);
+        SkillDto result = convertToDto(skill);
+        result.setSuggestedName(resolved.suggestedName());
+        return result;
     }
 
     public SkillDto updateSkill(UUID skillId, SkillUpdateDto skillDto) {
@@ -69,31 +79,33 @@ public class SkillService {
         Skill skill = skillRepository.findByIdAndProfile(skillId, profile)
                 .orElseThrow(() -> new ResourceNotFoundException("Skill not found"));
 
-        boolean nameConflict = skillRepository.findByProfile(profile).stream()
-                .filter(s -> !s.getId().equals(skillId))
-                .anyMatch(s -> s.getName().equalsIgnoreCase(skillDto.getName()));
-
-        if (nameConflict) {
+        ResolvedDefinition resolved = resolveDefinition(skillDto.getName());
+        SkillDefinition definition = resolved.definition();
+        if (skillRepository.existsByProfileAndDefinitionAndIdNot(profile, definition, skillId)) {
             throw new DuplicateResourceException("Another skill with this name already exists");
         }
 
-        String normalizedName = skillDto.getName().trim().toLowerCase();
-        SkillDefinition definition = skillDefinitionRepository.findByNormalizedName(normalizedName)
-                .orElseGet(() -> {
-                    SkillDefinition newDef = SkillDefinition.builder()
-                            .name(skillDto.getName())
-                            .build();
-                    return skillDefinitionRepository.save(Objects.requireNonNull(newDef));
-                });
-
+        Long previousDefinitionId = skill.getDefinition() != null ? skill.getDefinition().getId() : null;
+        Proficiency previousProficiency = skill.getProficiency();
         skill.setDefinition(definition);
         skill.setProficiency(skillDto.getProficiency());
         skill = skillRepository.save(Objects.requireNonNull(skill));
+        boolean changed = !Objects.equals(previousDefinitionId, definition.getId())
+                || previousProficiency != skill.getProficiency();
 
         profile.calculateCompletion();
+        if (changed) {
+            profile.setSkillsChangedAt(Instant.now());
+        }
         profileService.saveProfile(profile);
+        if (changed) {
+            eventPublisher.publishEvent(new SkillChangedEvent(profile.getId(), previousDefinitionId,
+                    definition.getId(), skill.getProficiency()));
+        }
 
-        return convertToDto(skill);
+        SkillDto result = convertToDto(skill);
+        result.setSuggestedName(resolved.suggestedName());
+        return result;
     }
 
     public void deleteSkill(UUID skillId) {
@@ -103,18 +115,146 @@ public class SkillService {
 
         skillRepository.delete(Objects.requireNonNull(skill));
         profile.calculateCompletion();
+        profile.setSkillsChangedAt(Instant.now());
         profileService.saveProfile(profile);
+        if (skill.getDefinition() != null) {
+            eventPublisher.publishEvent(
+                    new SkillChangedEvent(profile.getId(), skill.getDefinition().getId(), null, null));
+        }
+    }
+
+    /**
+     * Replaces the profile's whole skill set: skills missing from the list
+     * are removed, changed proficiencies updated and new skills added, all in
+     * one transaction. Definitions for the names are resolved like
+     * {@link #addSkill} does, but in batched queries; the changes are flushed
+     * as batched statements with the profile, and completion is recomputed
+     * once.
+     */
+    @Transactional
+    public List<SkillDto> replaceSkills(List<SkillUpdateDto> skillDtos) {
+        Profile profile = profileService.getCurrentUserProfile();
+        Map<String, SkillDefinition> definitions = resolveDefinitions(
+                skillDtos.stream().map(SkillUpdateDto::getName).toList());
+
+        Map<Long, SkillUpdateDto> wanted = new LinkedHashMap<>();
+        for (SkillUpdateDto skillDto : skillDtos) {
+            SkillDefinition definition = definitions.get(SkillDefinitionResolver.normalize(skillDto.getName()));
+            if (wanted.putIfAbsent(definition.getId(), skillDto) != null) {
+                throw new IllegalArgumentException("Skill listed more than once: " + skillDto.getName());
+            }
+        }
+
+        List<SkillChangedEvent> changes = new ArrayList<>();
+        Iterator<Skill> existing = profile.getSkills().iterator();
+        while (existing.hasNext()) {
+            Skill skill = existing.next();
+            Long definitionId = skill.getDefinition().getId();
+            SkillUpdateDto skillDto = wanted.remove(definitionId);
+            if (skillDto == null) {
+                existing.remove();
+                changes.add(new SkillChangedEvent(profile.getId(), definitionId, null, null));
+            } else if (skill.getProficiency() != skillDto.getProficiency()) {
+                skill.setProficiency(skillDto.getProficiency());
+                changes.add(new SkillChangedEvent(profile.getId(), definitionId, definitionId,
+                        skill.getProficiency()));
+            }
+        }
+        wanted.forEach((definitionId, skillDto) -> {
+            profile.getSkills().add(Skill.builder()
+                    .definition(definitions.get(SkillDefinitionResolver.normalize(skillDto.getName())))
+                    .proficiency(skillDto.getProficiency())
+                    .profile(profile)
+                    .build());
+            changes.add(new SkillChangedEvent(profile.getId(), null, definitionId, skillDto.getProficiency()));
+        });
+
+        if (!changes.isEmpty()) {
+            profile.calculateCompletion();
+            profile.setSkillsChangedAt(Instant.now());
+            profileService.saveProfile(profile);
+            changes.forEach(eventPublisher::publishEvent);
+        }
+        return profile.getSkills().stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    public List<String> searchSkills(String query, int limit) {
+        return skillAutocompleteIndex.suggest(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    private record ResolvedDefinition(SkillDefinition definition, String suggestedName) {
+    }
+
+    /**
+     * The definition for an entered name. A name differing from an existing
+     * one only in separators ("React.js" for "ReactJS") reuses it; otherwise
+     * a new definition is created, and a name within a typo or two of an
+     * existing one is returned as a suggestion for the client to offer.
+     */
+    private ResolvedDefinition resolveDefinition(String name) {
+        Optional<SkillDefinition> existing = skillDefinitionResolver.find(name);
+        if (existing.isPresent()) {
+            return new ResolvedDefinition(existing.get(), null);
+        }
+
+        SkillAutocompleteIndex.Correction correction = skillAutocompleteIndex.correctionFor(name);
+        Optional<SkillDefinition> canonical = sameUpToSeparators(correction);
+        if (canonical.isPresent()) {
+            return new ResolvedDefinition(canonical.get(), null);
+        }
+        return new ResolvedDefinition(skillDefinitionResolver.findOrCreate(name),
+                correction != null ? correction.name() : null);
+    }
+
+    /**
+     * Definitions for all the names, keyed by normalized name, resolved as
+     * {@link #resolveDefinition} does but without suggestions: exact names in
+     * one query, then separator variants of used definitions in another, and
+     * only the rest created.
+     */
+    private Map<String, SkillDefinition> resolveDefinitions(List<String> names) {
+        Map<String, SkillDefinition> definitions = new HashMap<>(skillDefinitionResolver.findAll(names));
+        Map<String, Long> variants = new LinkedHashMap<>();
+        for (String name : names) {
+            if (!definitions.containsKey(SkillDefinitionResolver.normalize(name))) {
+                SkillAutocompleteIndex.Correction correction = skillAutocompleteIndex.correctionFor(name);
+                if (correction != null && correction.distance() == 0) {
+                    variants.put(name, correction.definitionId());
+                }
+            }
+        }
+        Map<Long, SkillDefinition> canonical = new HashMap<>();
+        if (!variants.isEmpty()) {
+            skillDefinitionRepository.findAllById(List.copyOf(variants.values()))
+                    .forEach(definition -> canonical.put(definition.getId(), definition));
+        }
+
+        List<String> misses = new ArrayList<>();
+        for (String name : names) {
+            String normalized = SkillDefinitionResolver.normalize(name);
+            SkillDefinition definition = canonical.get(variants.get(name));
+            if (definition != null) {
+                definitions.putIfAbsent(normalized, definition);
+            } else if (!definitions.containsKey(normalized)) {
+                misses.add(name);
+            }
+        }
+        if (!misses.isEmpty()) {
+            definitions.putAll(skillDefinitionResolver.findOrCreateAll(misses));
+        }
+        return definitions;
     }
 
-    public List<String> searchSkills(String query) {
-        // Updated to search in definitions
-        // Note: You might want to update the repo method to join with definitions
-        return skillRepository.findSkillNamesContaining(query.toLowerCase());
+    // Distance 0 means the name differs from a used definition only in separators
+    private Optional<SkillDefinition> sameUpToSeparators(SkillAutocompleteIndex.Correction correction) {
+        return correction != null && correction.distance() == 0
+                ? skillDefinitionRepository.findById(correction.definitionId())
+                : Optional.empty();
     }
 
     private SkillDto convertToDto(Skill skill) {
-        SkillDto dto = modelMapper.map(skill, SkillDto.class);
-        dto.setName(skill.getName());
-        return dto;
+        return SkillMapper.toDto(skill);
     }
 }
\ No newline at end of file
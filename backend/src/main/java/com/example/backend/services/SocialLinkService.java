@@ -3,11 +3,11 @@ package com.example.backend.services;
 import com.example.backend.dto.SocialLinkDto;
 import com.example.backend.dto.SocialLinkCreateDto;
 import com.example.backend.exceptions.ResourceNotFoundException;
+import com.example.backend.mappers.SocialLinkMapper;
 import com.example.backend.models.Profile;
 import com.example.backend.models.SocialLink;
 import com.example.backend.repositories.SocialLinkRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,7 +22,6 @@ import org.springframework.lang.NonNull;
 public class SocialLinkService {
     private final SocialLinkRepository socialLinkRepository;
     private final ProfileService profileService;
-    private final ModelMapper modelMapper;
 
     public List<SocialLinkDto> getCurrentUserSocialLinks() {
         Profile profile = profileService.getCurrentUserProfile();
@@ -53,6 +52,6 @@ public class SocialLinkService {
     }
 
     private SocialLinkDto convertToDto(SocialLink socialLink) {
-        return modelMapper.map(socialLink, SocialLinkDto.class);
+        return SocialLinkMapper.toDto(socialLink);
     }
 }
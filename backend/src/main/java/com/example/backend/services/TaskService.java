@@ -1,6 +1,7 @@
 package com.example.backend.services;
 
 import com.example.backend.dto.TaskDto; // Need to create this
+import com.example.backend.enums.DigestEventType;
 import com.example.backend.enums.TaskPriority;
 import com.example.backend.enums.TaskStatus;
 import com.example.backend.exceptions.ResourceNotFoundException;
@@ -10,6 +11,7 @@ import com.example.backend.models.Task;
 import com.example.backend.repositories.ProjectRepository;
 import com.example.backend.repositories.TaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +27,7 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final ProfileService profileService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TaskDto createTask(UUID projectId, TaskDto taskDto) {
@@ -47,6 +50,7 @@ public class TaskService {
         task.setDeadline(taskDto.getDueDate() != null ? taskDto.getDueDate() : LocalDateTime.now().plusDays(7));
         
         Task savedTask = taskRepository.save(task);
+        publishAssignment(savedTask);
         return convertToDto(savedTask);
     }
 
@@ -62,12 +66,17 @@ public class TaskService {
         if (taskDto.getTags() != null) task.setTags(taskDto.getTags());
         if (taskDto.getDueDate() != null) task.setDeadline(taskDto.getDueDate());
         
+        boolean reassigned = false;
         if (taskDto.getAssigneeId() != null) {
              Profile assignee = profileService.getProfileById(taskDto.getAssigneeId());
+             reassigned = task.getAssignedTo() == null || !task.getAssignedTo().getId().equals(assignee.getId());
              task.setAssignedTo(assignee);
         }
 
         Task updatedTask = taskRepository.save(Objects.requireNonNull(task));
+        if (reassigned) {
+            publishAssignment(updatedTask);
+        }
         return convertToDto(updatedTask);
     }
     
@@ -86,6 +95,16 @@ public class TaskService {
                 .toList();
     }
 
+    private void publishAssignment(Task task) {
+        Profile assignee = task.getAssignedTo();
+        // No digest entry for assigning a task to yourself
+        if (assignee == null || assignee.getId().equals(profileService.getCurrentUserProfile().getId())) {
+            return;
+        }
+        eventPublisher.publishEvent(new DigestEvent(assignee.getId(), DigestEventType.TASK_ASSIGNED,
+                task.getTitle() + " in " + task.getProject().getTitle()));
+    }
+
     private TaskDto convertToDto(Task task) {
         return TaskDto.builder()
                 .id(task.getId())
@@ -0,0 +1,75 @@
+package com.example.backend.services;
+
+import com.example.backend.models.RevokedToken;
+import com.example.backend.repositories.RevokedTokenRepository;
+import com.example.backend.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Persists access-token revocations and keeps {@link TokenRevocationList} in
+ * sync with the table, so revocations made on any instance reach every other
+ * one within the reload interval without a DB read per request.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final long accessTokenExpirationMs;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+            TokenRevocationList revocationList,
+            @Value("${app.jwt.expiration}") long accessTokenExpirationMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationList = revocationList;
+        this.accessTokenExpirationMs = accessTokenExpirationMs;
+    }
+
+    public void revokeAccessToken(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenKey(TokenRevocationList.jtiKey(claims.getId()))
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        revocationList.revokeToken(claims.getId(), expiresAt);
+    }
+
+    public void revokeAllForUser(String username) {
+        Instant now = Instant.now();
+        // Tokens issued before now are dead once they would have expired anyway
+        Instant expiresAt = now.plusMillis(accessTokenExpirationMs);
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenKey(TokenRevocationList.userKey(username))
+                .revokedAt(now)
+                .expiresAt(expiresAt)
+                .build());
+        revocationList.revokeUser(username, now, expiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.reload-ms:5000}",
+            initialDelayString = "${app.jwt.revocation.reload-ms:5000}")
+    @Transactional
+    public void reload() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        if (purged > 0) {
+            log.debug("Purged {} expired token revocations", purged);
+        }
+        revocationList.rebuild(revokedTokenRepository.findByExpiresAtAfter(now));
+    }
+}
@@ -2,14 +2,14 @@ package com.example.backend.services;
 
 import com.example.backend.dto.RegisterRequest;
 import com.example.backend.enums.RoleName;
+import com.example.backend.mappers.UserMapper;
 import com.example.backend.models.User;
 import com.example.backend.repositories.UserRepository;
+import com.example.backend.security.CurrentProfileContext;
+import com.example.backend.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -19,7 +19,11 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final com.example.backend.repositories.RoleRepository roleRepository;
-    private final ModelMapper modelMapper;
+    private final PrincipalCache principalCache;
+    private final CurrentProfileContext currentProfileContext;
+    private final ProfileService profileService;
+    private final PasswordService passwordService;
+    private final RefreshTokenService refreshTokenService;
 
     public Optional<User> findUserByUsername(String username) {
         return userRepository.findByUsername(username);
@@ -30,7 +34,7 @@ public class UserService {
     }
 
     public User saveUser(RegisterRequest req) {
-        User user = modelMapper.map(req, User.class);
+        User user = UserMapper.toEntity(req);
         com.example.backend.models.Role role = roleRepository.findByRoleName(RoleName.ROLE_USER)
                 .orElseThrow(() -> new RuntimeException("Role not found: ROLE_USER"));
         user.setRole(role);
@@ -38,31 +42,51 @@ public class UserService {
         return userRepository.save(Objects.requireNonNull(user));
     }
 
-    public User updateUser(User user) {
-        return userRepository.save(Objects.requireNonNull(user));
+    /**
+     * Persists a new user with its empty profile and verification OTP in one
+     * transaction. The password on the request must already be encoded.
+     */
+    @Transactional
+    public User registerUser(RegisterRequest req) {
+        User savedUser = saveUser(req);
+        passwordService.generateEmailVerificationOtp(Objects.requireNonNull(req.getEmail()));
+        profileService.createProfile(savedUser);
+        return savedUser;
     }
 
-    public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()
-                || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new com.example.backend.exceptions.UnauthorizedException("User is not authenticated");
-        }
-
-        String username;
-        Object principal = authentication.getPrincipal();
+    public User updateUser(User user) {
+        User saved = userRepository.save(Objects.requireNonNull(user));
+        // Role may have changed, so the cached authorities are stale
+        principalCache.evict(saved.getUsername());
+        return saved;
+    }
 
-        if (principal instanceof UserDetails user) {
-            username = user.getUsername();
-        } else {
-            username = principal.toString();
+    /**
+     * Stores a new password hash only if the stored one is still
+     * {@code oldPassword}. Writes just that column, so nothing else on a
+     * detached copy of the user can overwrite newer data.
+     */
+    @Transactional
+    public boolean replacePassword(User user, String oldPassword, String newPassword) {
+        if (userRepository.replacePassword(user.getId(), oldPassword, newPassword) == 0) {
+            return false;
         }
+        principalCache.evict(user.getUsername());
+        return true;
+    }
 
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new com.example.backend.exceptions.UnauthorizedException("User not found"));
+    public User getCurrentUser() {
+        return currentProfileContext.getUser();
     }
 
+    @Transactional
     public void deleteUser(User user) {
-        userRepository.delete(Objects.requireNonNull(user));
+        // Refresh tokens reference the user, so they go first; access tokens stop working right away
+        refreshTokenService.revokeAll(Objects.requireNonNull(user));
+        if (user.getProfile() != null) {
+            profileService.publishDeletion(user.getProfile());
+        }
+        userRepository.delete(user);
+        principalCache.evict(user.getUsername());
     }
 }
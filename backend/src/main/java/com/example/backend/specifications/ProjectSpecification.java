@@ -1,27 +1,53 @@
 package com.example.backend.specifications;
 
 import com.example.backend.enums.ProjectLevel;
+import com.example.backend.models.Profile;
 import com.example.backend.models.Project;
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.models.Team;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 public class ProjectSpecification {
 
-    public static Specification<Project> withDynamicQuery(String search, ProjectLevel level, List<String> technologies, String category) {
+    public static Specification<Project> createdBy(UUID profileId) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy").get("id"), profileId);
+    }
+
+    // EXISTS so a project is listed once however its team is joined
+    public static Specification<Project> hasMember(UUID profileId) {
         return (root, query, cb) -> {
-            Specification<Project> spec = Specification.where(null);
+            Subquery<UUID> members = query.subquery(UUID.class);
+            Root<Project> project = members.from(Project.class);
+            Join<Team, Profile> member = project.join("team").join("members");
+            members.select(member.get("id"))
+                    .where(cb.equal(project, root), cb.equal(member.get("id"), profileId));
+            return cb.exists(members);
+        };
+    }
 
-            if (search != null && !search.isEmpty()) {
-                String searchPattern = "%" + search.toLowerCase() + "%";
-                Specification<Project> searchSpec = (r, q, c) -> c.or(
-                        c.like(c.lower(r.get("title")), searchPattern),
-                        c.like(c.lower(r.get("description")), searchPattern)
-                        // Note: searching within element collection (technologies) is harder with simple 'like', usually requires join.
-                        // For simplicity, we search title/desc first.
-                );
-                spec = spec.and(searchSpec);
-            }
+    // Ranked search result pages are loaded by id and reordered by the caller
+    public static Specification<Project> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Free-text search goes through ProjectSearchIndex rather than LIKE.
+     * {@code technologyIds} keeps projects using any of the given skill
+     * definitions; null means no technology filter and an empty list
+     * matches nothing. Null {@code remote} and {@code openSource} do not
+     * filter.
+     */
+    public static Specification<Project> withDynamicQuery(ProjectLevel level, List<Long> technologyIds, String category,
+            Boolean remote, Boolean openSource) {
+        return (root, query, cb) -> {
+            Specification<Project> spec = Specification.where(null);
 
             if (level != null) {
                 spec = spec.and((r, q, c) -> c.equal(r.get("level"), level));
@@ -31,14 +57,28 @@ public class ProjectSpecification {
                 spec = spec.and((r, q, c) -> c.equal(r.get("category"), category));
             }
             
-            if (technologies != null && !technologies.isEmpty()) {
-                // We want projects that contain ANY of the given technologies
-                // or ALL? Usually filtering implies "contains at least one" or "contains all".
-                // Note: Distinct is important when joining to avoid duplicate results
-                if (query != null) query.distinct(true);
-                
-                jakarta.persistence.criteria.Join<Project, String> techJoin = root.join("technologies");
-                spec = spec.and((r, q, c) -> techJoin.in(technologies));
+            if (remote != null) {
+                spec = spec.and((r, q, c) -> c.equal(r.get("isRemote"), remote));
+            }
+
+            if (openSource != null) {
+                spec = spec.and((r, q, c) -> c.equal(r.get("isOpenSource"), openSource));
+            }
+
+            if (technologyIds != null) {
+                // EXISTS over the indexed (project_id, skill_definition_id) join table instead of
+                // joining the page query, so no DISTINCT is needed
+                spec = spec.and((r, q, c) -> {
+                    if (technologyIds.isEmpty()) {
+                        return c.disjunction();
+                    }
+                    Subquery<Long> uses = q.subquery(Long.class);
+                    Root<Project> project = uses.from(Project.class);
+                    Join<Project, SkillDefinition> technology = project.join("technologies");
+                    uses.select(technology.get("id"))
+                            .where(c.equal(project, r), technology.get("id").in(technologyIds));
+                    return c.exists(uses);
+                });
             }
             
             return spec.toPredicate(root, query, cb);
@@ -0,0 +1,119 @@
+package com.example.backend.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree over strings under Levenshtein distance. Each child
+ * hangs off its parent by their distance, so a search within {@code k} of a
+ * query only descends into children whose edge lies within {@code k} of the
+ * query's distance to the parent (triangle inequality). Searches also stop
+ * after a fixed number of node visits, so their cost has a hard ceiling
+ * however large the dictionary grows; past that ceiling results may be
+ * incomplete but are never wrong.
+ */
+public class BkTree<V> {
+
+    public record Hit<V>(String key, V value, int distance) {
+    }
+
+    private Node<V> root;
+    private int size;
+
+    public void add(String key, V value) {
+        if (root == null) {
+            root = new Node<>(key, value);
+            size++;
+            return;
+        }
+        Node<V> node = root;
+        while (true) {
+            int distance = distance(key, node.key);
+            if (distance == 0) {
+                node.values.add(value);
+                return;
+            }
+            Node<V> child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node<>(key, value));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /** Number of distinct keys. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Values whose key is within {@code maxDistance} of the query, visiting
+     * at most {@code maxVisits} nodes.
+     */
+    public List<Hit<V>> search(String query, int maxDistance, int maxVisits) {
+        List<Hit<V>> hits = new ArrayList<>();
+        if (root == null) {
+            return hits;
+        }
+        List<Node<V>> frontier = new ArrayList<>();
+        frontier.add(root);
+        int visits = 0;
+        while (!frontier.isEmpty() && visits < maxVisits) {
+            Node<V> node = frontier.remove(frontier.size() - 1);
+            visits++;
+            int distance = distance(query, node.key);
+            if (distance <= maxDistance) {
+                for (V value : node.values) {
+                    hits.add(new Hit<>(node.key, value, distance));
+                }
+            }
+            for (Map.Entry<Integer, Node<V>> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    frontier.add(child.getValue());
+                }
+            }
+        }
+        return hits;
+    }
+
+    /** Levenshtein distance with two rolling rows. */
+    public static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Node<V> {
+        private final String key;
+        private final List<V> values = new ArrayList<>(1);
+        private final Map<Integer, Node<V>> children = new HashMap<>(4);
+
+        Node(String key, V value) {
+            this.key = key;
+            values.add(value);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.backend.utils;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * BM25 ranking over postings kept as bitmaps of document ordinals in a
+ * sorted map, shared by the in-memory search indexes. Documents weight each
+ * term by the field it appears in, and query terms of
+ * {@link #MIN_PREFIX_LENGTH} or more characters that match nothing are
+ * expanded to the indexed terms starting with them.
+ */
+public final class Bm25 {
+
+    public static final int MAX_PREFIX_EXPANSIONS = 20;
+    public static final int MIN_PREFIX_LENGTH = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** A scored document: each term's field-weighted frequency, and their sum. */
+    public interface Document {
+
+        Map<String, Float> weights();
+
+        float length();
+    }
+
+    private Bm25() {
+    }
+
+    /** The distinct analyzed terms of a query, in order. */
+    public static List<String> queryTerms(String text) {
+        return new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.terms(text)));
+    }
+
+    /** Adds the analyzed terms of one field to a document's weights. */
+    public static void addField(Map<String, Float> weights, String text, float weight) {
+        TextAnalyzer.terms(text).forEach(term -> weights.merge(term, weight, Float::sum));
+    }
+
+    public static float length(Map<String, Float> weights) {
+        float length = 0;
+        for (float weight : weights.values()) {
+            length += weight;
+        }
+        return length;
+    }
+
+    /** The term itself when indexed, otherwise the indexed terms it is a prefix of. */
+    public static List<String> expand(TreeMap<String, ?> terms, String term) {
+        if (terms.containsKey(term)) {
+            return List.of(term);
+        }
+        if (term.length() < MIN_PREFIX_LENGTH) {
+            return List.of();
+        }
+        return terms.subMap(term, term + Character.MAX_VALUE).keySet().stream()
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .toList();
+    }
+
+    /**
+     * Scores of the allowed documents matching any of the terms, keyed by
+     * ordinal. {@code documentCount} and {@code totalLength} describe the
+     * whole collection, not just the allowed part.
+     */
+    public static Map<Integer, Double> score(List<String> terms, TreeMap<String, RoaringBitmap> postings,
+            RoaringBitmap allowed, IntFunction<? extends Document> documents, int documentCount,
+            double totalLength) {
+        double averageLength = documentCount == 0 ? 1 : totalLength / documentCount;
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Map<Integer, Double> termScores = new HashMap<>();
+            for (String expanded : expand(postings, term)) {
+                RoaringBitmap matching = postings.get(expanded);
+                double idf = idf(documentCount, matching.getCardinality());
+                RoaringBitmap.and(matching, allowed).forEach((int ordinal) -> {
+                    Document document = documents.apply(ordinal);
+                    double score = bm25(idf, document.weights().get(expanded), document.length(), averageLength);
+                    // An expanded prefix counts once per document, by its best completion
+                    termScores.merge(ordinal, score, Math::max);
+                });
+            }
+            termScores.forEach((ordinal, score) -> scores.merge(ordinal, score, Double::sum));
+        }
+        return scores;
+    }
+
+    static double idf(int documentCount, int documentFrequency) {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    static double bm25(double idf, float frequency, float length, double averageLength) {
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.backend.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded map that evicts the least recently used entry, split into
+ * independently locked stripes. Each stripe is an access-ordered
+ * {@link LinkedHashMap}, so lookups, inserts and evictions are all O(1).
+ * Entries matching {@code stale} are also dropped from the cold end of a
+ * stripe as new ones arrive, each at most once.
+ */
+public class BoundedCache<K, V> {
+
+    private static final int MAX_STRIPES = 16;
+
+    private final Stripe<K, V>[] stripes;
+    private final Predicate<? super V> stale;
+
+    public BoundedCache(int maxSize) {
+        this(maxSize, value -> false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maxSize, Predicate<? super V> stale) {
+        // A power of two no larger than maxSize, so the stripes together never exceed it
+        int count = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, maxSize)));
+        int capacity = Math.max(1, maxSize / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(capacity);
+        }
+        this.stale = stale;
+    }
+
+    /** The cached value, marking it recently used; null when absent. */
+    public V get(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            dropStale(stripe);
+            stripe.put(key, value);
+        }
+    }
+
+    /** Like {@link Map#computeIfAbsent}; the function runs under the stripe's lock, so keep it cheap. */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            V value = stripe.get(key);
+            if (value == null) {
+                dropStale(stripe);
+                value = mappingFunction.apply(key);
+                stripe.put(key, value);
+            }
+            return value;
+        }
+    }
+
+    public void remove(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    // Least recently used first, so the scan stops at the first live entry
+    private void dropStale(Stripe<K, V> stripe) {
+        Iterator<V> values = stripe.values().iterator();
+        while (values.hasNext() && stale.test(values.next())) {
+            values.remove();
+        }
+    }
+
+    private static final class Stripe<K, V> extends LinkedHashMap<K, V> {
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
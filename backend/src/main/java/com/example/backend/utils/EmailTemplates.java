@@ -2,7 +2,17 @@ package com.example.backend.utils;
 
 import org.springframework.lang.NonNull;
 
+import java.util.List;
+import java.util.Map;
+
 public class EmailTemplates {
+    // Fixed fragments of the digest, built once rather than per email
+    private static final String DIGEST_HEADER = "<html><body style='font-family:sans-serif;'>"
+            + "<h2 style='color:#2196F3;'>Your Collabro activity</h2>";
+    private static final String DIGEST_SECTION_OPEN = "<h3 style='color:#FF9800;margin-bottom:4px;'>";
+    private static final String DIGEST_SECTION_CLOSE = "</h3><ul style='margin-top:0;'>";
+    private static final String FOOTER = "<hr><small>&copy; 2025 Collabro</small></body></html>";
+
     @NonNull
     public static String welcomeTemplate(String username) {
         return "<html><body style='font-family:sans-serif;'>"
@@ -45,4 +55,46 @@ public class EmailTemplates {
                 + "<p>Status: <b>" + status + "</b></p>"
                 + "<hr><small>&copy; 2025 Collabro</small></body></html>";
     }
-}
\ No newline at end of file
+
+    /**
+     * One email summarising a recipient's activity for a digest window. Section
+     * headings and items are plain text and escaped here.
+     */
+    @NonNull
+    public static String digestTemplate(String firstname, Map<String, List<String>> sections, int omitted) {
+        StringBuilder html = new StringBuilder(DIGEST_HEADER.length() + FOOTER.length() + 256 * sections.size());
+        html.append(DIGEST_HEADER)
+                .append("<p>Hi ").append(escape(firstname != null && !firstname.isBlank() ? firstname : "there"))
+                .append(", here is what happened while you were away.</p>");
+        sections.forEach((heading, items) -> {
+            html.append(DIGEST_SECTION_OPEN).append(escape(heading)).append(DIGEST_SECTION_CLOSE);
+            for (String item : items) {
+                html.append("<li>").append(escape(item)).append("</li>");
+            }
+            html.append("</ul>");
+        });
+        if (omitted > 0) {
+            html.append("<p>&hellip;and ").append(omitted).append(" more updates.</p>");
+        }
+        return html.append(FOOTER).toString();
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&#39;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
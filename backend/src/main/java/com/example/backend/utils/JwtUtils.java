@@ -1,6 +1,12 @@
 package com.example.backend.utils;
 
 import com.example.backend.models.User;
+import com.example.backend.security.TokenRevocationList;
+import com.example.backend.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -12,46 +18,69 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
 
+    public static final String ROLE_CLAIM = "role";
+
     private final SecretKey key;
+    // Immutable and thread-safe once built, so one instance serves every request
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList revocationList;
     private final long jwtExpirationMs;
+    private final boolean includeRoleClaim;
 
     public JwtUtils(@Value("${app.jwt.secret}") String jwtSecret,
-            @Value("${app.jwt.expiration}") long jwtExpirationMs) {
+            @Value("${app.jwt.expiration}") long jwtExpirationMs,
+            @Value("${app.jwt.include-role-claim:false}") boolean includeRoleClaim,
+            VerifiedTokenCache verifiedTokenCache,
+            TokenRevocationList revocationList) {
         this.jwtExpirationMs = jwtExpirationMs;
+        this.includeRoleClaim = includeRoleClaim;
         // The secret is treated as a raw string and used to create a signing key.
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
     }
 
     @NonNull
     public String generateJwtToken(@NonNull User user) {
-        return Objects.requireNonNull(Jwts.builder()
+        Date issuedAt = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .setIssuedAt(issuedAt)
+                .claim(TokenRevocationList.ISSUED_AT_MILLIS_CLAIM, issuedAt.getTime())
+                .setExpiration(new Date(issuedAt.getTime() + jwtExpirationMs));
+        // A signed role claim lets the filter authenticate without loading the user
+        if (includeRoleClaim && user.getRole() != null) {
+            builder.claim(ROLE_CLAIM, user.getRole().getRoleName().name());
+        }
+        return Objects.requireNonNull(builder
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact());
     }
 
-    public String getUserNameFromJwtToken(@NonNull String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
-    }
-
-    public boolean validateJwtToken(@NonNull String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            // Handle exceptions like ExpiredJwtException, MalformedJwtException, etc.
-            return false;
+    /**
+     * Verifies the signature and expiry of a token in a single parse and returns
+     * its claims, or empty if the token is invalid or has been revoked.
+     */
+    public Optional<Claims> verifyJwtToken(@NonNull String token) {
+        Claims claims = verifiedTokenCache.get(token);
+        if (claims == null) {
+            try {
+                claims = parser.parseClaimsJws(token).getBody();
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            verifiedTokenCache.put(token, claims);
         }
+        // Checked on every call, cached or not, so a revocation takes effect immediately
+        return revocationList.isRevoked(claims) ? Optional.empty() : Optional.of(claims);
     }
-}
\ No newline at end of file
+}
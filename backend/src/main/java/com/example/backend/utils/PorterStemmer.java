@@ -0,0 +1,324 @@
+package com.example.backend.utils;
+
+/**
+ * The Porter (1980) suffix-stripping stemmer for English, so that
+ * "developers", "developing" and "development" all reduce to "develop".
+ * Expects a lowercase word of letters; anything of two letters or fewer is
+ * returned unchanged.
+ */
+public final class PorterStemmer {
+
+    private final char[] b;
+    // End of the word, and end of the stem once a suffix has been matched
+    private int k;
+    private int j;
+
+    private PorterStemmer(String word) {
+        b = word.toCharArray();
+        k = b.length - 1;
+    }
+
+    public static String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        PorterStemmer stemmer = new PorterStemmer(word);
+        stemmer.step1ab();
+        stemmer.step1c();
+        stemmer.step2();
+        stemmer.step3();
+        stemmer.step4();
+        stemmer.step5();
+        return new String(stemmer.b, 0, stemmer.k + 1);
+    }
+
+    private boolean consonant(int i) {
+        return switch (b[i]) {
+            case 'a', 'e', 'i', 'o', 'u' -> false;
+            case 'y' -> i == 0 || !consonant(i - 1);
+            default -> true;
+        };
+    }
+
+    /** Number of vowel-consonant sequences in b[0..j]. */
+    private int measure() {
+        int n = 0;
+        int i = 0;
+        while (true) {
+            if (i > j) {
+                return n;
+            }
+            if (!consonant(i)) {
+                break;
+            }
+            i++;
+        }
+        i++;
+        while (true) {
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (consonant(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+            n++;
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (!consonant(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+        }
+    }
+
+    private boolean vowelInStem() {
+        for (int i = 0; i <= j; i++) {
+            if (!consonant(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean doubleConsonant(int i) {
+        return i >= 1 && b[i] == b[i - 1] && consonant(i);
+    }
+
+    /** Consonant-vowel-consonant ending at i, the last consonant not w, x or y ("hop", not "snow"). */
+    private boolean cvc(int i) {
+        if (i < 2 || !consonant(i) || consonant(i - 1) || !consonant(i - 2)) {
+            return false;
+        }
+        char c = b[i];
+        return c != 'w' && c != 'x' && c != 'y';
+    }
+
+    private boolean ends(String suffix) {
+        int length = suffix.length();
+        int offset = k - length + 1;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (b[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        j = k - length;
+        return true;
+    }
+
+    // Replacements are never longer than the suffix they replace plus one removed earlier
+    private void setTo(String replacement) {
+        for (int i = 0; i < replacement.length(); i++) {
+            b[j + 1 + i] = replacement.charAt(i);
+        }
+        k = j + replacement.length();
+    }
+
+    private void replaceIfMeasured(String replacement) {
+        if (measure() > 0) {
+            setTo(replacement);
+        }
+    }
+
+    /** Plurals and -ed / -ing. */
+    private void step1ab() {
+        if (b[k] == 's') {
+            if (ends("sses")) {
+                k -= 2;
+            } else if (ends("ies")) {
+                setTo("i");
+            } else if (b[k - 1] != 's') {
+                k--;
+            }
+        }
+        if (ends("eed")) {
+            if (measure() > 0) {
+                k--;
+            }
+        } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+            k = j;
+            if (ends("at")) {
+                setTo("ate");
+            } else if (ends("bl")) {
+                setTo("ble");
+            } else if (ends("iz")) {
+                setTo("ize");
+            } else if (doubleConsonant(k)) {
+                k--;
+                char c = b[k];
+                if (c == 'l' || c == 's' || c == 'z') {
+                    k++;
+                }
+            } else if (measure() == 1 && cvc(k)) {
+                setTo("e");
+            }
+        }
+    }
+
+    /** Terminal y to i when the stem has a vowel. */
+    private void step1c() {
+        if (ends("y") && vowelInStem()) {
+            b[k] = 'i';
+        }
+    }
+
+    /** Double suffixes to single ones: -ization to -ize, -fulness to -ful, ... */
+    private void step2() {
+        if (k == 0) {
+            return;
+        }
+        switch (b[k - 1]) {
+            case 'a' -> {
+                if (ends("ational")) {
+                    replaceIfMeasured("ate");
+                } else if (ends("tional")) {
+                    replaceIfMeasured("tion");
+                }
+            }
+            case 'c' -> {
+                if (ends("enci")) {
+                    replaceIfMeasured("ence");
+                } else if (ends("anci")) {
+                    replaceIfMeasured("ance");
+                }
+            }
+            case 'e' -> {
+                if (ends("izer")) {
+                    replaceIfMeasured("ize");
+                }
+            }
+            case 'l' -> {
+                if (ends("bli")) {
+                    replaceIfMeasured("ble");
+                } else if (ends("alli")) {
+                    replaceIfMeasured("al");
+                } else if (ends("entli")) {
+                    replaceIfMeasured("ent");
+                } else if (ends("eli")) {
+                    replaceIfMeasured("e");
+                } else if (ends("ousli")) {
+                    replaceIfMeasured("ous");
+                }
+            }
+            case 'o' -> {
+                if (ends("ization")) {
+                    replaceIfMeasured("ize");
+                } else if (ends("ation")) {
+                    replaceIfMeasured("ate");
+                } else if (ends("ator")) {
+                    replaceIfMeasured("ate");
+                }
+            }
+            case 's' -> {
+                if (ends("alism")) {
+                    replaceIfMeasured("al");
+                } else if (ends("iveness")) {
+                    replaceIfMeasured("ive");
+                } else if (ends("fulness")) {
+                    replaceIfMeasured("ful");
+                } else if (ends("ousness")) {
+                    replaceIfMeasured("ous");
+                }
+            }
+            case 't' -> {
+                if (ends("aliti")) {
+                    replaceIfMeasured("al");
+                } else if (ends("iviti")) {
+                    replaceIfMeasured("ive");
+                } else if (ends("biliti")) {
+                    replaceIfMeasured("ble");
+                }
+            }
+            case 'g' -> {
+                if (ends("logi")) {
+                    replaceIfMeasured("log");
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /** -ic-, -full, -ness and similar. */
+    private void step3() {
+        switch (b[k]) {
+            case 'e' -> {
+                if (ends("icate")) {
+                    replaceIfMeasured("ic");
+                } else if (ends("ative")) {
+                    replaceIfMeasured("");
+                } else if (ends("alize")) {
+                    replaceIfMeasured("al");
+                }
+            }
+            case 'i' -> {
+                if (ends("iciti")) {
+                    replaceIfMeasured("ic");
+                }
+            }
+            case 'l' -> {
+                if (ends("ical")) {
+                    replaceIfMeasured("ic");
+                } else if (ends("ful")) {
+                    replaceIfMeasured("");
+                }
+            }
+            case 's' -> {
+                if (ends("ness")) {
+                    replaceIfMeasured("");
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /** Drops -ant, -ence, -ment and the like from stems with measure above one. */
+    private void step4() {
+        if (k == 0) {
+            return;
+        }
+        boolean matched = switch (b[k - 1]) {
+            case 'a' -> ends("al");
+            case 'c' -> ends("ance") || ends("ence");
+            case 'e' -> ends("er");
+            case 'i' -> ends("ic");
+            case 'l' -> ends("able") || ends("ible");
+            case 'n' -> ends("ant") || ends("ement") || ends("ment") || ends("ent");
+            case 'o' -> (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) || ends("ou");
+            case 's' -> ends("ism");
+            case 't' -> ends("ate") || ends("iti");
+            case 'u' -> ends("ous");
+            case 'v' -> ends("ive");
+            case 'z' -> ends("ize");
+            default -> false;
+        };
+        if (matched && measure() > 1) {
+            k = j;
+        }
+    }
+
+    /** A final -e, and -ll to -l, on long enough stems. */
+    private void step5() {
+        j = k;
+        if (b[k] == 'e') {
+            int m = measure();
+            if (m > 1 || m == 1 && !cvc(k - 1)) {
+                k--;
+            }
+        }
+        if (b[k] == 'l' && doubleConsonant(k) && measure() > 1) {
+            k--;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into index terms: lowercased tokens split on anything but
+ * letters, digits, '+' and '#' (so "C++" and "C#" survive), common English
+ * stop words dropped, and purely alphabetic words reduced with
+ * {@link PorterStemmer}.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "into", "is",
+            "it", "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "was", "we", "will",
+            "with", "you", "your");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty() || STOP_WORDS.contains(token) || !hasLetterOrDigit(token)) {
+                continue;
+            }
+            terms.add(isAlphabetic(token) ? PorterStemmer.stem(token) : token);
+        }
+        return terms;
+    }
+
+    private static boolean hasLetterOrDigit(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isLetterOrDigit(token.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAlphabetic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
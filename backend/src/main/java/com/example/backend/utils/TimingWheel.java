@@ -0,0 +1,73 @@
+package com.example.backend.utils;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel. Scheduling is O(1) and each tick only visits the keys
+ * hashed into its slot; keys due more than one revolution ahead simply stay in
+ * their slot until a later pass reaches their deadline.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final Queue<Timeout<K>>[] slots;
+    private final int mask;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        // Round up to a power of two so a slot index is a simple mask
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.slots = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = size - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(K key, long deadlineMillis) {
+        // Round up so a key never fires before its deadline
+        long tick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        slots[(int) (tick & mask)].add(new Timeout<>(key, tick));
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, handing every key whose
+     * deadline has passed to {@code expired}.
+     */
+    public synchronized void advance(long nowMillis, Consumer<K> expired) {
+        long targetTick = nowMillis / tickMillis;
+        // After a long pause one full revolution already covers every slot
+        long steps = Math.min(targetTick - currentTick, slots.length);
+        for (long i = 1; i <= steps; i++) {
+            Iterator<Timeout<K>> it = slots[(int) ((currentTick + i) & mask)].iterator();
+            while (it.hasNext()) {
+                Timeout<K> timeout = it.next();
+                if (timeout.tick() <= targetTick) {
+                    it.remove();
+                    expired.accept(timeout.key());
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Queue<Timeout<K>> slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private record Timeout<K>(K key, long tick) {
+    }
+}
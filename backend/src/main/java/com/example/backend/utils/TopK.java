@@ -0,0 +1,56 @@
+package com.example.backend.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code k} of any number of offered items using a min-heap of
+ * size k, so memory stays O(k) however many candidates are scanned. "Best"
+ * means first in the given ordering.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> ordering;
+    private final PriorityQueue<T> heap;
+
+    public TopK(int k, Comparator<? super T> ordering) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.k = k;
+        this.ordering = ordering;
+        // Root is the worst item kept so far
+        this.heap = new PriorityQueue<>(Math.max(1, k + 1), ordering.reversed());
+    }
+
+    public void offer(T item) {
+        if (k == 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.offer(item);
+        } else if (ordering.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.offer(item);
+        }
+    }
+
+    public void offerAll(TopK<? extends T> other) {
+        other.heap.forEach(this::offer);
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /** The kept items, best first. */
+    public List<T> toSortedList() {
+        List<T> items = new ArrayList<>(heap);
+        items.sort(ordering);
+        return Collections.unmodifiableList(items);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.dto.ProfileDto;
+import com.example.backend.dto.SkillDto;
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.SocialPlatform;
+import com.example.backend.mappers.ProfileMapper;
+import com.example.backend.mappers.SkillMapper;
+import com.example.backend.models.Profile;
+import com.example.backend.models.Skill;
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.models.SocialLink;
+import com.example.backend.models.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of the reflective ModelMapper mapping the services used to
+ * do against the hand-written mappers, for a profile with its skills and
+ * social links and for a single skill. ModelMapper's type maps are built
+ * during setup, so only steady-state mapping is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int SKILLS = 10;
+
+    private ModelMapper modelMapper;
+    private Profile profile;
+    private Skill skill;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(UUID.randomUUID()).username("benchmark-user")
+                .email("benchmark@example.com").password("x").build();
+        profile = Profile.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .firstname("Ada")
+                .lastname("Lovelace")
+                .bio("Writes the first programs")
+                .education("Private tuition")
+                .location("London")
+                .phone("+44 20 0000 0000")
+                .profilePictureUrl("uploads/profile-pictures/ada.png")
+                .preferredTeamSize("SMALL")
+                .projectInterests(new ArrayList<>(List.of("education", "research")))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        Proficiency[] levels = Proficiency.values();
+        for (int i = 0; i < SKILLS; i++) {
+            SkillDefinition definition = SkillDefinition.builder().id((long) i).name("Skill " + i)
+                    .normalizedName("skill " + i).build();
+            profile.getSkills().add(Skill.builder().id(UUID.randomUUID()).definition(definition)
+                    .proficiency(levels[i % levels.length]).profile(profile).build());
+        }
+        for (SocialPlatform platform : List.of(SocialPlatform.values()).subList(0, 2)) {
+            SocialLink link = new SocialLink();
+            link.setPlatform(platform);
+            link.setUrl("https://example.com/" + platform.name().toLowerCase());
+            link.setProfile(profile);
+            profile.getSocialLinks().add(link);
+        }
+        skill = profile.getSkills().get(0);
+
+        modelMapper = new ModelMapper();
+        modelMapper.map(profile, ProfileDto.class);
+        modelMapper.map(skill, SkillDto.class);
+    }
+
+    @Benchmark
+    public ProfileDto profileModelMapper() {
+        return modelMapper.map(profile, ProfileDto.class);
+    }
+
+    @Benchmark
+    public ProfileDto profileHandWritten() {
+        return ProfileMapper.toDto(profile);
+    }
+
+    @Benchmark
+    public SkillDto skillModelMapper() {
+        return modelMapper.map(skill, SkillDto.class);
+    }
+
+    @Benchmark
+    public SkillDto skillHandWritten() {
+        return SkillMapper.toDto(skill);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
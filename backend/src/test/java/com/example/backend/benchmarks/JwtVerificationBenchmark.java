@@ -0,0 +1,74 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.models.User;
+import com.example.backend.security.TokenRevocationList;
+import com.example.backend.security.VerifiedTokenCache;
+import com.example.backend.utils.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy two-parse JWT check in JwtAuthenticationFilter against
+ * the single-pass {@link JwtUtils#verifyJwtToken(String)} with and without the
+ * verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "ThisIsAVeryStrongAndSecureSecretKeyForJWTs12345!";
+
+    private SecretKey key;
+    private JwtUtils cachedJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        cachedJwtUtils = new JwtUtils(SECRET, 3_600_000, false, new VerifiedTokenCache(4096),
+                new TokenRevocationList());
+        uncachedJwtUtils = new JwtUtils(SECRET, 3_600_000, false, new VerifiedTokenCache(0),
+                new TokenRevocationList());
+
+        User user = new User();
+        user.setUsername("benchmark-user");
+        token = cachedJwtUtils.generateJwtToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyTwoParses() {
+        String username = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody().getSubject();
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return username != null;
+    }
+
+    @Benchmark
+    public boolean singlePassSharedParser() {
+        return uncachedJwtUtils.verifyJwtToken(token).isPresent();
+    }
+
+    @Benchmark
+    public boolean singlePassCached() {
+        return cachedJwtUtils.verifyJwtToken(token).isPresent();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.SimilarityMetric;
+import com.example.backend.services.SimilarityScorer;
+import com.example.backend.services.SkillFeatureStore;
+import com.example.backend.services.SkillIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Scores every profile in the feature store against one query profile, on one
+ * thread and split across the fork-join pool. Skills are drawn with a skewed
+ * distribution so a few are common and most are rare, as in real profiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SimilarityScoringBenchmark {
+
+    private static final int DEFINITIONS = 2_000;
+    private static final int SKILLS_PER_PROFILE = 8;
+    private static final int LIMIT = 50;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int profiles;
+
+    @Param({ "OVERLAP", "COSINE", "JACCARD" })
+    public SimilarityMetric metric;
+
+    private SimilarityScorer scorer;
+    private int[] candidates;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Proficiency[] levels = Proficiency.values();
+        SkillFeatureStore store = new SkillFeatureStore();
+        for (int i = 0; i < profiles; i++) {
+            UUID profileId = UUID.randomUUID();
+            for (int k = 0; k < SKILLS_PER_PROFILE; k++) {
+                // Squaring a uniform draw skews ids towards the low, "popular" end
+                double u = random.nextDouble();
+                long definitionId = (long) (u * u * DEFINITIONS);
+                store.put(profileId, definitionId, levels[random.nextInt(levels.length)].getWeight());
+            }
+        }
+        candidates = IntStream.range(1, store.ordinalCount()).toArray();
+        scorer = new SimilarityScorer(store, metric, 0);
+    }
+
+    @Benchmark
+    public List<SkillIndex.Match> sequential() {
+        return scorer.topK(candidates, LIMIT, null, false);
+    }
+
+    @Benchmark
+    public List<SkillIndex.Match> forkJoin() {
+        return scorer.topK(candidates, LIMIT, null, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SimilarityScoringBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,21 +1,28 @@
 package com.example.backend.controllers;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
+import com.example.backend.services.PasswordHashingService;
 import com.example.backend.services.PasswordService;
-import com.example.backend.services.ProfileService;
+import com.example.backend.services.RefreshTokenService;
+import com.example.backend.services.TokenRevocationService;
 import com.example.backend.services.UserService;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,11 +32,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.example.backend.dto.LoginRequest;
+import com.example.backend.exceptions.GlobalExceptionHandler;
+import com.example.backend.exceptions.UnauthorizedException;
 import com.example.backend.dto.RegisterRequest;
 import com.example.backend.models.User;
 import com.example.backend.services.EmailService;
@@ -45,17 +54,17 @@ class AuthControllerTest {
     @Mock
     private UserService userService;
     @Mock
-    private PasswordEncoder passwordEncoder;
-    @Mock
-    private ProfileService profileService;
+    private PasswordHashingService passwordHashingService;
     @Mock
     private JwtUtils jwtUtils;
     @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+    @Mock
     private EmailService emailService;
     @Mock
     private PasswordService passwordService;
-    @Mock
-    private org.modelmapper.ModelMapper modelMapper;
 
     @InjectMocks
     private AuthController authController;
@@ -90,19 +99,22 @@ class AuthControllerTest {
         // Arrange
         when(userService.findUserByUsername(anyString())).thenReturn(Optional.empty());
         when(userService.findUserByEmail(anyString())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userService.saveUser(any(RegisterRequest.class))).thenReturn(testUser);
-        doNothing().when(passwordService).generateEmailVerificationOtp(Objects.requireNonNull(anyString()));
+        when(passwordHashingService.encode(anyString()))
+                .thenReturn(CompletableFuture.completedFuture("encodedPassword"));
+        when(userService.registerUser(any(RegisterRequest.class))).thenReturn(testUser);
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
                 .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
                 .content(Objects.requireNonNull(objectMapper.writeValueAsString(registerRequest))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.message").value("Registration successful"));
 
-        verify(userService).saveUser(any(RegisterRequest.class));
-        verify(passwordService).generateEmailVerificationOtp(Objects.requireNonNull(anyString()));
+        verify(userService).registerUser(argThat(req -> "encodedPassword".equals(req.getPassword())));
     }
 
     @Test
@@ -111,9 +123,13 @@ class AuthControllerTest {
         when(userService.findUserByUsername(anyString())).thenReturn(Optional.of(testUser));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
                 .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
                 .content(Objects.requireNonNull(objectMapper.writeValueAsString(registerRequest))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Username already exists"));
     }
@@ -125,9 +141,13 @@ class AuthControllerTest {
         when(userService.findUserByEmail(anyString())).thenReturn(Optional.of(testUser));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
                 .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
                 .content(Objects.requireNonNull(objectMapper.writeValueAsString(registerRequest))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Email already exists"));
     }
@@ -136,26 +156,32 @@ class AuthControllerTest {
     void login_WithValidCredentials_ShouldReturnJwtCookie() throws Exception {
         // Arrange
         when(userService.findUserByUsername(anyString())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtUtils.generateJwtToken(Objects.requireNonNull(any(User.class)))).thenReturn("testToken");
-        when(modelMapper.map(Objects.requireNonNull(any(User.class)), eq(com.example.backend.dto.UserDto.class)))
-                .thenReturn(new com.example.backend.dto.UserDto());
+        when(passwordHashingService.matches(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(jwtUtils.generateJwtToken(any(User.class))).thenReturn("testToken");
+        when(refreshTokenService.issue(any(User.class))).thenReturn("testRefreshToken");
+        when(refreshTokenService.getRefreshExpirationMs()).thenReturn(1_209_600_000L);
 
         // Act
-        MockHttpServletResponse response = mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
                 .content(Objects.requireNonNull(objectMapper.writeValueAsString(loginRequest))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.user").exists())
+                .andExpect(jsonPath("$.user.username").value(testUser.getUsername()))
                 .andReturn().getResponse();
 
-        // Assert cookie
-        String cookieHeader = response.getHeader(HttpHeaders.SET_COOKIE);
-        assertNotNull(cookieHeader);
-        assertTrue(cookieHeader.contains("jwt=testToken"));
-        assertTrue(cookieHeader.contains("HttpOnly"));
-        assertTrue(cookieHeader.contains("Secure"));
-        assertTrue(cookieHeader.contains("SameSite=Strict"));
+        // Assert cookies: short-lived access token plus a refresh token scoped to /api/auth
+        List<String> cookies = response.getHeaders(HttpHeaders.SET_COOKIE);
+        assertEquals(2, cookies.size());
+        assertTrue(cookies.get(0).contains("jwt=testToken"));
+        assertTrue(cookies.get(0).contains("HttpOnly"));
+        assertTrue(cookies.get(1).contains("refresh_token=testRefreshToken"));
+        assertTrue(cookies.get(1).contains("Path=/api/auth"));
+        assertTrue(cookies.get(1).contains("HttpOnly"));
     }
 
     @Test
@@ -164,9 +190,13 @@ class AuthControllerTest {
         when(userService.findUserByUsername(anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
                 .content(Objects.requireNonNull(objectMapper.writeValueAsString(loginRequest))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.message").value("Invalid credentials"));
     }
@@ -176,16 +206,39 @@ class AuthControllerTest {
         // Arrange
         testUser.setVerified(false);
         when(userService.findUserByUsername(anyString())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordHashingService.matches(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(true));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
                 .content(Objects.requireNonNull(objectMapper.writeValueAsString(loginRequest))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.message").value("Email not verified"));
     }
 
+    @Test
+    void refresh_WithoutRefreshCookie_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Missing refresh token"));
+    }
+
+    @Test
+    void refresh_WithExpiredOrReusedCookie_ShouldReturnUnauthorized() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(refreshTokenService.rotate("stale")).thenThrow(new UnauthorizedException("Invalid refresh token"));
+
+        mockMvc.perform(post("/api/auth/refresh").cookie(new Cookie("refresh_token", "stale")))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void forgotPassword_WithValidEmail_ShouldReturnOk() throws Exception {
         // Arrange
@@ -0,0 +1,65 @@
+package com.example.backend.controllers;
+
+import com.example.backend.exceptions.BadRequestException;
+import com.example.backend.exceptions.GlobalExceptionHandler;
+import com.example.backend.models.Profile;
+import com.example.backend.services.MatchingService;
+import com.example.backend.services.ProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private MatchingService matchingService;
+
+    @Mock
+    private ProfileService profileService;
+
+    @InjectMocks
+    private MatchingController matchingController;
+
+    private UUID profileId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(matchingController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        profileId = UUID.randomUUID();
+        Profile profile = new Profile();
+        profile.setId(profileId);
+        given(profileService.getCurrentUserProfile()).willReturn(profile);
+    }
+
+    @Test
+    void getSimilarProfiles_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        given(matchingService.findSimilarProfiles(eq(profileId), eq("not-a-cursor"), anyInt()))
+                .willThrow(new BadRequestException("Invalid cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/matching/similar").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid cursor"));
+    }
+}
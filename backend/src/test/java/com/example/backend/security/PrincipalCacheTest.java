@@ -0,0 +1,68 @@
+package com.example.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return new User(username, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    };
+
+    @Test
+    void get_RepeatedLookup_ShouldHitCache() {
+        PrincipalCache cache = new PrincipalCache(10, 60_000);
+
+        cache.get("alice", loader);
+        UserDetails result = cache.get("alice", loader);
+
+        assertEquals("alice", result.getUsername());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void get_AfterEvict_ShouldReload() {
+        PrincipalCache cache = new PrincipalCache(10, 60_000);
+
+        cache.get("alice", loader);
+        cache.evict("alice");
+        cache.get("alice", loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void get_ExpiredEntry_ShouldReload() {
+        PrincipalCache cache = new PrincipalCache(10, 0);
+
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenFull_ShouldStayBounded() {
+        PrincipalCache cache = new PrincipalCache(3, 60_000);
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("user" + i, loader);
+        }
+
+        assertTrue(cache.size() <= 3);
+    }
+}
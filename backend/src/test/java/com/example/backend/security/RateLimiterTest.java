@@ -0,0 +1,93 @@
+package com.example.backend.security;
+
+import com.example.backend.configuration.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static RateLimitProperties.Policy policy(String name, int capacity) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setPattern("/api/test");
+        policy.setCapacity(capacity);
+        policy.setRefillTokens(capacity);
+        policy.setRefillPeriod(Duration.ofHours(1));
+        return policy;
+    }
+
+    @Test
+    void tokenBucket_ShouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 1, 1_000, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(1_000, bucket.tryConsume(0));
+        assertEquals(500, bucket.tryConsume(500));
+        assertEquals(0, bucket.tryConsume(1_000));
+    }
+
+    @Test
+    void tokenBucket_ShouldNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, 1_000, 0);
+
+        assertEquals(0, bucket.tryConsume(1_000_000));
+        assertEquals(0, bucket.tryConsume(1_000_000));
+        assertTrue(bucket.tryConsume(1_000_000) > 0);
+    }
+
+    @Test
+    void tokenBucket_ShouldReportFullOnceRefilled() {
+        TokenBucket bucket = new TokenBucket(2, 1, 1_000, 0);
+
+        assertTrue(bucket.isFull(0));
+        bucket.tryConsume(0);
+        assertFalse(bucket.isFull(500));
+        assertTrue(bucket.isFull(1_000));
+    }
+
+    @Test
+    void tryAcquire_IdleBucketNotYetRefilled_ShouldNotBeDropped() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ZERO);
+        RateLimiter limiter = new RateLimiter(properties);
+        RateLimitProperties.Policy login = policy("login", 1);
+
+        assertEquals(0, limiter.tryAcquire(login, "ip:1.1.1.1"));
+        // Each new caller gives its stripe a chance to drop idle buckets
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire(login, "ip:10.0." + i);
+        }
+
+        assertTrue(limiter.tryAcquire(login, "ip:1.1.1.1") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldLimitEachCallerSeparately() {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties());
+        RateLimitProperties.Policy login = policy("login", 2);
+
+        assertEquals(0, limiter.tryAcquire(login, "ip:1.1.1.1"));
+        assertEquals(0, limiter.tryAcquire(login, "ip:1.1.1.1"));
+        assertTrue(limiter.tryAcquire(login, "ip:1.1.1.1") > 0);
+        assertEquals(0, limiter.tryAcquire(login, "ip:2.2.2.2"));
+        assertEquals(0, limiter.tryAcquire(policy("upload", 1), "ip:1.1.1.1"));
+    }
+
+    @Test
+    void tryAcquire_ManyCallers_ShouldStayBounded() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(64);
+        RateLimiter limiter = new RateLimiter(properties);
+        RateLimitProperties.Policy login = policy("login", 5);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire(login, "ip:" + i);
+        }
+
+        assertTrue(limiter.size() <= 64);
+    }
+}
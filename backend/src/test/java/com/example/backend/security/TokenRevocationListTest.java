@@ -0,0 +1,112 @@
+package com.example.backend.security;
+
+import com.example.backend.models.RevokedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private static Claims claims(String jti, String username, Instant issuedAt) {
+        Claims claims = legacyClaims(jti, username, issuedAt);
+        claims.put(TokenRevocationList.ISSUED_AT_MILLIS_CLAIM, issuedAt.toEpochMilli());
+        return claims;
+    }
+
+    // As issued before the millisecond claim existed: iat alone, in whole seconds
+    private static Claims legacyClaims(String jti, String username, Instant issuedAt) {
+        Claims claims = Jwts.claims();
+        claims.setId(jti);
+        claims.setSubject(username);
+        claims.setIssuedAt(Date.from(issuedAt.truncatedTo(ChronoUnit.SECONDS)));
+        return claims;
+    }
+
+    @Test
+    void isRevoked_RevokedTokenId_ShouldBeRejected() {
+        TokenRevocationList list = new TokenRevocationList();
+        Instant now = Instant.now();
+
+        list.revokeToken("t1", now.plusSeconds(60));
+
+        assertTrue(list.isRevoked(claims("t1", "alice", now)));
+        assertFalse(list.isRevoked(claims("t2", "alice", now)));
+    }
+
+    @Test
+    void isRevoked_RevokedUser_ShouldRejectOnlyEarlierTokens() {
+        TokenRevocationList list = new TokenRevocationList();
+        Instant now = Instant.now();
+
+        list.revokeUser("alice", now, now.plusSeconds(60));
+
+        assertTrue(list.isRevoked(claims("t1", "alice", now.minusSeconds(10))));
+        assertFalse(list.isRevoked(claims("t2", "alice", now.plusSeconds(10))));
+        assertFalse(list.isRevoked(claims("t3", "bob", now.minusSeconds(10))));
+    }
+
+    @Test
+    void isRevoked_TokenIssuedInTheSecondOfRevocation_ShouldBeOrderedByMillis() {
+        TokenRevocationList list = new TokenRevocationList();
+        Instant revokedAt = Instant.parse("2024-01-01T10:00:00.700Z");
+
+        list.revokeUser("alice", revokedAt, Instant.now().plusSeconds(60));
+
+        assertTrue(list.isRevoked(claims("t1", "alice", Instant.parse("2024-01-01T10:00:00.600Z"))));
+        assertFalse(list.isRevoked(claims("t2", "alice", Instant.parse("2024-01-01T10:00:00.800Z"))));
+        // Without the claim the token's millis are unknown, so the whole second counts as revoked
+        assertTrue(list.isRevoked(legacyClaims("t3", "alice", Instant.parse("2024-01-01T10:00:00.800Z"))));
+    }
+
+    @Test
+    void isRevoked_ExpiredEntry_ShouldBeIgnored() {
+        TokenRevocationList list = new TokenRevocationList();
+        Instant now = Instant.now();
+
+        list.revokeToken("t1", now.minusSeconds(1));
+
+        assertFalse(list.isRevoked(claims("t1", "alice", now)));
+    }
+
+    @Test
+    void rebuild_ShouldMergePersistedAndKeepLocalEntries() {
+        TokenRevocationList list = new TokenRevocationList();
+        Instant now = Instant.now();
+        list.revokeToken("local", now.plusSeconds(60));
+
+        list.rebuild(List.of(RevokedToken.builder()
+                .tokenKey(TokenRevocationList.jtiKey("remote"))
+                .revokedAt(now)
+                .expiresAt(now.plusSeconds(60))
+                .build()));
+
+        assertEquals(2, list.size());
+        assertTrue(list.isRevoked(claims("local", "alice", now)));
+        assertTrue(list.isRevoked(claims("remote", "alice", now)));
+    }
+
+    @Test
+    void bloomFilter_ShouldHaveNoFalseNegatives() {
+        BloomFilter bloom = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloom.add("key" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(bloom.mightContain("key" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloom.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 500);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.DigestEventType;
+import com.example.backend.repositories.ProfileRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DigestServiceTest {
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+
+    private final DigestService digestService = new DigestService(null, null, null, 2);
+
+    private static ProfileRepository.DigestRecipient recipient(UUID id, String email, String firstname) {
+        return new ProfileRepository.DigestRecipient() {
+            public UUID getId() {
+                return id;
+            }
+
+            public String getEmail() {
+                return email;
+            }
+
+            public String getFirstname() {
+                return firstname;
+            }
+        };
+    }
+
+    @Test
+    void collect_ShouldGroupPerRecipientAndCapEvents() {
+        digestService.onEvent(new DigestEvent(ALICE, DigestEventType.JOIN_REQUEST, "Bob asked to join Apollo"));
+        digestService.onEvent(new DigestEvent(ALICE, DigestEventType.TASK_ASSIGNED, "Write docs in Apollo"));
+        digestService.onEvent(new DigestEvent(ALICE, DigestEventType.JOIN_REQUEST, "Carol asked to join Apollo"));
+        digestService.onEvent(new DigestEvent(BOB, DigestEventType.REQUEST_APPROVED, "You joined Apollo"));
+
+        Map<UUID, DigestService.RecipientDigest> digests = digestService.collect(digestService.closeWindow());
+
+        assertEquals(2, digests.size());
+        assertEquals(2, digests.get(ALICE).size());
+        assertEquals(1, digests.get(ALICE).omitted);
+        assertEquals(1, digests.get(BOB).size());
+        // The next window starts empty
+        assertTrue(digestService.collect(digestService.closeWindow()).isEmpty());
+    }
+
+    @Test
+    void flush_WhenRecipientLookupFails_ShouldKeepEventsForTheNextWindow() {
+        ProfileRepository profileRepository = mock(ProfileRepository.class);
+        when(profileRepository.findDigestRecipients(any())).thenThrow(new IllegalStateException("database down"));
+        DigestService failing = new DigestService(profileRepository, null, null, 2);
+        failing.onEvent(new DigestEvent(ALICE, DigestEventType.JOIN_REQUEST, "Bob asked to join Apollo"));
+        failing.onEvent(new DigestEvent(ALICE, DigestEventType.TASK_ASSIGNED, "Write docs in Apollo"));
+
+        failing.flush();
+        failing.onEvent(new DigestEvent(ALICE, DigestEventType.JOIN_REQUEST, "Carol asked to join Apollo"));
+
+        Map<UUID, DigestService.RecipientDigest> digests = failing.collect(failing.closeWindow());
+        assertEquals(2, digests.get(ALICE).size());
+        assertEquals(1, digests.get(ALICE).omitted);
+    }
+
+    @Test
+    void render_ShouldBuildOneEscapedEmailWithSections() {
+        digestService.onEvent(new DigestEvent(ALICE, DigestEventType.TASK_ASSIGNED, "Fix <script> in Apollo"));
+        digestService.onEvent(new DigestEvent(ALICE, DigestEventType.JOIN_REQUEST, "Bob asked to join Apollo"));
+        DigestService.RecipientDigest digest = digestService.collect(digestService.closeWindow()).get(ALICE);
+
+        EmailService.OutgoingEmail email = DigestService.render(recipient(ALICE, "alice@example.com", "Alice"), digest);
+
+        assertEquals("alice@example.com", email.to());
+        assertEquals("Your Collabro digest: 2 updates", email.subject());
+        assertTrue(email.html().contains("Hi Alice"));
+        assertTrue(email.html().contains("Fix &lt;script&gt; in Apollo"));
+        // Sections follow the event type order
+        assertTrue(email.html().indexOf("New join requests") < email.html().indexOf("Tasks assigned to you"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.EmailStatus;
+import com.example.backend.models.EmailOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailOutboxWorkerTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+
+    private FakeSmtpServer server;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private EmailOutboxWorker worker(int port, int maxAttempts) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.from", "noreply@collabro.test");
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        // Persistence is not exercised here, only delivery and status bookkeeping
+        return new EmailOutboxWorker(null, mailSender, null, 50, 10, maxAttempts,
+                INITIAL_BACKOFF, Duration.ofHours(1), Duration.ofMinutes(5));
+    }
+
+    private static EmailOutbox email(long id, String recipient, int attempts) {
+        Instant now = Instant.now();
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Subject " + id)
+                .body("<p>Body " + id + "</p>")
+                .attempts(attempts)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    @Test
+    void deliver_Batch_ShouldSendAllOverOneConnection() throws Exception {
+        server = new FakeSmtpServer(Set.of());
+        List<EmailOutbox> batch = IntStream.range(0, 3)
+                .mapToObj(i -> email(i, "user" + i + "@collabro.test", 0))
+                .toList();
+
+        worker(server.getPort(), 3).deliver(batch, Instant.now());
+
+        assertTrue(batch.stream().allMatch(e -> e.getStatus() == EmailStatus.SENT));
+        assertEquals(3, server.getReceived().size());
+        assertEquals(1, server.getConnectionCount());
+    }
+
+    @Test
+    void deliver_RejectedRecipient_ShouldRetryWithBackoff() throws Exception {
+        server = new FakeSmtpServer(Set.of("bad@collabro.test"));
+        EmailOutbox good = email(1, "good@collabro.test", 0);
+        EmailOutbox bad = email(2, "bad@collabro.test", 0);
+        Instant now = Instant.now();
+
+        worker(server.getPort(), 3).deliver(List.of(good, bad), now);
+
+        assertEquals(EmailStatus.SENT, good.getStatus());
+        assertEquals(EmailStatus.PENDING, bad.getStatus());
+        assertEquals(1, bad.getAttempts());
+        assertEquals(now.plus(INITIAL_BACKOFF), bad.getNextAttemptAt());
+        assertNotNull(bad.getLastError());
+
+        worker(server.getPort(), 3).deliver(List.of(bad), now);
+        assertEquals(now.plus(INITIAL_BACKOFF.multipliedBy(2)), bad.getNextAttemptAt());
+    }
+
+    @Test
+    void deliver_LastAttemptFails_ShouldDeadLetter() throws Exception {
+        server = new FakeSmtpServer(Set.of("bad@collabro.test"));
+        EmailOutbox bad = email(1, "bad@collabro.test", 2);
+
+        worker(server.getPort(), 3).deliver(List.of(bad), Instant.now());
+
+        assertEquals(EmailStatus.DEAD, bad.getStatus());
+        assertEquals(3, bad.getAttempts());
+    }
+
+    @Test
+    void deliver_ServerDown_ShouldRescheduleWholeBatch() throws Exception {
+        server = new FakeSmtpServer(Set.of());
+        int port = server.getPort();
+        server.close();
+        List<EmailOutbox> batch = List.of(email(1, "a@collabro.test", 0), email(2, "b@collabro.test", 0));
+
+        worker(port, 3).deliver(batch, Instant.now());
+
+        assertTrue(batch.stream().allMatch(e -> e.getStatus() == EmailStatus.PENDING && e.getAttempts() == 1));
+    }
+}
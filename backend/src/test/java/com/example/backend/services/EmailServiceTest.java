@@ -1,69 +1,57 @@
 package com.example.backend.services;
 
-import jakarta.mail.internet.MimeMessage;
+import com.example.backend.enums.EmailStatus;
+import com.example.backend.models.EmailOutbox;
+import com.example.backend.repositories.EmailOutboxRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.javamail.JavaMailSender;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.util.Objects;
-
 @ExtendWith(MockitoExtension.class)
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository outboxRepository;
 
     @InjectMocks
     private EmailService emailService;
 
     @Test
-    void sendHtmlEmail_ShouldSendEmailSuccessfully() throws Exception {
-        // Arrange
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-        // Act (for testing make sendHtmlEmail public)
-        emailService.sendHtmlEmail("test@example.com", "Test Subject", "<p>Test Content</p>");
-
-        // Assert
-        verify(mailSender).send(Objects.requireNonNull(mimeMessage));
-    }
-
-    @Test
-    void sendHtmlEmail_ShouldLogErrorOnException() throws Exception {
+    void sendHtmlEmail_ShouldQueuePendingEmail() {
         // Arrange
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doThrow(new MailSendException("Test Exception")).when(mailSender).send(Objects.requireNonNull(mimeMessage));
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
 
-        // Act (for testing make sendHtmlEmail public)
+        // Act
         emailService.sendHtmlEmail("test@example.com", "Test Subject", "<p>Test Content</p>");
 
         // Assert
-        verify(mailSender).send(mimeMessage);
-        // Verify error is logged - you'll need to set up a logger mock for this
+        verify(outboxRepository).save(captor.capture());
+        EmailOutbox queued = captor.getValue();
+        assertEquals("test@example.com", queued.getRecipient());
+        assertEquals("Test Subject", queued.getSubject());
+        assertEquals("<p>Test Content</p>", queued.getBody());
+        assertEquals(EmailStatus.PENDING, queued.getStatus());
+        assertEquals(0, queued.getAttempts());
+        assertNotNull(queued.getNextAttemptAt());
     }
 
     @Test
-    void sendOtpEmail_ShouldCallSendHtmlEmail() {
+    void sendOtpEmail_ShouldQueueOtpTemplate() {
         // Arrange
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
 
         // Act
         emailService.sendOtpEmail("test@example.com", "123456");
 
         // Assert
-        verify(mailSender).send(Objects.requireNonNull(mimeMessage));
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(Objects.requireNonNull(messageCaptor.capture()));
-        // Can't verify exact HTML content without parsing it
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("Your Password Reset OTP", captor.getValue().getSubject());
+        assertTrue(captor.getValue().getBody().contains("123456"));
     }
 }
@@ -0,0 +1,113 @@
+package com.example.backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for delivery tests. Accepts every message
+ * except those addressed to a rejected recipient, and counts connections so
+ * tests can check that a batch shares one.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    record Received(String recipient, String data) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final Set<String> rejectedRecipients;
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Thread acceptor;
+
+    FakeSmtpServer(Set<String> rejectedRecipients) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.rejectedRecipients = rejectedRecipients;
+        this.acceptor = new Thread(this::acceptLoop, "fake-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<Received> getReceived() {
+        return received;
+    }
+
+    int getConnectionCount() {
+        return connections.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connections.incrementAndGet();
+                handle(socket);
+            } catch (IOException e) {
+                // Socket closed by the test or the client hung up
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        reply(out, "220 localhost fake SMTP");
+
+        String recipient = null;
+        boolean rejected = false;
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                reply(out, "250 localhost");
+            } else if (command.startsWith("MAIL FROM")) {
+                recipient = null;
+                rejected = false;
+                reply(out, "250 OK");
+            } else if (command.startsWith("RCPT TO")) {
+                recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                rejected = rejectedRecipients.contains(recipient);
+                reply(out, rejected ? "550 Mailbox unavailable" : "250 OK");
+            } else if (command.equals("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder data = new StringBuilder();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    data.append(line).append('\n');
+                }
+                if (!rejected) {
+                    received.add(new Received(recipient, data.toString()));
+                }
+                reply(out, "250 OK");
+            } else if (command.equals("RSET") || command.equals("NOOP")) {
+                reply(out, "250 OK");
+            } else if (command.equals("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else {
+                reply(out, "502 Command not implemented");
+            }
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
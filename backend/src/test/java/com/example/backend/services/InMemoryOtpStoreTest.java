@@ -0,0 +1,76 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOtpStoreTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Test
+    void verify_WithConsume_ShouldOnlySucceedOnce() {
+        InMemoryOtpStore store = new InMemoryOtpStore(Duration.ofMinutes(10), 5);
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "123456");
+
+        assertTrue(store.verify(EMAIL, TokenType.PASSWORD_RESET, "123456", false));
+        assertTrue(store.verify(EMAIL, TokenType.PASSWORD_RESET, "123456", true));
+        assertFalse(store.verify(EMAIL, TokenType.PASSWORD_RESET, "123456", true));
+    }
+
+    @Test
+    void save_ShouldReplacePreviousCode() {
+        InMemoryOtpStore store = new InMemoryOtpStore(Duration.ofMinutes(10), 5);
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "111111");
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "222222");
+
+        assertFalse(store.verify(EMAIL, TokenType.PASSWORD_RESET, "111111", false));
+        assertTrue(store.verify(EMAIL, TokenType.PASSWORD_RESET, "222222", false));
+    }
+
+    @Test
+    void verify_AfterTooManyWrongGuesses_ShouldRejectCorrectCode() {
+        InMemoryOtpStore store = new InMemoryOtpStore(Duration.ofMinutes(10), 3);
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "123456");
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(store.verify(EMAIL, TokenType.PASSWORD_RESET, "000000", false));
+        }
+
+        assertFalse(store.verify(EMAIL, TokenType.PASSWORD_RESET, "123456", true));
+        // Guesses are counted per email, so a fresh code does not buy more of them
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "654321");
+        assertFalse(store.verify(EMAIL, TokenType.PASSWORD_RESET, "654321", true));
+    }
+
+    @Test
+    void save_AfterConsumedCode_ShouldStartCountingAgain() {
+        InMemoryOtpStore store = new InMemoryOtpStore(Duration.ofMinutes(10), 3);
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "123456");
+        store.verify(EMAIL, TokenType.PASSWORD_RESET, "000000", false);
+        store.verify(EMAIL, TokenType.PASSWORD_RESET, "000000", false);
+        assertTrue(store.verify(EMAIL, TokenType.PASSWORD_RESET, "123456", true));
+
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "654321");
+
+        for (int i = 0; i < 2; i++) {
+            assertFalse(store.verify(EMAIL, TokenType.PASSWORD_RESET, "000000", false));
+        }
+        assertTrue(store.verify(EMAIL, TokenType.PASSWORD_RESET, "654321", true));
+    }
+
+    @Test
+    void purgeExpired_ShouldDropExpiredCodes() {
+        InMemoryOtpStore store = new InMemoryOtpStore(Duration.ZERO, 5);
+        store.save(EMAIL, TokenType.PASSWORD_RESET, "123456");
+
+        assertFalse(store.verify(EMAIL, TokenType.PASSWORD_RESET, "123456", false));
+        // Deadlines round up to the next one-second tick
+        store.purgeExpired(System.currentTimeMillis() + 2000);
+
+        assertEquals(0, store.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.TokenType;
+import com.example.backend.models.PasswordToken;
+import com.example.backend.repositories.PasswordTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaOtpStoreTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private PasswordTokenRepository tokenRepo;
+
+    private JpaOtpStore store() {
+        return new JpaOtpStore(tokenRepo, Duration.ofMinutes(10), 5, 500);
+    }
+
+    private static PasswordToken token(String otp, int attempts) {
+        PasswordToken token = new PasswordToken();
+        token.setId(1L);
+        token.setEmail(EMAIL);
+        token.setOtp(otp);
+        token.setTokenType(TokenType.PASSWORD_RESET);
+        token.setExpiryTime(LocalDateTime.now().plusMinutes(5));
+        token.setAttempts(attempts);
+        return token;
+    }
+
+    @Test
+    void verify_WhenNoAttemptIsLeft_ShouldRejectEvenTheRightCode() {
+        when(tokenRepo.findFirstByEmailAndTokenTypeAndUsedFalseOrderByIdDesc(EMAIL, TokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(token("123456", 4)));
+        // Another request took the last attempt after this one read the row
+        when(tokenRepo.takeAttempt(1L, 5)).thenReturn(0);
+
+        assertFalse(store().verify(EMAIL, TokenType.PASSWORD_RESET, "123456", true));
+        verify(tokenRepo, never()).markUsed(anyLong());
+    }
+
+    @Test
+    void verify_RightCodeWithoutConsume_ShouldGiveTheAttemptBack() {
+        when(tokenRepo.findFirstByEmailAndTokenTypeAndUsedFalseOrderByIdDesc(EMAIL, TokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(token("123456", 0)));
+        when(tokenRepo.takeAttempt(1L, 5)).thenReturn(1);
+
+        assertTrue(store().verify(EMAIL, TokenType.PASSWORD_RESET, "123456", false));
+        verify(tokenRepo).refundAttempt(1L);
+    }
+
+    @Test
+    void save_ShouldCarryAttemptsOfTheCodeItReplaces() {
+        when(tokenRepo.findFirstByEmailAndTokenTypeOrderByIdDesc(EMAIL, TokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(token("123456", 3)));
+
+        store().save(EMAIL, TokenType.PASSWORD_RESET, "654321");
+
+        ArgumentCaptor<PasswordToken> saved = ArgumentCaptor.forClass(PasswordToken.class);
+        verify(tokenRepo).save(saved.capture());
+        assertEquals(3, saved.getValue().getAttempts());
+        assertEquals("654321", saved.getValue().getOtp());
+    }
+}
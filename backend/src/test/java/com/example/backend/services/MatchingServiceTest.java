@@ -0,0 +1,204 @@
+package com.example.backend.services;
+
+import com.example.backend.dto.MatchDto;
+import com.example.backend.dto.MatchPageDto;
+import com.example.backend.enums.MatchingMode;
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.RecommendationKind;
+import com.example.backend.enums.SimilarityMetric;
+import com.example.backend.exceptions.BadRequestException;
+import com.example.backend.exceptions.ForbiddenException;
+import com.example.backend.models.ProfileRecommendation;
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.repositories.ProfileRecommendationRepository;
+import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.repositories.SkillDefinitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchingServiceTest {
+
+    private final UUID me = UUID.randomUUID();
+    private final List<UUID> others = Stream.generate(UUID::randomUUID).limit(5).toList();
+
+    private final UUID project = UUID.randomUUID();
+
+    private ProfileRecommendationRepository recommendationRepository;
+    private ProjectRepository projectRepository;
+    private ProjectIndex projectIndex;
+    private MatchingService matchingService;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> pairs = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            pairs.add(new Object[] { me, id, Proficiency.ADVANCED });
+        }
+        // Each other profile shares skills 1-3 and brings one extra skill of its own
+        for (int i = 0; i < others.size(); i++) {
+            for (long id = 1; id <= 3; id++) {
+                pairs.add(new Object[] { others.get(i), id, Proficiency.ADVANCED });
+            }
+            pairs.add(new Object[] { others.get(i), 10L + i, Proficiency.BEGINNER });
+        }
+        SkillIndex skillIndex = new SkillIndex(null, null, 32, 2, 0);
+        skillIndex.load(pairs.stream());
+
+        ProfileRepository profileRepository = mock(ProfileRepository.class);
+        when(profileRepository.findMatchSummaries(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(MatchingServiceTest::summary).toList();
+        });
+        SkillDefinitionRepository skillDefinitionRepository = mock(SkillDefinitionRepository.class);
+        when(skillDefinitionRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<SkillDefinition> definitions = new ArrayList<>();
+            Iterable<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> definitions.add(SkillDefinition.builder().id(id).name("skill-" + id).build()));
+            return definitions;
+        });
+
+        recommendationRepository = mock(ProfileRecommendationRepository.class);
+
+        projectRepository = mock(ProjectRepository.class);
+        projectIndex = new ProjectIndex(null, null, null);
+        // The project needs skills 1 and 10; only others[0] holds skill 10
+        projectIndex.load(Stream.of(
+                new Object[] { project, me, "web", 1L, "skill-1" },
+                new Object[] { project, me, "web", 10L, "skill-10" }),
+                Stream.<Object[]>of(new Object[] { others.get(0), true, null },
+                        new Object[] { others.get(1), true, null },
+                        new Object[] { others.get(2), false, null },
+                        new Object[] { others.get(3), true, "web" },
+                        new Object[] { others.get(4), true, null }));
+
+        matchingService = new MatchingService(profileRepository, skillDefinitionRepository, skillIndex,
+                recommendationRepository, projectRepository, projectIndex, null, SimilarityMetric.OVERLAP,
+                MatchingMode.EXACT, 100);
+    }
+
+    @Test
+    void findSimilarProfiles_ShouldServeMaterializedRanking() {
+        UUID stored = others.get(4);
+        when(recommendationRepository.findByProfileIdAndKindOrderByRankAsc(me, RecommendationKind.SIMILAR))
+                .thenReturn(List.of(ProfileRecommendation.builder()
+                        .profileId(me)
+                        .kind(RecommendationKind.SIMILAR)
+                        .rank(0)
+                        .candidateId(stored)
+                        .score(0.75)
+                        .build()));
+
+        MatchPageDto<MatchDto> page = matchingService.findSimilarProfiles(me, null, 20);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(stored, page.getItems().get(0).getId());
+        assertEquals(0.75, page.getItems().get(0).getScore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findSimilarProfiles_ShouldWalkAllPagesWithCursor() {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MatchPageDto<MatchDto> page = matchingService.findSimilarProfiles(me, cursor, 2);
+            page.getItems().forEach(item -> {
+                assertEquals(3.0, item.getScore());
+                assertEquals(List.of("skill-1", "skill-2", "skill-3"), item.getMatchedSkills());
+                seen.add(item.getId());
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(others.size(), seen.size());
+        assertTrue(seen.containsAll(others));
+    }
+
+    @Test
+    void findComplementaryProfiles_ShouldListOnlyMissingSkills() {
+        MatchPageDto<MatchDto> page = matchingService.findComplementaryProfiles(me, null, 50);
+
+        assertEquals(others.size(), page.getItems().size());
+        assertNull(page.getNextCursor());
+        MatchDto first = page.getItems().get(0);
+        assertEquals(1.0, first.getScore());
+        assertEquals(List.of("skill-" + (10 + others.indexOf(first.getId()))), first.getMatchedSkills());
+    }
+
+    @Test
+    void findProjectCandidates_ShouldRankOpenProfilesByCoverage() {
+        when(projectRepository.findOwnerIds(List.of(project)))
+                .thenReturn(List.<Object[]>of(new Object[] { project, me }));
+        when(projectRepository.findTeamMemberIds(List.of(project)))
+                .thenReturn(List.<Object[]>of(new Object[] { project, others.get(1) }));
+
+        MatchPageDto<MatchDto> page = matchingService.findProjectCandidates(project, me, null, 20);
+
+        // others[1] is already on the team, others[2] is closed for invites, the rest lack skill 10
+        List<UUID> ids = page.getItems().stream().map(MatchDto::getId).toList();
+        assertEquals(3, ids.size());
+        assertEquals(others.get(0), ids.get(0));
+        assertTrue(ids.containsAll(List.of(others.get(3), others.get(4))));
+        assertEquals(List.of("skill-1", "skill-10"), page.getItems().get(0).getMatchedSkills());
+    }
+
+    @Test
+    void findProjectCandidates_ShouldRejectNonOwner() {
+        when(projectRepository.findOwnerIds(List.of(project)))
+                .thenReturn(List.<Object[]>of(new Object[] { project, others.get(0) }));
+
+        assertThrows(ForbiddenException.class, () -> matchingService.findProjectCandidates(project, me, null, 20));
+    }
+
+    @Test
+    void decodeCursor_ShouldRoundTripAndRejectGarbage() {
+        SkillIndex.Match match = new SkillIndex.Match(me, 2.5);
+
+        assertEquals(match, MatchingService.decodeCursor(MatchingService.encodeCursor(match)));
+        assertThrows(BadRequestException.class, () -> MatchingService.decodeCursor("not-a-cursor"));
+    }
+
+    private static ProfileRepository.MatchSummary summary(UUID id) {
+        return new ProfileRepository.MatchSummary() {
+            public UUID getId() {
+                return id;
+            }
+
+            public String getUsername() {
+                return "user-" + id;
+            }
+
+            public String getFirstname() {
+                return "First";
+            }
+
+            public String getLastname() {
+                return "Last";
+            }
+
+            public String getLocation() {
+                return null;
+            }
+
+            public String getProfilePictureUrl() {
+                return null;
+            }
+        };
+    }
+}
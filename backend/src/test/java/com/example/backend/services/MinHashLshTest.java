@@ -0,0 +1,41 @@
+package com.example.backend.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshTest {
+
+    @Test
+    void candidates_ShouldAlwaysIncludeIdenticalSets() {
+        MinHashLsh lsh = new MinHashLsh(16, 4, 1);
+        lsh.update(0, new long[] { 1, 2, 3, 4 });
+        lsh.update(1, new long[] { 1, 2, 3, 4 });
+        lsh.update(2, new long[] { 100, 200, 300, 400 });
+
+        assertTrue(lsh.candidates(0).contains(1));
+        assertFalse(lsh.candidates(0).contains(2));
+        assertFalse(lsh.candidates(0).contains(0));
+    }
+
+    @Test
+    void update_ShouldMoveProfileOutOfOldBuckets() {
+        MinHashLsh lsh = new MinHashLsh(16, 4, 1);
+        lsh.update(0, new long[] { 1, 2, 3, 4 });
+        lsh.update(1, new long[] { 1, 2, 3, 4 });
+
+        lsh.update(1, new long[] { 100, 200, 300, 400 });
+        assertFalse(lsh.candidates(0).contains(1));
+
+        lsh.update(1, new long[0]);
+        lsh.update(0, new long[0]);
+        assertEquals(0, lsh.bucketCount());
+    }
+
+    @Test
+    void signature_ShouldBeOrderIndependent() {
+        MinHashLsh lsh = new MinHashLsh(8, 2, 7);
+
+        assertArrayEquals(lsh.signature(new long[] { 5, 9, 13 }), lsh.signature(new long[] { 13, 5, 9 }));
+    }
+}
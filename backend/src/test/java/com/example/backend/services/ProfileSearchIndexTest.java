@@ -0,0 +1,127 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.Proficiency;
+import com.example.backend.repositories.ProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProfileSearchIndexTest {
+
+    private final UUID alice = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID bob = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private final UUID carol = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    private static final Map<String, Long> DEFINITIONS = Map.of("Java", 1L, "Spring Boot", 2L, "Python", 3L,
+            "Machine Learning", 4L);
+
+    @Test
+    void search_ShouldRankFreeTextAcrossFields() {
+        ProfileSearchIndex index = index(
+                profile(alice, "Backend developer", "TU Berlin", "Berlin", skill("Java", Proficiency.EXPERT)),
+                profile(bob, "I like machine learning", "MIT", "Boston", skill("Python", Proficiency.ADVANCED),
+                        skill("Machine Learning", Proficiency.ADVANCED)),
+                profile(carol, "Learning to code", null, "Berlin"));
+
+        // Skill names weigh more than the bio; both of Bob's skills match yet he is listed once
+        ProfileSearchIndex.SearchPage page = index.search(text("machine learning"), 0, 10);
+        assertEquals(List.of(bob, carol), page.ids());
+        assertEquals(2, page.total());
+
+        assertEquals(List.of(alice), index.search(text("developers"), 0, 10).ids());
+        assertEquals(List.of(bob), index.search(text("pyth"), 0, 10).ids());
+        assertEquals(List.of(), index.search(text("the"), 0, 10).ids());
+    }
+
+    @Test
+    void search_ShouldFilterEducationAndLocationByWords() {
+        ProfileSearchIndex index = index(
+                profile(alice, null, "TU Berlin", "Berlin, Germany"),
+                profile(bob, null, "MIT", "Boston"),
+                profile(carol, null, "Humboldt University", "Berlin"));
+
+        assertEquals(List.of(alice, carol), index.search(filter(null, null, "berlin"), 0, 10).ids());
+        assertEquals(List.of(alice), index.search(filter("tu", null, "Berlin Germany"), 0, 10).ids());
+        assertEquals(List.of(carol), index.search(filter("Univ", null, null), 0, 10).ids());
+        assertEquals(List.of(), index.search(filter("Stanford", null, null), 0, 10).ids());
+    }
+
+    @Test
+    void search_ShouldFilterBySkillSetAndRankByProficiency() {
+        ProfileSearchIndex index = index(
+                profile(alice, null, null, null, skill("Java", Proficiency.BEGINNER),
+                        skill("Spring Boot", Proficiency.BEGINNER)),
+                profile(bob, null, null, null, skill("Java", Proficiency.EXPERT)),
+                profile(carol, null, null, null, skill("Python", Proficiency.EXPERT)));
+
+        assertEquals(List.of(bob, alice), index.search(skills(List.of("java", " Spring Boot "), null, null), 0, 10)
+                .ids());
+        assertEquals(List.of(alice), index.search(skills(List.of("Java", "Spring Boot"), null, 2), 0, 10).ids());
+        assertEquals(List.of(bob), index.search(skills(List.of("Java"), Proficiency.ADVANCED, null), 0, 10).ids());
+        assertEquals(List.of(), index.search(skills(List.of("Cobol"), null, null), 0, 10).ids());
+
+        ProfileSearchIndex.SearchPage all = index.search(filter(null, null, null), 2, 2);
+        assertEquals(3, all.total());
+        assertEquals(List.of(carol), all.ids());
+    }
+
+    @Test
+    void onSkillChanged_ShouldReindexProfile() {
+        ProfileRepository profileRepository = mock(ProfileRepository.class);
+        ProfileSearchIndex index = new ProfileSearchIndex(profileRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index.load(profile(alice, null, null, "Berlin", skill("Java", Proficiency.BEGINNER)));
+        when(profileRepository.findSearchDocument(alice))
+                .thenReturn(profile(alice, null, null, "Berlin", skill("Python", Proficiency.EXPERT)).toList());
+
+        index.onSkillChanged(new SkillChangedEvent(alice, 1L, 3L, Proficiency.EXPERT));
+
+        assertEquals(List.of(), index.search(skills(List.of("Java"), null, null), 0, 10).ids());
+        assertEquals(List.of(alice), index.search(skills(List.of("Python"), null, null), 0, 10).ids());
+        assertEquals(List.of(alice), index.search(text("python"), 0, 10).ids());
+    }
+
+    @SafeVarargs
+    private ProfileSearchIndex index(Stream<Object[]>... profiles) {
+        ProfileSearchIndex index = new ProfileSearchIndex(null, null);
+        index.load(Stream.of(profiles).flatMap(rows -> rows));
+        return index;
+    }
+
+    private static ProfileSearchIndex.Query text(String text) {
+        return new ProfileSearchIndex.Query(text, null, null, null, null, null);
+    }
+
+    private static ProfileSearchIndex.Query filter(String education, List<String> skills, String location) {
+        return new ProfileSearchIndex.Query(null, skills, null, null, education, location);
+    }
+
+    private static ProfileSearchIndex.Query skills(List<String> skills, Proficiency minProficiency,
+            Integer minShared) {
+        return new ProfileSearchIndex.Query(null, skills, minProficiency, minShared, null, null);
+    }
+
+    private static Object[] skill(String name, Proficiency proficiency) {
+        return new Object[] { DEFINITIONS.get(name), name.toLowerCase(), name, proficiency };
+    }
+
+    // One (id, bio, education, location, definition id, normalized name, name, proficiency) row per skill,
+    // as the repository streams them
+    private static Stream<Object[]> profile(UUID id, String bio, String education, String location,
+            Object[]... skills) {
+        if (skills.length == 0) {
+            return Stream.<Object[]>of(new Object[] { id, bio, education, location, null, null, null, null });
+        }
+        return Stream.of(skills).map(skill -> new Object[] { id, bio, education, location, skill[0], skill[1],
+                skill[2], skill[3] });
+    }
+}
@@ -6,16 +6,16 @@ import com.example.backend.exceptions.UserNotFoundException;
 import com.example.backend.models.Profile;
 import com.example.backend.models.User;
 import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.security.CurrentProfileContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.Objects;
 
@@ -30,9 +30,9 @@ class ProfileServiceTest {
     @Mock
     private ProfileRepository profileRepository;
     @Mock
-    private UserService userService;
+    private CurrentProfileContext currentProfileContext;
     @Mock
-    private ModelMapper modelMapper;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ProfileService profileService;
@@ -64,6 +64,7 @@ class ProfileServiceTest {
 
         testProfileDto = ProfileDto.builder()
                 .id(testProfile.getId())
+                .username("testuser")
                 .firstname(testProfile.getFirstname())
                 .lastname(testProfile.getLastname())
                 .bio(testProfile.getBio())
@@ -71,7 +72,12 @@ class ProfileServiceTest {
                 .profilePictureUrl(null)
                 .completionPercentage(0)
                 .isProfileComplete(false)
+                .notificationsEnabled(true)
+                .emailNotifications(true)
+                .projectNotifications(true)
+                .projectInterests(new ArrayList<>())
                 .skills(new ArrayList<>())
+                .socialLinks(new ArrayList<>())
                 .build();
 
         testUpdateDto = ProfileUpdateDto.builder()
@@ -110,24 +116,21 @@ class ProfileServiceTest {
 
     @Test
     void getCurrentUserProfile_ShouldReturnProfile() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(currentProfileContext.getProfile()).thenReturn(testProfile);
         Profile result = profileService.getCurrentUserProfile();
         assertEquals(testProfile, result);
     }
 
     @Test
     void getCurrentUserProfile_WhenNotFound_ShouldThrowException() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
+        when(currentProfileContext.getProfile())
+                .thenThrow(new UserNotFoundException("Profile not found for user: testuser"));
         assertThrows(UserNotFoundException.class, () -> profileService.getCurrentUserProfile());
     }
 
     @Test
     void getCurrentUserProfileDto_ShouldReturnProfileDto() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
-        when(modelMapper.map(testProfile, ProfileDto.class)).thenReturn(testProfileDto);
+        when(currentProfileContext.getProfile()).thenReturn(testProfile);
 
         ProfileDto result = profileService.getCurrentUserProfileDto();
         assertEquals(testProfileDto, result);
@@ -135,10 +138,8 @@ class ProfileServiceTest {
 
     @Test
     void updateProfile_ShouldUpdateFields() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(currentProfileContext.getProfile()).thenReturn(testProfile);
         when(profileRepository.save(Objects.requireNonNull(any()))).thenAnswer(inv -> inv.getArgument(0));
-        when(modelMapper.map(testProfile, ProfileDto.class)).thenReturn(testProfileDto);
 
         ProfileDto result = profileService.updateProfile(testUpdateDto);
 
@@ -146,7 +147,8 @@ class ProfileServiceTest {
         assertEquals("Name", testProfile.getLastname());
         assertEquals("Updated Bio", testProfile.getBio());
         assertEquals("Updated Education", testProfile.getEducation());
-        assertEquals(testProfileDto, result);
+        assertEquals("Updated", result.getFirstname());
+        assertEquals("Updated Bio", result.getBio());
         verify(profileRepository).save(Objects.requireNonNull(testProfile));
     }
 
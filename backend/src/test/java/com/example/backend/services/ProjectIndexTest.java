@@ -0,0 +1,102 @@
+package com.example.backend.services;
+
+import com.example.backend.repositories.ProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProjectIndexTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID web = UUID.randomUUID();
+    private final UUID data = UUID.randomUUID();
+    private final UUID games = UUID.randomUUID();
+
+    private static final Map<String, Long> DEFINITIONS = Map.of("Java", 1L, "Spring", 2L, "Python", 3L, "Spark", 4L);
+
+    @Test
+    void findProjectsFor_ShouldScoreByCoveredShareOfTechnologies() {
+        ProjectIndex index = index(
+                project(web, bob, "Web", "Java", "Spring"),
+                project(data, bob, "Data", "Python", "Spark", "Java"),
+                project(games, alice, "Games", "Java"));
+
+        List<ProjectIndex.ProjectMatch> matches = index.findProjectsFor(alice, vector(1L), Set.of(), 10, null);
+
+        // Alice's own project is skipped
+        assertEquals(List.of(new ProjectIndex.ProjectMatch(web, 0.5), new ProjectIndex.ProjectMatch(data, 1.0 / 3)),
+                matches);
+    }
+
+    @Test
+    void findProjectsFor_ShouldHonourInterestsAndExclusions() {
+        ProjectIndex index = index(
+                project(web, bob, "Web", "Java"),
+                project(data, bob, "Data", "Java"),
+                project(games, bob, null, "Java"));
+        index.onPreferencesChanged(new ProfilePreferencesChangedEvent(alice, true, List.of(" web ")));
+
+        List<ProjectIndex.ProjectMatch> matches = index.findProjectsFor(alice, vector(1L), Set.of(games), 10, null);
+
+        assertEquals(List.of(web), matches.stream().map(ProjectIndex.ProjectMatch::projectId).toList());
+    }
+
+    @Test
+    void acceptsInvite_ShouldRequireOpenProfileInterestedInCategory() {
+        ProjectIndex index = index(project(web, bob, "Web", "Java"));
+        index.onPreferencesChanged(new ProfilePreferencesChangedEvent(alice, true, List.of("Data")));
+
+        assertFalse(index.acceptsInvite(alice, "web"));
+        assertTrue(index.acceptsInvite(alice, "data"));
+        assertTrue(index.acceptsInvite(alice, null));
+        assertFalse(index.acceptsInvite(bob, "web"));
+        assertEquals("web", index.projectOf(web).category());
+        assertArrayEquals(new long[] { 1L }, index.projectOf(web).definitionIds());
+    }
+
+    @Test
+    void onProfileChanged_ShouldDropPreferencesOfDeletedProfile() {
+        ProfileRepository profileRepository = mock(ProfileRepository.class);
+        ProjectIndex index = new ProjectIndex(null, profileRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index.load(project(web, bob, "Web", "Java"), Stream.of());
+        index.onPreferencesChanged(new ProfilePreferencesChangedEvent(alice, true, List.of()));
+        when(profileRepository.existsById(alice)).thenReturn(true);
+
+        index.onProfileChanged(new ProfileChangedEvent(alice));
+        assertTrue(index.acceptsInvite(alice, "web"));
+
+        when(profileRepository.existsById(alice)).thenReturn(false);
+        index.onProfileChanged(new ProfileChangedEvent(alice));
+        assertFalse(index.acceptsInvite(alice, "web"));
+    }
+
+    @SafeVarargs
+    private ProjectIndex index(Stream<Object[]>... projects) {
+        ProjectIndex index = new ProjectIndex(null, null, null);
+        index.load(Stream.of(projects).flatMap(rows -> rows), Stream.of());
+        return index;
+    }
+
+    private static SkillIndex.SkillVector vector(long... ids) {
+        float[] weights = new float[ids.length];
+        java.util.Arrays.fill(weights, 1f);
+        return new SkillIndex.SkillVector(ids, weights);
+    }
+
+    // One (id, owner, category, definition id, name) row per technology, as the repository streams them
+    private static Stream<Object[]> project(UUID id, UUID owner, String category, String... technologies) {
+        return Stream.of(technologies).map(t -> new Object[] { id, owner, category, DEFINITIONS.get(t), t });
+    }
+}
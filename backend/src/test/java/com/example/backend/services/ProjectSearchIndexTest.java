@@ -0,0 +1,191 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.ProjectLevel;
+import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.services.ProjectSearchIndex.Facets;
+import com.example.backend.services.ProjectSearchIndex.Filters;
+import com.example.backend.utils.PorterStemmer;
+import com.example.backend.utils.TextAnalyzer;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.example.backend.services.ProjectSearchIndex.Filters.NONE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProjectSearchIndexTest {
+
+    private final UUID shop = UUID.randomUUID();
+    private final UUID blog = UUID.randomUUID();
+    private final UUID pipeline = UUID.randomUUID();
+
+    private static final Map<String, Long> DEFINITIONS = Map.of("React", 1L, "Spring Boot", 2L, "Python", 3L,
+            "Kubernetes", 4L);
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        ProjectSearchIndex index = index(
+                project(shop, "Online shop", "A storefront with a dashboard", "Web", ProjectLevel.BEGINNER, "React"),
+                project(blog, "Team blog", "Writing about our online shop and more", "Web", ProjectLevel.BEGINNER),
+                project(pipeline, "Data pipeline", "Batch jobs", "Data", ProjectLevel.ADVANCED, "Python"));
+
+        ProjectSearchIndex.SearchPage page = index.search("online shop", NONE, 0, 10);
+
+        assertEquals(List.of(shop, blog), page.ids());
+        assertEquals(2, page.total());
+    }
+
+    @Test
+    void search_ShouldMatchStemsTechnologiesAndPrefixes() {
+        ProjectSearchIndex index = index(
+                project(shop, "Online shop", "Developing payments", "Web", ProjectLevel.BEGINNER, "Spring Boot"),
+                project(pipeline, "Data pipeline", null, "Data", ProjectLevel.ADVANCED, "Kubernetes"));
+
+        assertEquals(List.of(shop), index.search("developers", NONE, 0, 10).ids());
+        assertEquals(List.of(shop), index.search("spring", NONE, 0, 10).ids());
+        assertEquals(List.of(pipeline), index.search("kube", NONE, 0, 10).ids());
+        assertEquals(List.of(), index.search("the", NONE, 0, 10).ids());
+    }
+
+    @Test
+    void search_ShouldApplyFiltersAndPaging() {
+        ProjectSearchIndex index = index(
+                project(shop, "Web project", null, "Web", ProjectLevel.BEGINNER, "React"),
+                project(blog, "Web project", null, "web", ProjectLevel.ADVANCED),
+                project(pipeline, "Web project", null, "Data", ProjectLevel.BEGINNER, "Python"));
+
+        assertEquals(List.of(shop), index.search("project", new Filters(ProjectLevel.BEGINNER, "WEB", null, null, null), 0, 10).ids());
+        assertEquals(List.of(pipeline), index.search("project", new Filters(null, null, List.of(3L), null, null), 0, 10).ids());
+        assertEquals(List.of(), index.search("project", new Filters(null, null, List.of(), null, null), 0, 10).ids());
+
+        ProjectSearchIndex.SearchPage second = index.search("project", NONE, 2, 2);
+        assertEquals(3, second.total());
+        assertEquals(1, second.ids().size());
+    }
+
+    @Test
+    void onProjectChanged_ShouldReplaceIndexedDocument() {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        ProjectSearchIndex index = new ProjectSearchIndex(projectRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index.load(project(shop, "Online shop", null, "Web", ProjectLevel.BEGINNER));
+        when(projectRepository.findSearchDocument(shop))
+                .thenReturn(project(shop, "Recipe book", null, "Web", ProjectLevel.BEGINNER).toList());
+
+        index.onProjectChanged(new ProjectChangedEvent(shop));
+
+        assertEquals(List.of(), index.search("shop", NONE, 0, 10).ids());
+        assertEquals(List.of(shop), index.search("recipes", NONE, 0, 10).ids());
+
+        when(projectRepository.findSearchDocument(shop)).thenReturn(List.of());
+        index.onProjectChanged(new ProjectChangedEvent(shop));
+
+        assertEquals(List.of(), index.search("recipes", NONE, 0, 10).ids());
+    }
+
+    @Test
+    void facets_ShouldCountEachFacetUnderTheOtherFilters() {
+        ProjectSearchIndex index = index(
+                project(shop, "Online shop", null, "Web", ProjectLevel.BEGINNER, true, false, "React"),
+                project(blog, "Team blog", null, "web", ProjectLevel.ADVANCED, false, true, "React", "Python"),
+                project(pipeline, "Data pipeline", null, "Data", ProjectLevel.BEGINNER, true, true, "Python"));
+
+        Facets all = index.facets(null, NONE, 10);
+        assertEquals(Map.of(ProjectLevel.BRAND_NEW, 0L, ProjectLevel.BEGINNER, 2L, ProjectLevel.INTERMEDIATE, 0L,
+                ProjectLevel.ADVANCED, 1L), all.levels());
+        assertEquals(List.of("Web", "Data"), List.copyOf(all.categories().keySet()));
+        assertEquals(2L, all.categories().get("Web"));
+        assertEquals(Map.of("Python", 2L, "React", 2L), all.technologies());
+        assertEquals(Map.of(true, 2L, false, 1L), all.remote());
+
+        // The level filter narrows every facet but the level one
+        Facets beginners = index.facets(null, new Filters(ProjectLevel.BEGINNER, null, null, null, null), 10);
+        assertEquals(1L, beginners.levels().get(ProjectLevel.ADVANCED));
+        assertEquals(Map.of("Web", 1L, "Data", 1L), beginners.categories());
+        assertEquals(Map.of(true, 2L, false, 0L), beginners.remote());
+        assertEquals(Map.of(true, 1L, false, 1L), beginners.openSource());
+
+        Facets searched = index.facets("pipeline", new Filters(null, null, null, true, null), 1);
+        assertEquals(Map.of("Python", 1L), searched.technologies());
+        assertEquals(Map.of(true, 1L, false, 0L), searched.remote());
+    }
+
+    @Test
+    void facets_ShouldFollowProjectChanges() {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        ProjectSearchIndex index = new ProjectSearchIndex(projectRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index.load(project(shop, "Online shop", null, "Web", ProjectLevel.BEGINNER, "React"));
+        when(projectRepository.findSearchDocument(shop))
+                .thenReturn(project(shop, "Online shop", null, "Retail", ProjectLevel.BEGINNER, "Python").toList());
+
+        index.onProjectChanged(new ProjectChangedEvent(shop));
+
+        Facets facets = index.facets(null, NONE, 10);
+        assertEquals(Map.of("Retail", 1L), facets.categories());
+        assertEquals(Map.of("Python", 1L), facets.technologies());
+    }
+
+    @Test
+    void onProjectChanged_ShouldReuseTheSlotOfADeletedProject() {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        ProjectSearchIndex index = new ProjectSearchIndex(projectRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index.load(Stream.concat(project(shop, "Online shop", null, "Web", ProjectLevel.BEGINNER, "React"),
+                project(blog, "Team blog", null, "Web", ProjectLevel.BEGINNER)));
+        when(projectRepository.findSearchDocument(shop)).thenReturn(List.of());
+        when(projectRepository.findSearchDocument(pipeline))
+                .thenReturn(project(pipeline, "Data pipeline", null, "Data", ProjectLevel.ADVANCED, "Python").toList());
+
+        index.onProjectChanged(new ProjectChangedEvent(shop));
+        index.onProjectChanged(new ProjectChangedEvent(pipeline));
+
+        assertEquals(List.of(), index.search("shop", NONE, 0, 10).ids());
+        assertEquals(List.of(pipeline), index.search("pipeline", NONE, 0, 10).ids());
+        assertEquals(List.of(blog), index.search("blog", NONE, 0, 10).ids());
+        Facets facets = index.facets(null, NONE, 10);
+        assertEquals(Map.of("Web", 1L, "Data", 1L), facets.categories());
+        assertEquals(Map.of("Python", 1L), facets.technologies());
+    }
+
+    @Test
+    void analyzer_ShouldStemWordsAndKeepSymbolTokens() {
+        assertEquals("caress", PorterStemmer.stem("caresses"));
+        assertEquals("poni", PorterStemmer.stem("ponies"));
+        assertEquals("relat", PorterStemmer.stem("relational"));
+        assertEquals("hop", PorterStemmer.stem("hopping"));
+        assertEquals("gener", PorterStemmer.stem("generalization"));
+        assertEquals(List.of("c++", "c#", "build", "game"), TextAnalyzer.terms("C++ and C#: building the games!"));
+    }
+
+    @SafeVarargs
+    private ProjectSearchIndex index(Stream<Object[]>... projects) {
+        ProjectSearchIndex index = new ProjectSearchIndex(null, null);
+        index.load(Stream.of(projects).flatMap(rows -> rows));
+        return index;
+    }
+
+    private static Stream<Object[]> project(UUID id, String title, String description, String category,
+            ProjectLevel level, String... technologies) {
+        return project(id, title, description, category, level, false, false, technologies);
+    }
+
+    // One (id, title, description, category, level, remote, open source, definition id, name) row per
+    // technology, as the repository streams them
+    private static Stream<Object[]> project(UUID id, String title, String description, String category,
+            ProjectLevel level, boolean remote, boolean openSource, String... technologies) {
+        if (technologies.length == 0) {
+            return Stream.<Object[]>of(
+                    new Object[] { id, title, description, category, level, remote, openSource, null, null });
+        }
+        return Stream.of(technologies).map(t -> new Object[] { id, title, description, category, level, remote,
+                openSource, DEFINITIONS.get(t), t });
+    }
+}
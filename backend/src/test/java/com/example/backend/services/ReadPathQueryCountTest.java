@@ -0,0 +1,273 @@
+package com.example.backend.services;
+
+import com.example.backend.dto.CollaborationRequestDTO;
+import com.example.backend.dto.ProfileDto;
+import com.example.backend.dto.ProfileSearchCriteria;
+import com.example.backend.dto.ProjectDto;
+import com.example.backend.dto.ProjectFacetsDto;
+import com.example.backend.enums.MatchingMode;
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.ProjectStatus;
+import com.example.backend.enums.RequestStatus;
+import com.example.backend.enums.RoleName;
+import com.example.backend.enums.SimilarityMetric;
+import com.example.backend.enums.SocialPlatform;
+import com.example.backend.models.CollaborationRequest;
+import com.example.backend.models.Profile;
+import com.example.backend.models.Project;
+import com.example.backend.models.Role;
+import com.example.backend.models.Skill;
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.models.SocialLink;
+import com.example.backend.models.User;
+import com.example.backend.repositories.ProfileRepository;
+import com.example.backend.repositories.ProjectRepository;
+import com.example.backend.repositories.RequestRepository;
+import com.example.backend.repositories.TeamRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the statement count of the profile search, request and project
+ * listing, search and facet read paths: a page of 20 must cost the same handful of queries as a page of 2,
+ * so no association may be loaded once per row.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReadPathQueryCountTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Profile owner;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setRoleName(RoleName.ROLE_USER);
+        entityManager.persist(role);
+        List<SkillDefinition> definitions = new ArrayList<>();
+        for (String name : List.of("Java", "Kotlin", "SQL", "React")) {
+            SkillDefinition definition = SkillDefinition.builder().name(name).build();
+            entityManager.persist(definition);
+            definitions.add(definition);
+        }
+
+        owner = profile("owner", role, definitions);
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Project project = new Project();
+            project.setTitle("Project " + i);
+            project.setStatus(ProjectStatus.ACTIVE);
+            project.setCreatedBy(owner);
+            project.getTechnologies().addAll(definitions.subList(i % 2, i % 2 + 2));
+            entityManager.persist(project);
+            projects.add(project);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            CollaborationRequest request = new CollaborationRequest();
+            request.setProject(projects.get(i % projects.size()));
+            request.setRequester(profile("member" + i, role, definitions));
+            request.setStatus(RequestStatus.PENDING);
+            entityManager.persist(request);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Profile profile(String username, Role role, List<SkillDefinition> definitions) {
+        User user = User.builder().username(username).email(username + "@example.com").password("x")
+                .role(role).build();
+        entityManager.persist(user);
+        Profile profile = Profile.builder().user(user).firstname(username).lastname("Test")
+                .location("Berlin").projectInterests(new ArrayList<>(List.of("web", "data"))).build();
+        for (int i = 0; i < 3; i++) {
+            profile.getSkills().add(Skill.builder().definition(definitions.get(i))
+                    .proficiency(Proficiency.values()[i]).profile(profile).build());
+        }
+        SocialLink link = new SocialLink();
+        link.setPlatform(SocialPlatform.values()[0]);
+        link.setUrl("https://example.com/" + username);
+        link.setProfile(profile);
+        profile.getSocialLinks().add(link);
+        entityManager.persist(profile);
+        return profile;
+    }
+
+    private MatchingService matchingService() {
+        ProfileSearchIndex searchIndex = new ProfileSearchIndex(profileRepository,
+                new TransactionTemplate(transactionManager));
+        searchIndex.rebuild();
+        statistics.clear();
+        return new MatchingService(profileRepository, null, null, null, null, null, searchIndex,
+                SimilarityMetric.OVERLAP, MatchingMode.EXACT, 100);
+    }
+
+    @Test
+    void searchProfiles_ShouldUseFixedNumberOfQueriesPerPage() {
+        MatchingService matchingService = matchingService();
+        ProfileSearchCriteria criteria = new ProfileSearchCriteria();
+        criteria.setLocation("berlin");
+
+        Page<ProfileDto> small = matchingService.searchProfiles(criteria, PageRequest.of(0, 2));
+        long smallPageQueries = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        Page<ProfileDto> page = matchingService.searchProfiles(criteria, PageRequest.of(0, ROWS));
+        long pageQueries = statistics.getPrepareStatementCount();
+
+        assertEquals(2, small.getContent().size());
+        assertEquals(ROWS, page.getContent().size());
+        ProfileDto first = page.getContent().get(0);
+        assertNotNull(first.getUsername());
+        assertEquals(3, first.getSkills().size());
+        assertEquals(1, first.getSocialLinks().size());
+        assertEquals(2, first.getProjectInterests().size());
+        assertEquals(smallPageQueries, pageQueries, "query count must not grow with the page size");
+        assertTrue(pageQueries <= 5, "profile search page took " + pageQueries + " queries");
+    }
+
+    @Test
+    void searchProfiles_ShouldFilterBySkillWithoutDuplicatingProfiles() {
+        MatchingService matchingService = matchingService();
+        ProfileSearchCriteria criteria = new ProfileSearchCriteria();
+        criteria.setSkills(List.of("java", "Kotlin"));
+
+        Page<ProfileDto> page = matchingService.searchProfiles(criteria, PageRequest.of(0, 50));
+
+        assertEquals(ROWS + 1, page.getTotalElements());
+        assertEquals(ROWS + 1, page.getContent().size());
+
+        criteria.setMinProficiency(Proficiency.INTERMEDIATE);
+        assertEquals(ROWS + 1, matchingService.searchProfiles(criteria, PageRequest.of(0, 50)).getTotalElements());
+        criteria.setMinProficiency(Proficiency.ADVANCED);
+        assertEquals(0, matchingService.searchProfiles(criteria, PageRequest.of(0, 50)).getTotalElements());
+
+        criteria.setMinProficiency(null);
+        criteria.setSkills(List.of("java", "react"));
+        criteria.setMinSharedSkills(2);
+        assertEquals(0, matchingService.searchProfiles(criteria, PageRequest.of(0, 50)).getTotalElements());
+    }
+
+    @Test
+    void getAllProjects_ShouldLoadPageWithProjectionAndOneTechnologyQuery() {
+        ProjectService projectService = new ProjectService(projectRepository, null, null, null, null);
+
+        Page<ProjectDto> page = projectService.getAllProjects(null, null, null, null, null, null,
+                PageRequest.of(0, 3, Sort.by("title")));
+        long queries = statistics.getPrepareStatementCount();
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of("Project 0", "Project 1", "Project 2"),
+                page.getContent().stream().map(ProjectDto::getTitle).toList());
+        assertEquals(List.of("Java", "Kotlin"), page.getContent().get(0).getTechnologies());
+        assertEquals(List.of("Kotlin", "SQL"), page.getContent().get(1).getTechnologies());
+        assertEquals("owner", page.getContent().get(0).getCreatedBy().getUsername());
+        // Listing, count and technologies
+        assertEquals(3, queries);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getAllProjects_ShouldLoadRankedSearchPageWithTwoQueries() {
+        ProjectSearchIndex searchIndex = new ProjectSearchIndex(projectRepository,
+                new TransactionTemplate(transactionManager));
+        searchIndex.rebuild();
+        ProjectService projectService = new ProjectService(projectRepository, null, null, null, searchIndex);
+        statistics.clear();
+
+        Page<ProjectDto> page = projectService.getAllProjects("sql", null, null, null, null, null,
+                PageRequest.of(0, 10, Sort.by("title")));
+        long queries = statistics.getPrepareStatementCount();
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(Set.of("Project 1", "Project 3"),
+                page.getContent().stream().map(ProjectDto::getTitle).collect(Collectors.toSet()));
+        assertEquals(List.of("Kotlin", "SQL"), page.getContent().get(0).getTechnologies());
+        // Listing and technologies; the total comes from the index
+        assertEquals(2, queries);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getProjectFacets_ShouldNotQueryTheDatabase() {
+        ProjectSearchIndex searchIndex = new ProjectSearchIndex(projectRepository,
+                new TransactionTemplate(transactionManager));
+        searchIndex.rebuild();
+        ProjectService projectService = new ProjectService(projectRepository, null, null, null, searchIndex);
+        statistics.clear();
+
+        ProjectFacetsDto facets = projectService.getProjectFacets("sql", null, null, null, false, null);
+
+        assertEquals(Map.of("Kotlin", 2L, "SQL", 2L), facets.getTechnologies());
+        assertEquals(Map.of(true, 0L, false, 2L), facets.getRemote());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getReceivedRequests_ShouldUseFixedNumberOfQueries() {
+        ProfileService profileService = mock(ProfileService.class);
+        when(profileService.getCurrentUserProfile()).thenReturn(owner);
+        RequestService requestService = new RequestService(requestRepository, projectRepository, profileService,
+                teamRepository, mock(ApplicationEventPublisher.class));
+
+        List<CollaborationRequestDTO> requests = requestService.getReceivedRequests(null);
+        long queries = statistics.getPrepareStatementCount();
+
+        assertEquals(ROWS, requests.size());
+        assertEquals(3, requests.get(0).getRequester().getSkills().size());
+        assertNotNull(requests.get(0).getRequester().getUsername());
+        assertNotNull(requests.get(0).getProjectTitle());
+        assertTrue(queries <= 1, "request listing took " + queries + " queries");
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.MatchingMode;
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.RecommendationKind;
+import com.example.backend.enums.SimilarityMetric;
+import com.example.backend.models.ProfileRecommendation;
+import com.example.backend.repositories.ProfileRecommendationRepository;
+import com.example.backend.repositories.ProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecommendationMaterializerTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    private ProfileRepository profileRepository;
+    private ProfileRecommendationRepository recommendationRepository;
+    private RecommendationMaterializer materializer;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            rows.add(new Object[] { alice, id, Proficiency.ADVANCED });
+            rows.add(new Object[] { bob, id, Proficiency.ADVANCED });
+        }
+        rows.add(new Object[] { carol, 9L, Proficiency.EXPERT });
+        SkillIndex skillIndex = new SkillIndex(null, null, 32, 2, 0);
+        skillIndex.load(rows.stream());
+
+        profileRepository = mock(ProfileRepository.class);
+        recommendationRepository = mock(ProfileRecommendationRepository.class);
+        MatchingService matchingService = new MatchingService(profileRepository, null, skillIndex,
+                recommendationRepository, null, null, null, SimilarityMetric.OVERLAP, MatchingMode.EXACT, 10);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        // Batches of one profile, run inline
+        materializer = new RecommendationMaterializer(profileRepository, recommendationRepository, matchingService,
+                transactionTemplate, Runnable::run, 10, 1, 2, Duration.ofHours(24));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void materialize_ShouldStoreRankedRowsAndStampProfiles() {
+        Instant computedAt = Instant.now();
+
+        materializer.materialize(List.of(alice), computedAt);
+
+        ArgumentCaptor<List<ProfileRecommendation>> saved = ArgumentCaptor.forClass(List.class);
+        verify(recommendationRepository).deleteByProfileIds(List.of(alice));
+        verify(recommendationRepository).saveAll(saved.capture());
+        verify(profileRepository).markRecommendationsComputed(List.of(alice), computedAt);
+
+        List<ProfileRecommendation> similar = saved.getValue().stream()
+                .filter(row -> row.getKind() == RecommendationKind.SIMILAR).toList();
+        List<ProfileRecommendation> complementary = saved.getValue().stream()
+                .filter(row -> row.getKind() == RecommendationKind.COMPLEMENTARY).toList();
+        assertEquals(1, similar.size());
+        assertEquals(bob, similar.get(0).getCandidateId());
+        assertEquals(3.0, similar.get(0).getScore());
+        assertEquals(1, complementary.size());
+        assertEquals(carol, complementary.get(0).getCandidateId());
+    }
+
+    @Test
+    void run_ShouldProcessDueProfilesInBatches() {
+        when(profileRepository.findIdsNeedingRecommendations(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(alice, bob))
+                .thenReturn(List.of(carol))
+                .thenReturn(List.of());
+
+        materializer.run();
+
+        verify(profileRepository, times(2)).findIdsNeedingRecommendations(any(Instant.class), any(Pageable.class));
+        verify(recommendationRepository, times(3)).deleteByProfileIds(any());
+        verify(profileRepository).markRecommendationsComputed(eq(List.of(alice)), any(Instant.class));
+        verify(profileRepository).markRecommendationsComputed(eq(List.of(carol)), any(Instant.class));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.services;
+
+import com.example.backend.exceptions.UnauthorizedException;
+import com.example.backend.models.RefreshToken;
+import com.example.backend.models.User;
+import com.example.backend.repositories.RefreshTokenRepository;
+import com.example.backend.utils.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+    private RefreshToken token;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenRevocationService, jwtUtils,
+                60_000);
+        user = User.builder().username("alice").build();
+        token = RefreshToken.builder().id(7L).tokenHash("hash").user(user)
+                .expiresAt(Instant.now().plusSeconds(60)).build();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+    }
+
+    @Test
+    void rotate_ShouldIssueNewPairWhenTokenIsClaimed() {
+        when(refreshTokenRepository.markUsed(7L)).thenReturn(1);
+        when(jwtUtils.generateJwtToken(user)).thenReturn("access");
+
+        RefreshTokenService.TokenPair pair = refreshTokenService.rotate("raw");
+
+        assertEquals("access", pair.accessToken());
+        assertNotNull(pair.refreshToken());
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(tokenRevocationService, never()).revokeAllForUser(anyString());
+    }
+
+    @Test
+    void rotate_ShouldRevokeEverythingWhenAnotherExchangeClaimedTheTokenFirst() {
+        // Loaded as unused, but a concurrent refresh marked it used in between
+        when(refreshTokenRepository.markUsed(7L)).thenReturn(0);
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("raw"));
+
+        verify(refreshTokenRepository).deleteByUser(user);
+        verify(tokenRevocationService).revokeAllForUser("alice");
+        verify(jwtUtils, never()).generateJwtToken(any(User.class));
+    }
+}
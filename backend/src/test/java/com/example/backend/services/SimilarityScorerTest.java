@@ -0,0 +1,108 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.SimilarityMetric;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilarityScorerTest {
+
+    private final UUID me = UUID.randomUUID();
+    private final UUID expert = UUID.randomUUID();
+    private final UUID beginner = UUID.randomUUID();
+
+    @Test
+    void cosine_ShouldPreferMatchingProficiency() {
+        SkillFeatureStore store = new SkillFeatureStore();
+        put(store, me, Proficiency.EXPERT, 1, 2, 3);
+        put(store, expert, Proficiency.EXPERT, 1, 2, 3);
+        put(store, beginner, Proficiency.EXPERT, 1);
+        put(store, beginner, Proficiency.BEGINNER, 2, 3);
+
+        SimilarityScorer scorer = new SimilarityScorer(store, SimilarityMetric.COSINE, store.ordinalOf(me));
+
+        assertEquals(1.0, scorer.score(store.ordinalOf(expert)), 1e-9);
+        assertTrue(scorer.score(store.ordinalOf(beginner)) < 1.0);
+    }
+
+    @Test
+    void jaccard_ShouldWeighRareSkillsHigher() {
+        SkillFeatureStore store = new SkillFeatureStore();
+        UUID rare = UUID.randomUUID();
+        UUID common = UUID.randomUUID();
+        put(store, me, Proficiency.ADVANCED, 1, 2);
+        put(store, rare, Proficiency.ADVANCED, 1, 3);
+        put(store, common, Proficiency.ADVANCED, 2, 3);
+        // Skill 2 is held by many profiles, skill 1 only by me and `rare`
+        for (int i = 0; i < 20; i++) {
+            put(store, UUID.randomUUID(), Proficiency.ADVANCED, 2);
+        }
+
+        SimilarityScorer scorer = new SimilarityScorer(store, SimilarityMetric.JACCARD, store.ordinalOf(me));
+
+        assertTrue(scorer.score(store.ordinalOf(rare)) > scorer.score(store.ordinalOf(common)));
+    }
+
+    @Test
+    void overlap_ShouldCountSharedSkills() {
+        SkillFeatureStore store = new SkillFeatureStore();
+        put(store, me, Proficiency.BEGINNER, 1, 2, 3, 4);
+        put(store, expert, Proficiency.EXPERT, 2, 4, 6);
+
+        SimilarityScorer scorer = new SimilarityScorer(store, SimilarityMetric.OVERLAP, store.ordinalOf(me));
+
+        assertEquals(2.0, scorer.score(store.ordinalOf(expert)));
+    }
+
+    @Test
+    void topK_ParallelShouldMatchSequential() {
+        SkillFeatureStore store = new SkillFeatureStore();
+        Random random = new Random(7);
+        put(store, me, Proficiency.ADVANCED, 1, 2, 3, 4, 5);
+        Proficiency[] levels = Proficiency.values();
+        for (int i = 0; i < 3 * SimilarityScorer.SEQUENTIAL_THRESHOLD; i++) {
+            UUID profileId = UUID.randomUUID();
+            for (int k = 0; k < 4; k++) {
+                store.put(profileId, 1 + random.nextInt(20), levels[random.nextInt(levels.length)].getWeight());
+            }
+        }
+        int self = store.ordinalOf(me);
+        int[] candidates = IntStream.range(0, store.ordinalCount()).filter(o -> o != self).toArray();
+
+        SimilarityScorer scorer = new SimilarityScorer(store, SimilarityMetric.COSINE, self);
+        List<SkillIndex.Match> sequential = scorer.topK(candidates, 25, null, false);
+        List<SkillIndex.Match> parallel = scorer.topK(candidates, 25, null, true);
+
+        assertEquals(25, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void idfTable_ShouldBeSharedUntilADocumentFrequencyChanges() {
+        SkillFeatureStore store = new SkillFeatureStore();
+        put(store, me, Proficiency.ADVANCED, 1, 2);
+        put(store, expert, Proficiency.ADVANCED, 1);
+        SkillFeatureStore.IdfTable table = store.idfTable();
+
+        // Replacing a weight leaves every frequency as it was
+        put(store, expert, Proficiency.EXPERT, 1);
+        assertSame(table, store.idfTable());
+
+        put(store, beginner, Proficiency.BEGINNER, 2);
+        SkillFeatureStore.IdfTable updated = store.idfTable();
+        assertNotSame(table, updated);
+        assertEquals(store.idf(2), updated.get(2), 1e-12);
+    }
+
+    private static void put(SkillFeatureStore store, UUID profileId, Proficiency proficiency, long... definitionIds) {
+        for (long id : definitionIds) {
+            store.put(profileId, id, proficiency.getWeight());
+        }
+    }
+}
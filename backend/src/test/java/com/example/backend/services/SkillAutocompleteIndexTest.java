@@ -0,0 +1,81 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.Proficiency;
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.repositories.SkillDefinitionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillAutocompleteIndexTest {
+
+    @Test
+    void suggest_ShouldRankWordPrefixesByUsageThenInfixMatches() {
+        SkillAutocompleteIndex index = index(null,
+                new Object[] { 1L, "Java", 5L },
+                new Object[] { 2L, "JavaScript", 9L },
+                new Object[] { 3L, "Spring Boot", 2L },
+                new Object[] { 4L, "Jakarta EE", 1L },
+                new Object[] { 5L, "Kotlin", 0L });
+
+        assertEquals(List.of("JavaScript", "Java", "Jakarta EE"), index.suggest("ja", 10));
+        assertEquals(List.of("JavaScript"), index.suggest("ja", 1));
+        assertEquals(List.of("Spring Boot"), index.suggest("BO", 10));
+        // "ava" starts no word, so only the trigram index finds these
+        assertEquals(List.of("JavaScript", "Java"), index.suggest("ava", 10));
+        // Nobody lists Kotlin
+        assertEquals(List.of(), index.suggest("kot", 10));
+    }
+
+    @Test
+    void onSkillChanged_ShouldTrackUsageAndLearnNewDefinitions() {
+        SkillDefinitionRepository repository = mock(SkillDefinitionRepository.class);
+        when(repository.findById(7L)).thenReturn(Optional.of(SkillDefinition.builder().id(7L).name("Go").build()));
+        SkillAutocompleteIndex index = index(repository,
+                new Object[] { 1L, "Gradle", 1L },
+                new Object[] { 2L, "GraphQL", 2L });
+        UUID profile = UUID.randomUUID();
+
+        index.onSkillChanged(new SkillChangedEvent(profile, null, 1L, Proficiency.EXPERT));
+        index.onSkillChanged(new SkillChangedEvent(profile, null, 1L, Proficiency.EXPERT));
+        index.onSkillChanged(new SkillChangedEvent(profile, 2L, 7L, Proficiency.BEGINNER));
+
+        // Gradle 3, then Go and GraphQL with one each, tied by name
+        assertEquals(List.of("Gradle", "Go", "GraphQL"), index.suggest("g", 10));
+
+        index.onSkillChanged(new SkillChangedEvent(profile, 7L, null, null));
+        assertEquals(List.of("Gradle", "GraphQL"), index.suggest("g", 10));
+    }
+
+    @Test
+    void correctionFor_ShouldToleratePlausibleTypos() {
+        SkillAutocompleteIndex index = index(null,
+                new Object[] { 1L, "JavaScript", 9L },
+                new Object[] { 2L, "PostgreSQL", 4L },
+                new Object[] { 3L, "Postgres", 2L },
+                new Object[] { 4L, "ReactJS", 3L },
+                new Object[] { 5L, "Go", 3L });
+
+        assertEquals(new SkillAutocompleteIndex.Correction(1L, "JavaScript", 1), index.correctionFor("Javscript"));
+        assertEquals(new SkillAutocompleteIndex.Correction(3L, "Postgres", 1), index.correctionFor("Postgress"));
+        assertEquals(new SkillAutocompleteIndex.Correction(4L, "ReactJS", 0), index.correctionFor("React.js"));
+        // Too short to guess at
+        assertNull(index.correctionFor("Ga"));
+        assertNull(index.correctionFor("Haskell"));
+        // Autocomplete falls back to corrections when nothing starts with or contains the query
+        assertEquals(List.of("JavaScript"), index.suggest("javscript", 10));
+    }
+
+    private static SkillAutocompleteIndex index(SkillDefinitionRepository repository, Object[]... rows) {
+        SkillAutocompleteIndex index = new SkillAutocompleteIndex(repository, null);
+        index.load(Stream.of(rows));
+        return index;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.services;
+
+import com.example.backend.models.SkillDefinition;
+import com.example.backend.repositories.SkillDefinitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SkillDefinitionResolverTest {
+
+    @Mock
+    private SkillDefinitionRepository skillDefinitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SkillDefinitionResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new SkillDefinitionResolver(skillDefinitionRepository, transactionManager, 100);
+    }
+
+    private static SkillDefinition definition(long id, String name) {
+        return SkillDefinition.builder().id(id).name(name).normalizedName(name.toLowerCase()).build();
+    }
+
+    @Test
+    void find_ShouldCacheByNormalizedName() {
+        SkillDefinition java = definition(1L, "Java");
+        when(skillDefinitionRepository.findByNormalizedName("java")).thenReturn(Optional.of(java));
+
+        assertSame(java, resolver.find("Java").orElseThrow());
+        assertSame(java, resolver.find(" JAVA ").orElseThrow());
+        verify(skillDefinitionRepository, times(1)).findByNormalizedName("java");
+    }
+
+    @Test
+    void findOrCreate_ShouldReadBackDefinitionInsertedConcurrently() {
+        SkillDefinition rust = definition(5L, "Rust");
+        when(skillDefinitionRepository.findByNormalizedName("rust"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(rust));
+        when(skillDefinitionRepository.save(any(SkillDefinition.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate normalized_name"));
+
+        assertSame(rust, resolver.findOrCreate("Rust"));
+        assertSame(rust, resolver.find("rust").orElseThrow());
+    }
+
+    @Test
+    void findOrCreateAll_ShouldLoadMissesInOneQueryAndCreateUnknown() {
+        SkillDefinition java = definition(1L, "Java");
+        SkillDefinition go = definition(2L, "Go");
+        SkillDefinition zig = definition(3L, "Zig");
+        when(skillDefinitionRepository.findByNormalizedNameIn(List.of("java", "zig", "go")))
+                .thenReturn(List.of(java, go));
+        when(skillDefinitionRepository.save(any(SkillDefinition.class))).thenReturn(zig);
+
+        Map<String, SkillDefinition> resolved = resolver.findOrCreateAll(List.of("Java", "Zig", "go", "JAVA"));
+
+        assertEquals(List.of("java", "zig", "go"), List.copyOf(resolved.keySet()));
+        assertEquals(List.of(java, zig, go), List.copyOf(resolved.values()));
+
+        // Everything is cached now
+        resolver.findOrCreateAll(List.of("zig", "Go"));
+        verify(skillDefinitionRepository, times(1)).findByNormalizedNameIn(anyCollection());
+        verify(skillDefinitionRepository, never()).findByNormalizedName(any());
+    }
+}
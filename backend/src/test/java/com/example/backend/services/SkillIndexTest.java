@@ -0,0 +1,161 @@
+package com.example.backend.services;
+
+import com.example.backend.enums.Proficiency;
+import com.example.backend.enums.SimilarityMetric;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillIndexTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+    private final UUID dave = UUID.randomUUID();
+
+    @Test
+    void findSimilar_ShouldRankByOverlapAndExcludeCaller() {
+        SkillIndex index = index(
+                skills(alice, 1, 2, 3, 4),
+                skills(bob, 1, 2, 3),
+                skills(carol, 1, 2, 3, 4, 5),
+                skills(dave, 1, 2, 9));
+
+        List<SkillIndex.Match> matches = index.findSimilar(alice, SimilarityMetric.OVERLAP, 3, 10, null);
+
+        assertEquals(List.of(new SkillIndex.Match(carol, 4), new SkillIndex.Match(bob, 3)), matches);
+    }
+
+    @Test
+    void findSimilar_ShouldPageWithCursor() {
+        SkillIndex index = index(
+                skills(alice, 1, 2, 3),
+                skills(bob, 1, 2, 3),
+                skills(carol, 1, 2, 3),
+                skills(dave, 1, 2, 3));
+
+        List<SkillIndex.Match> first = index.findSimilar(alice, SimilarityMetric.OVERLAP, 3, 2, null);
+        List<SkillIndex.Match> second = index.findSimilar(alice, SimilarityMetric.OVERLAP, 3, 2, first.get(1));
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        List<UUID> seen = new ArrayList<>();
+        Stream.concat(first.stream(), second.stream()).forEach(m -> seen.add(m.profileId()));
+        assertEquals(3, seen.stream().distinct().count());
+        assertFalse(seen.contains(alice));
+    }
+
+    @Test
+    void findComplementary_ShouldRankByNewSkills() {
+        SkillIndex index = index(
+                skills(alice, 1, 2),
+                skills(bob, 1, 2),
+                skills(carol, 1, 3, 4),
+                skills(dave, 5));
+
+        List<SkillIndex.Match> matches = index.findComplementary(alice, 1, 10, null);
+
+        assertEquals(List.of(new SkillIndex.Match(carol, 2), new SkillIndex.Match(dave, 1)), matches);
+    }
+
+    @Test
+    void onSkillChanged_ShouldKeepPostingsCurrent() {
+        SkillIndex index = index(
+                skills(alice, 1, 2, 3),
+                skills(bob, 1, 2, 4));
+        assertTrue(index.findSimilar(alice, SimilarityMetric.OVERLAP, 3, 10, null).isEmpty());
+
+        // bob swaps skill 4 for skill 3
+        index.onSkillChanged(new SkillChangedEvent(bob, 4L, 3L, Proficiency.EXPERT));
+        assertEquals(List.of(new SkillIndex.Match(bob, 3)),
+                index.findSimilar(alice, SimilarityMetric.OVERLAP, 3, 10, null));
+        assertArrayEquals(new long[] { 1, 2, 3 }, index.skillsOf(bob));
+
+        index.onSkillChanged(new SkillChangedEvent(bob, 1L, null, null));
+        assertTrue(index.findSimilar(alice, SimilarityMetric.OVERLAP, 3, 10, null).isEmpty());
+    }
+
+    @Test
+    void findSimilar_ForUnknownProfile_ShouldReturnEmpty() {
+        SkillIndex index = index(skills(alice, 1, 2, 3));
+
+        assertTrue(index.findSimilar(UUID.randomUUID(), SimilarityMetric.OVERLAP, 3, 10, null).isEmpty());
+    }
+
+    @Test
+    void findSimilarApproximate_ShouldFollowSkillChanges() {
+        SkillIndex index = index(
+                skills(alice, 1, 2, 3, 4),
+                skills(bob, 1, 2, 3, 4),
+                skills(carol, 7, 8, 9));
+        assertEquals(List.of(new SkillIndex.Match(bob, 4)),
+                index.findSimilarApproximate(alice, SimilarityMetric.OVERLAP, 3, 10, null));
+
+        index.onSkillChanged(new SkillChangedEvent(carol, null, 1L, Proficiency.INTERMEDIATE));
+        index.onSkillChanged(new SkillChangedEvent(carol, 7L, 2L, Proficiency.INTERMEDIATE));
+        index.onSkillChanged(new SkillChangedEvent(carol, 8L, 3L, Proficiency.INTERMEDIATE));
+        index.onSkillChanged(new SkillChangedEvent(carol, 9L, 4L, Proficiency.INTERMEDIATE));
+
+        assertEquals(2, index.findSimilarApproximate(alice, SimilarityMetric.OVERLAP, 3, 10, null).size());
+    }
+
+    @Test
+    void evaluateRecall_ShouldFindMostExactNeighboursOnClusteredSkills() {
+        // 40 teams of 50 profiles, each drawing 6 of its team's 10 core skills plus 2 random ones
+        Random random = new Random(3);
+        List<Object[]> rows = new ArrayList<>();
+        for (int team = 0; team < 40; team++) {
+            for (int member = 0; member < 50; member++) {
+                UUID profileId = UUID.randomUUID();
+                for (int k = 0; k < 6; k++) {
+                    rows.add(new Object[] { profileId, team * 10L + random.nextInt(10), Proficiency.ADVANCED });
+                }
+                for (int k = 0; k < 2; k++) {
+                    rows.add(new Object[] { profileId, 1000L + random.nextInt(500), Proficiency.BEGINNER });
+                }
+            }
+        }
+        SkillIndex index = new SkillIndex(null, null, 32, 2, 0);
+        index.load(rows.stream());
+
+        SkillIndex.RecallReport report = index.evaluateRecall(SimilarityMetric.COSINE, 1, 20, 100, 11);
+
+        assertTrue(report.sampled() > 50);
+        assertTrue(report.recall() >= 0.8, "recall was " + report.recall());
+    }
+
+    @Test
+    void atLeast_ShouldCountMembershipAcrossBitmaps() {
+        RoaringBitmap[] bitmaps = {
+                RoaringBitmap.bitmapOf(1, 2, 3),
+                RoaringBitmap.bitmapOf(2, 3),
+                RoaringBitmap.bitmapOf(3, 4)
+        };
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3, 4), SkillIndex.atLeast(bitmaps, 1));
+        assertEquals(RoaringBitmap.bitmapOf(2, 3), SkillIndex.atLeast(bitmaps, 2));
+        assertEquals(RoaringBitmap.bitmapOf(3), SkillIndex.atLeast(bitmaps, 3));
+    }
+
+    @SafeVarargs
+    private static SkillIndex index(List<Object[]>... profiles) {
+        SkillIndex index = new SkillIndex(null, null, 32, 2, 0);
+        index.load(Stream.of(profiles).flatMap(List::stream));
+        return index;
+    }
+
+    private static List<Object[]> skills(UUID profileId, long... definitionIds) {
+        List<Object[]> pairs = new ArrayList<>();
+        for (long id : definitionIds) {
+            pairs.add(new Object[] { profileId, id, Proficiency.INTERMEDIATE });
+        }
+        return pairs;
+    }
+}
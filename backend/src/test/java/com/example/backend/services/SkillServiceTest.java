@@ -14,10 +14,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.Objects;
@@ -25,6 +27,8 @@ import java.util.Objects;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,7 +45,13 @@ class SkillServiceTest {
     private ProfileService profileService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SkillAutocompleteIndex skillAutocompleteIndex;
+
+    @Mock
+    private SkillDefinitionResolver skillDefinitionResolver;
 
     @InjectMocks
     private SkillService skillService;
@@ -57,6 +67,7 @@ class SkillServiceTest {
         testProfile.setSkills(new ArrayList<>()); // Initialize skills list
 
         SkillDefinition definition = SkillDefinition.builder()
+                .id(1L)
                 .name("Java")
                 .normalizedName("java")
                 .build();
@@ -79,7 +90,6 @@ class SkillServiceTest {
         // Arrange
         when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
         when(skillRepository.findByProfile(testProfile)).thenReturn(List.of(testSkill));
-        when(modelMapper.map(testSkill, SkillDto.class)).thenReturn(testSkillDto);
 
         // Act
         List<SkillDto> result = skillService.getCurrentUserSkills();
@@ -87,7 +97,7 @@ class SkillServiceTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals("Java", result.get(0).getName());
-        verify(modelMapper).map(testSkill, SkillDto.class);
+        assertEquals(testSkillDto, result.get(0));
     }
 
     @Test
@@ -112,21 +122,132 @@ class SkillServiceTest {
         SkillDto expectedDto = new SkillDto(savedSkill.getId(), savedSkill.getName(), savedSkill.getProficiency());
 
         when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
-        when(skillDefinitionRepository.findByNormalizedName("python")).thenReturn(Optional.of(pythonDef));
-        when(skillRepository.save(Objects.requireNonNull(any(Skill.class)))).thenReturn(savedSkill);
-        when(modelMapper.map(savedSkill, SkillDto.class)).thenReturn(expectedDto);
+        when(skillDefinitionResolver.find("Python")).thenReturn(Optional.of(pythonDef));
+        when(skillRepository.save(any(Skill.class))).thenReturn(savedSkill);
 
         // Act
         SkillDto result = skillService.addSkill(dto);
 
         // Assert
-        assertNotNull(result);
-        assertEquals("Python", result.getName());
+        assertEquals(expectedDto, result);
         verify(profileService).saveProfile(testProfile);
         verify(skillRepository)
-                .save(Objects.requireNonNull(
-                        argThat(skill -> skill != null && skill.getName().equals("Python")
-                                && skill.getProfile().equals(testProfile))));
+                .save(argThat(skill -> skill != null && skill.getName().equals("Python")
+                        && skill.getProfile().equals(testProfile)));
+    }
+
+    @Test
+    void addSkill_ShouldSuggestCloseExistingName() {
+        SkillUpdateDto dto = new SkillUpdateDto("Javscript", Proficiency.BEGINNER);
+        SkillDefinition created = SkillDefinition.builder().id(7L).name("Javscript").build();
+        Skill savedSkill = Skill.builder().id(UUID.randomUUID()).definition(created)
+                .proficiency(Proficiency.BEGINNER).profile(testProfile).build();
+
+        when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
+        when(skillDefinitionResolver.find("Javscript")).thenReturn(Optional.empty());
+        when(skillAutocompleteIndex.correctionFor("Javscript"))
+                .thenReturn(new SkillAutocompleteIndex.Correction(3L, "JavaScript", 1));
+        when(skillDefinitionResolver.findOrCreate("Javscript")).thenReturn(created);
+        when(skillRepository.save(any(Skill.class))).thenReturn(savedSkill);
+
+        SkillDto result = skillService.addSkill(dto);
+
+        assertEquals("Javscript", result.getName());
+        assertEquals("JavaScript", result.getSuggestedName());
+    }
+
+    @Test
+    void addSkill_ShouldReuseDefinitionDifferingOnlyInSeparators() {
+        SkillUpdateDto dto = new SkillUpdateDto("React.js", Proficiency.EXPERT);
+        SkillDefinition react = SkillDefinition.builder().id(4L).name("ReactJS").build();
+        Skill savedSkill = Skill.builder().id(UUID.randomUUID()).definition(react)
+                .proficiency(Proficiency.EXPERT).profile(testProfile).build();
+
+        when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
+        when(skillDefinitionResolver.find("React.js")).thenReturn(Optional.empty());
+        when(skillAutocompleteIndex.correctionFor("React.js"))
+                .thenReturn(new SkillAutocompleteIndex.Correction(4L, "ReactJS", 0));
+        when(skillDefinitionRepository.findById(4L)).thenReturn(Optional.of(react));
+        when(skillRepository.save(any(Skill.class))).thenReturn(savedSkill);
+
+        SkillDto result = skillService.addSkill(dto);
+
+        assertEquals("ReactJS", result.getName());
+        assertNull(result.getSuggestedName());
+        verify(skillRepository).save(argThat(skill -> skill != null && skill.getDefinition() == react));
+    }
+
+    @Test
+    void replaceSkills_ShouldApplyOnlyTheDifference() {
+        SkillDefinition java = testSkill.getDefinition();
+        SkillDefinition python = SkillDefinition.builder().id(2L).name("Python").normalizedName("python").build();
+        SkillDefinition go = SkillDefinition.builder().id(3L).name("Go").normalizedName("go").build();
+        Skill pythonSkill = Skill.builder().id(UUID.randomUUID()).definition(python)
+                .proficiency(Proficiency.BEGINNER).profile(testProfile).build();
+        testProfile.getSkills().add(pythonSkill);
+
+        Map<String, SkillDefinition> resolved = new LinkedHashMap<>();
+        resolved.put("java", java);
+        resolved.put("go", go);
+        when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
+        when(skillDefinitionResolver.findAll(List.of("java", "Go"))).thenReturn(resolved);
+
+        List<SkillDto> result = skillService.replaceSkills(List.of(
+                new SkillUpdateDto("java", Proficiency.EXPERT),
+                new SkillUpdateDto("Go", Proficiency.BEGINNER)));
+
+        assertEquals(List.of("Java", "Go"), result.stream().map(SkillDto::getName).toList());
+        assertEquals(Proficiency.EXPERT, testSkill.getProficiency());
+        assertFalse(testProfile.getSkills().contains(pythonSkill));
+        assertNotNull(testProfile.getSkillsChangedAt());
+        verify(profileService, times(1)).saveProfile(testProfile);
+        verify(eventPublisher).publishEvent(new SkillChangedEvent(testProfile.getId(), 1L, 1L, Proficiency.EXPERT));
+        verify(eventPublisher).publishEvent(new SkillChangedEvent(testProfile.getId(), 2L, null, null));
+        verify(eventPublisher).publishEvent(new SkillChangedEvent(testProfile.getId(), null, 3L, Proficiency.BEGINNER));
+        verify(skillRepository, never()).save(any(Skill.class));
+    }
+
+    @Test
+    void replaceSkills_ShouldLeaveUnchangedSetAlone() {
+        when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
+        when(skillDefinitionResolver.findAll(List.of("Java")))
+                .thenReturn(Map.of("java", testSkill.getDefinition()));
+
+        skillService.replaceSkills(List.of(new SkillUpdateDto("Java", Proficiency.ADVANCED)));
+
+        verify(profileService, never()).saveProfile(any(Profile.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void replaceSkills_ShouldRejectSkillListedTwice() {
+        when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
+        when(skillDefinitionResolver.findAll(List.of("Java", "java ")))
+                .thenReturn(Map.of("java", testSkill.getDefinition()));
+
+        assertThrows(IllegalArgumentException.class, () -> skillService.replaceSkills(List.of(
+                new SkillUpdateDto("Java", Proficiency.ADVANCED),
+                new SkillUpdateDto("java ", Proficiency.EXPERT))));
+        verify(profileService, never()).saveProfile(any(Profile.class));
+    }
+
+    @Test
+    void replaceSkills_ShouldReuseDefinitionDifferingOnlyInSeparators() {
+        SkillDefinition react = SkillDefinition.builder().id(4L).name("ReactJS").normalizedName("reactjs").build();
+        when(profileService.getCurrentUserProfile()).thenReturn(testProfile);
+        when(skillDefinitionResolver.findAll(List.of("Java", "React.js")))
+                .thenReturn(Map.of("java", testSkill.getDefinition()));
+        when(skillAutocompleteIndex.correctionFor("React.js"))
+                .thenReturn(new SkillAutocompleteIndex.Correction(4L, "ReactJS", 0));
+        when(skillDefinitionRepository.findAllById(List.of(4L))).thenReturn(List.of(react));
+
+        List<SkillDto> result = skillService.replaceSkills(List.of(
+                new SkillUpdateDto("Java", Proficiency.ADVANCED),
+                new SkillUpdateDto("React.js", Proficiency.EXPERT)));
+
+        assertEquals(List.of("Java", "ReactJS"), result.stream().map(SkillDto::getName).toList());
+        verify(skillDefinitionResolver, never()).findOrCreateAll(any());
+        verify(eventPublisher).publishEvent(new SkillChangedEvent(testProfile.getId(), null, 4L, Proficiency.EXPERT));
     }
 
     @Test
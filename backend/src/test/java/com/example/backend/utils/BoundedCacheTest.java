@@ -0,0 +1,59 @@
+package com.example.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void put_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(1);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.get("b"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_ShouldStayWithinMaxSizeAcrossStripes() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertEquals(9_999, cache.get(9_999));
+    }
+
+    @Test
+    void put_ShouldDropStaleEntries() {
+        // 16 stripes of two; keys 0 and 16 share one
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(32, value -> value < 0);
+
+        cache.put(0, -1);
+        cache.put(16, 1);
+
+        assertNull(cache.get(0));
+        assertEquals(1, cache.get(16));
+    }
+
+    @Test
+    void computeIfAbsent_ShouldCreateOnlyOnce() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(4);
+        AtomicInteger created = new AtomicInteger();
+
+        cache.computeIfAbsent("a", key -> created.incrementAndGet());
+        cache.computeIfAbsent("a", key -> created.incrementAndGet());
+
+        assertEquals(1, created.get());
+        cache.remove("a");
+        assertNull(cache.get("a"));
+    }
+}
@@ -14,15 +14,45 @@ const apiClient: AxiosInstance = axios.create({
   },
 });
 
+// Access tokens are short-lived; on a 401 exchange the refresh cookie for a new
+// pair once and replay the request. Concurrent 401s share one refresh call.
+let refreshPromise: Promise<void> | null = null;
+
+// A 401 from these means bad credentials or a dead session, not an expired access token
+const NO_REFRESH_URLS = ['/auth/login', '/auth/refresh', '/auth/logout'];
+
+const refreshTokens = (): Promise<void> => {
+  if (!refreshPromise) {
+    refreshPromise = axios
+      .post(`${API_BASE_URL}/auth/refresh`, null, { withCredentials: true })
+      .then(() => undefined)
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 // Response interceptor for handling common errors
 apiClient.interceptors.response.use(
   (response: AxiosResponse) => {
     return response;
   },
-  (error) => {
-    if (error.response?.status === 401) {
-      // Handle unauthorized access - maybe redirect to login logic here if needed
-      // But for now just reject
+  async (error) => {
+    const original = error.config as (AxiosRequestConfig & { _retried?: boolean }) | undefined;
+    if (
+      error.response?.status === 401 &&
+      original &&
+      !original._retried &&
+      !NO_REFRESH_URLS.includes(original.url ?? '')
+    ) {
+      original._retried = true;
+      try {
+        await refreshTokens();
+        return apiClient(original);
+      } catch {
+        // Refresh failed; fall through and reject with the original error
+      }
     }
     return Promise.reject(error);
   }